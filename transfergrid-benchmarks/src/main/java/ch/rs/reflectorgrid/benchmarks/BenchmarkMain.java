@@ -0,0 +1,32 @@
+package ch.rs.reflectorgrid.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks. Without arguments all of them are run with the GC profiler, so allocation
+ * rates are reported next to the timings. Arguments are passed to the regular JMH launcher.
+ */
+public class BenchmarkMain {
+
+  public static void main(String[] args) throws Exception {
+    if (args.length > 0) {
+      org.openjdk.jmh.Main.main(args);
+      return;
+    }
+
+    runAll();
+  }
+
+  private static void runAll() throws RunnerException {
+    Options options = new OptionsBuilder()
+        .include(BenchmarkMain.class.getPackage().getName() + ".*Benchmark")
+        .addProfiler(GCProfiler.class)
+        .build();
+
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,113 @@
+package ch.rs.reflectorgrid.benchmarks;
+
+import ch.rs.reflectorgrid.core.ClassMetadata;
+import ch.rs.reflectorgrid.core.DefaultFieldAccessorFactory;
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.TransferGrid;
+import ch.rs.reflectorgrid.core.typeconversion.FieldCodec;
+import ch.rs.reflectorgrid.typeconversion.TypeConverterCollection;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Converts values of a single type from and to strings, through the {@code StringConverter} API
+ * of the {@link TypeConverterCollection} and through the {@link FieldCodec} of a field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+  @Param({"int", "Integer", "double", "BigDecimal", "String", "boolean"})
+  public String type;
+
+  private TypeConverterCollection collection;
+  private Class<Object> valueType;
+  private Object value;
+  private String text;
+
+  private Values values;
+  private FieldAccessor accessor;
+  private FieldCodec codec;
+  private StringBuilder buffer;
+
+  @Setup
+  public void setUp() {
+    collection = new TypeConverterCollection();
+    values = new Values();
+
+    FieldMetadata field = null;
+    for (FieldMetadata candidate : ClassMetadata.forClass(Values.class).getFields()) {
+      if (candidate.getType().getSimpleName().equals(type)) {
+        field = candidate;
+      }
+    }
+    if (field == null) {
+      throw new IllegalArgumentException("Unknown type " + type);
+    }
+
+    @SuppressWarnings("unchecked")
+    Class<Object> fieldType = (Class<Object>) field.getType();
+    valueType = fieldType;
+    accessor = field.getAccessor(DefaultFieldAccessorFactory.METHOD_HANDLES);
+    codec = field.getCodec(collection);
+    buffer = new StringBuilder();
+
+    value = accessor.get(values);
+    text = collection.toString(valueType, value);
+  }
+
+  @Benchmark
+  public Object fromString() {
+    return collection.fromString(valueType, text);
+  }
+
+  @Benchmark
+  public String toStringValue() {
+    return collection.toString(valueType, value);
+  }
+
+  @Benchmark
+  public Values codecParse() {
+    codec.parse(text, values, accessor);
+    return values;
+  }
+
+  @Benchmark
+  public StringBuilder codecFormat() {
+    buffer.setLength(0);
+    codec.format(values, accessor, buffer);
+    return buffer;
+  }
+
+  public static class Values {
+
+    @TransferGrid
+    public int intValue = 123456;
+    @TransferGrid
+    public Integer integerValue = 123456;
+    @TransferGrid
+    public double doubleValue = 1234.5678;
+    @TransferGrid
+    public BigDecimal bigDecimalValue = new BigDecimal("1234.5678");
+    @TransferGrid
+    public String stringValue = "some text";
+    @TransferGrid
+    public boolean booleanValue = true;
+  }
+}
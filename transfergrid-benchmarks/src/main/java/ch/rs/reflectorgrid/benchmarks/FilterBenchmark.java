@@ -0,0 +1,60 @@
+package ch.rs.reflectorgrid.benchmarks;
+
+import ch.rs.reflectorgrid.BoundGrid;
+import ch.rs.reflectorgrid.LabelDisplayOrder;
+import ch.rs.reflectorgrid.ReflectorGridV2;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.control.TextField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a single keystroke in the filter box of a grid with 500 to 5000 fields, including
+ * showing and hiding the fields whose match state changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+  @Param({"500", "5000"})
+  public int fieldCount;
+
+  private TextField filterBox;
+  private String[] keystrokes;
+  private int next;
+
+  @Setup
+  public void setUp() throws Exception {
+    FxToolkit.start();
+
+    Class<?> model = SyntheticModels.wideModel(fieldCount, false);
+    BoundGrid boundGrid = new ReflectorGridV2(LabelDisplayOrder.SIDE_BY_SIDE, 300)
+        .bindObjectToGrid(model.getConstructor().newInstance());
+    filterBox = boundGrid.createFilterBox();
+
+    // typing "field42", then deleting it again and searching the end of the labels
+    keystrokes = new String[]{
+        "f", "fi", "fie", "fiel", "field", "field4", "field42", "field4", "field", "", "42", ""
+    };
+  }
+
+  @Benchmark
+  public TextField keystroke() {
+    filterBox.setText(keystrokes[next]);
+    next = (next + 1) % keystrokes.length;
+    return filterBox;
+  }
+}
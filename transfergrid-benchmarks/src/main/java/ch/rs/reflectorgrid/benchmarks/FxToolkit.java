@@ -0,0 +1,37 @@
+package ch.rs.reflectorgrid.benchmarks;
+
+import com.sun.javafx.application.PlatformImpl;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Starts the JavaFX toolkit on the headless Monocle platform.
+ *
+ * <p>The benchmarks build and edit grids that are not part of a scene, which JavaFX allows on any
+ * thread. Running them on the benchmark thread keeps the hand-off to the FX application thread
+ * out of the measurements.
+ */
+final class FxToolkit {
+
+  private static boolean started;
+
+  static synchronized void start() throws InterruptedException {
+    if (started) {
+      return;
+    }
+
+    setIfAbsent("glass.platform", "Monocle");
+    setIfAbsent("monocle.platform", "Headless");
+    setIfAbsent("prism.order", "sw");
+
+    CountDownLatch latch = new CountDownLatch(1);
+    PlatformImpl.startup(latch::countDown);
+    latch.await();
+    started = true;
+  }
+
+  private static void setIfAbsent(String key, String value) {
+    if (System.getProperty(key) == null) {
+      System.setProperty(key, value);
+    }
+  }
+}
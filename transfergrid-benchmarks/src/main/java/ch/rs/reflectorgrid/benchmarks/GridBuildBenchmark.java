@@ -0,0 +1,73 @@
+package ch.rs.reflectorgrid.benchmarks;
+
+import ch.rs.reflectorgrid.BoundGrid;
+import ch.rs.reflectorgrid.LabelDisplayOrder;
+import ch.rs.reflectorgrid.ReflectorGridV2;
+import ch.rs.reflectorgrid.core.GridBinder;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.layout.GridPane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds grids for classes with 10 to 1000 fields and rebinds them to another object, with and
+ * without a generated {@link GridBinder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GridBuildBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int fieldCount;
+
+  @Param({"false", "true"})
+  public boolean binder;
+
+  private ReflectorGridV2 reflectorGrid;
+  private Object first;
+  private Object second;
+  private BoundGrid boundGrid;
+  private boolean bindSecond;
+
+  @Setup
+  public void setUp() throws Exception {
+    FxToolkit.start();
+
+    Class<?> model = SyntheticModels.wideModel(fieldCount, binder);
+    first = model.getConstructor().newInstance();
+    second = model.getConstructor().newInstance();
+
+    reflectorGrid = new ReflectorGridV2(LabelDisplayOrder.SIDE_BY_SIDE, 300);
+    boundGrid = reflectorGrid.bindObjectToGrid(first);
+  }
+
+  @Benchmark
+  public GridPane transformObjectToGrid() {
+    return reflectorGrid.transformObjectToGrid(first);
+  }
+
+  @Benchmark
+  public BoundGrid rebind() {
+    bindSecond = !bindSecond;
+    boundGrid.rebind(bindSecond ? second : first);
+    return boundGrid;
+  }
+
+  @Benchmark
+  public int refreshUnchanged() {
+    return boundGrid.refresh();
+  }
+}
@@ -0,0 +1,64 @@
+package ch.rs.reflectorgrid.benchmarks;
+
+import ch.rs.reflectorgrid.core.ClassMetadata;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.TransferGrid;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Collects the {@link TransferGrid} fields of deep class hierarchies, uncached and through the
+ * {@link ClassMetadata} cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HierarchyBenchmark {
+
+  @Param({"1", "8", "32"})
+  public int depth;
+
+  private Class<?> leaf;
+
+  @Setup
+  public void setUp() {
+    leaf = SyntheticModels.deepModel(depth);
+  }
+
+  /**
+   * Walks the hierarchy like {@link ClassMetadata} does when it resolves a class.
+   */
+  @Benchmark
+  public List<Field> allFieldsInHierarchy() {
+    List<Field> fields = new ArrayList<>();
+    for (Class<?> current = leaf; current != null; current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        if (field.isAnnotationPresent(TransferGrid.class)) {
+          fields.add(field);
+        }
+      }
+    }
+    return fields;
+  }
+
+  @Benchmark
+  public List<FieldMetadata> classMetadata() {
+    return ClassMetadata.forClass(leaf).getFields();
+  }
+}
@@ -0,0 +1,234 @@
+package ch.rs.reflectorgrid.benchmarks;
+
+import ch.rs.reflectorgrid.core.GridBinder;
+import ch.rs.reflectorgrid.core.TransferGrid;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Generates model classes of a given size and compiles them in memory, optionally together with
+ * the {@link GridBinder}s of the annotation processor.
+ */
+final class SyntheticModels {
+
+  private static final String PACKAGE = "ch.rs.reflectorgrid.synthetic";
+
+  /**
+   * The field types of the wide models, used round robin.
+   */
+  private static final String[][] FIELD_TYPES = {
+      {"int", "42"},
+      {"String", "\"value\""},
+      {"double", "4.2"},
+      {"long", "42L"},
+      {"boolean", "true"},
+      {"Integer", "42"},
+  };
+
+  /**
+   * Creates a class with the given number of public {@link TransferGrid} fields.
+   *
+   * @param fieldCount The number of fields
+   * @param withBinder Whether to generate a {@link GridBinder} for the class
+   * @return The compiled class
+   */
+  static Class<?> wideModel(int fieldCount, boolean withBinder) {
+    String name = "Wide" + fieldCount;
+    StringBuilder source = new StringBuilder();
+    source.append("package ").append(PACKAGE).append(";\n")
+        .append("import ch.rs.reflectorgrid.core.TransferGrid;\n")
+        .append("public class ").append(name).append(" {\n");
+
+    for (int i = 0; i < fieldCount; i++) {
+      String[] type = FIELD_TYPES[i % FIELD_TYPES.length];
+      source.append("  @TransferGrid public ").append(type[0])
+          .append(" field").append(i).append(" = ").append(type[1]).append(";\n");
+    }
+    source.append("}\n");
+
+    Map<String, String> sources = new HashMap<>();
+    sources.put(name, source.toString());
+    return compile(sources, withBinder).get(name);
+  }
+
+  /**
+   * Creates a hierarchy of classes that each declare a few {@link TransferGrid} fields.
+   *
+   * @param depth The number of classes in the hierarchy
+   * @return The most derived class
+   */
+  static Class<?> deepModel(int depth) {
+    Map<String, String> sources = new HashMap<>();
+
+    for (int level = 0; level < depth; level++) {
+      String name = "Level" + level;
+      StringBuilder source = new StringBuilder();
+      source.append("package ").append(PACKAGE).append(";\n")
+          .append("import ch.rs.reflectorgrid.core.TransferGrid;\n")
+          .append("public class ").append(name);
+      if (level > 0) {
+        source.append(" extends Level").append(level - 1);
+      }
+      source.append(" {\n")
+          .append("  @TransferGrid public int number").append(level).append(";\n")
+          .append("  @TransferGrid public String text").append(level).append(";\n")
+          .append("  public Object ignored").append(level).append(";\n")
+          .append("}\n");
+      sources.put(name, source.toString());
+    }
+
+    return compile(sources, false).get("Level" + (depth - 1));
+  }
+
+  /**
+   * @param sources The sources by simple class name
+   * @param withBinder Whether to run the annotation processor
+   * @return The loaded classes by simple name
+   */
+  private static Map<String, Class<?>> compile(Map<String, String> sources, boolean withBinder) {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      throw new IllegalStateException("The benchmarks need to run on a JDK");
+    }
+
+    List<JavaFileObject> units = new ArrayList<>();
+    for (Map.Entry<String, String> entry : sources.entrySet()) {
+      units.add(new SourceFile(entry.getKey(), entry.getValue()));
+    }
+
+    StandardJavaFileManager standardManager = compiler.getStandardFileManager(null, null, null);
+    MemoryFileManager fileManager = new MemoryFileManager(standardManager);
+
+    List<String> options = new ArrayList<>(Arrays.asList(
+        "-classpath", System.getProperty("java.class.path")
+    ));
+    if (withBinder) {
+      options.add("-processor");
+      options.add("ch.rs.reflectorgrid.processor.GridBinderProcessor");
+    } else {
+      options.add("-proc:none");
+    }
+
+    if (!compiler.getTask(null, fileManager, null, options, null, units).call()) {
+      throw new IllegalStateException("Could not compile the synthetic models");
+    }
+
+    MemoryClassLoader classLoader = new MemoryClassLoader(fileManager.classes);
+    Map<String, Class<?>> classes = new HashMap<>();
+    try {
+      for (String name : sources.keySet()) {
+        classes.put(name, classLoader.loadClass(PACKAGE + "." + name));
+      }
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Compiled class is missing", e);
+    }
+    return classes;
+  }
+
+  private static final class SourceFile extends SimpleJavaFileObject {
+
+    private final String source;
+
+    private SourceFile(String simpleName, String source) {
+      super(URI.create("string:///" + PACKAGE.replace('.', '/') + "/" + simpleName + ".java"),
+          Kind.SOURCE);
+      this.source = source;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return source;
+    }
+  }
+
+  private static final class ClassFile extends SimpleJavaFileObject {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    private ClassFile(String binaryName) {
+      super(URI.create("bytes:///" + binaryName.replace('.', '/') + ".class"), Kind.CLASS);
+    }
+
+    @Override
+    public OutputStream openOutputStream() {
+      return bytes;
+    }
+  }
+
+  private static final class MemoryFileManager
+      extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+    private final Map<String, ClassFile> classes = new HashMap<>();
+
+    private MemoryFileManager(StandardJavaFileManager fileManager) {
+      super(fileManager);
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(JavaFileManager.Location location, String className,
+        Kind kind, FileObject sibling) {
+      if (kind == Kind.SOURCE) {
+        // sources generated by the annotation processor
+        return new GeneratedSourceFile(className);
+      }
+      ClassFile classFile = new ClassFile(className);
+      classes.put(className, classFile);
+      return classFile;
+    }
+  }
+
+  private static final class GeneratedSourceFile extends SimpleJavaFileObject {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    private GeneratedSourceFile(String className) {
+      super(URI.create("generated:///" + className.replace('.', '/') + ".java"), Kind.SOURCE);
+    }
+
+    @Override
+    public OutputStream openOutputStream() {
+      return bytes;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static final class MemoryClassLoader extends ClassLoader {
+
+    private final Map<String, ClassFile> classes;
+
+    private MemoryClassLoader(Map<String, ClassFile> classes) {
+      super(SyntheticModels.class.getClassLoader());
+      this.classes = classes;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+      ClassFile classFile = classes.get(name);
+      if (classFile == null) {
+        throw new ClassNotFoundException(name);
+      }
+      byte[] bytes = classFile.bytes.toByteArray();
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package ch.rs.reflectorgrid.benchmarks;
+
+import ch.rs.reflectorgrid.BoundGrid;
+import ch.rs.reflectorgrid.LabelDisplayOrder;
+import ch.rs.reflectorgrid.ReflectorGridV2;
+import ch.rs.reflectorgrid.core.DefaultFieldAccessorFactory;
+import ch.rs.reflectorgrid.core.TransferGrid;
+import ch.rs.reflectorgrid.core.TransferGrid.CommitPolicy;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.control.TextField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of a single keystroke in a text field: the change listener, the conversion
+ * and the write to the object, with the {@link CommitPolicy#ON_CHANGE} policy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteBackBenchmark {
+
+  @Param({"intField", "doubleField", "stringField", "bigDecimalField"})
+  public String field;
+
+  @Param({"METHOD_HANDLES", "REFLECTION"})
+  public DefaultFieldAccessorFactory accessorFactory;
+
+  private TextField textField;
+  private String[] keystrokes;
+  private int next;
+
+  @Setup
+  public void setUp() throws InterruptedException {
+    FxToolkit.start();
+
+    BoundGrid boundGrid = new ReflectorGridV2(LabelDisplayOrder.SIDE_BY_SIDE, 300)
+        .setCommitPolicy(CommitPolicy.ON_CHANGE)
+        .setFieldAccessorFactory(accessorFactory)
+        .bindObjectToGrid(new Model());
+
+    textField = (TextField) boundGrid.getControl(field);
+
+    // typing "12345", then deleting it again
+    keystrokes = new String[]{"1", "12", "123", "1234", "12345", "1234", "123", "12"};
+  }
+
+  @Benchmark
+  public TextField keystroke() {
+    textField.setText(keystrokes[next]);
+    next = (next + 1) % keystrokes.length;
+    return textField;
+  }
+
+  public static class Model {
+
+    @TransferGrid
+    public int intField;
+    @TransferGrid
+    public double doubleField;
+    @TransferGrid
+    public String stringField;
+    @TransferGrid
+    public BigDecimal bigDecimalField;
+  }
+}
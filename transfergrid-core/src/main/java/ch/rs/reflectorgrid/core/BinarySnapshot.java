@@ -0,0 +1,488 @@
+package ch.rs.reflectorgrid.core;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes the values of the {@link TransferGrid} fields of objects into a {@link ByteBuffer} and
+ * restores them, e.g. to undo a cancelled dialog or to recover after a crash.
+ *
+ * <p>Primitive fields are written directly, without boxing. Boxed primitives, strings and enums
+ * are written as well, other references are skipped, so the object graph is never followed. Every
+ * object starts with the fingerprint of its class, which covers the names and types of the written
+ * fields, so a snapshot of a different version of the class is rejected instead of being
+ * misread.
+ *
+ * <p>The objects are not created, the values are restored into existing objects.
+ */
+public final class BinarySnapshot {
+
+  /**
+   * Marks files written by {@link #save(Path, List)}.
+   */
+  private static final int FILE_MAGIC = 0x54475331;
+
+  private static final ClassValue<Layout> LAYOUTS = new ClassValue<Layout>() {
+    @Override
+    protected Layout computeValue(Class<?> type) {
+      return new Layout(ClassMetadata.forClass(type));
+    }
+  };
+
+  private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<>();
+
+  static {
+    WRAPPERS.put(Integer.class, int.class);
+    WRAPPERS.put(Long.class, long.class);
+    WRAPPERS.put(Double.class, double.class);
+    WRAPPERS.put(Float.class, float.class);
+    WRAPPERS.put(Short.class, short.class);
+    WRAPPERS.put(Byte.class, byte.class);
+    WRAPPERS.put(Boolean.class, boolean.class);
+    WRAPPERS.put(Character.class, char.class);
+  }
+
+  /**
+   * @param type The class to get the fingerprint for
+   * @return The fingerprint written in front of every object of the class
+   */
+  public static long getFingerprint(Class<?> type) {
+    return LAYOUTS.get(type).fingerprint;
+  }
+
+  /**
+   * @param object The object to measure
+   * @return The number of bytes {@link #write(Object, ByteBuffer)} needs for the object
+   */
+  public static int sizeOf(Object object) {
+    return LAYOUTS.get(object.getClass()).sizeOf(object);
+  }
+
+  /**
+   * Writes the fingerprint and field values of the object at the position of the buffer.
+   *
+   * @param object The object to write
+   * @param buffer The buffer to write to
+   * @throws java.nio.BufferOverflowException if the buffer has not enough space left
+   */
+  public static void write(Object object, ByteBuffer buffer) {
+    Objects.requireNonNull(object, "object can not be null!");
+
+    LAYOUTS.get(object.getClass()).write(object, buffer);
+  }
+
+  /**
+   * Reads field values written by {@link #write(Object, ByteBuffer)} from the position of the
+   * buffer into the object. The whole snapshot is decoded before the first field is written, so
+   * the object is left unchanged if it is invalid. The position of the buffer is then left
+   * unchanged as well.
+   *
+   * @param buffer The buffer to read from
+   * @param object The object to restore
+   * @throws IllegalArgumentException if the buffer does not contain a snapshot of the object's
+   *     class
+   */
+  public static void read(ByteBuffer buffer, Object object) {
+    Objects.requireNonNull(object, "object can not be null!");
+
+    Layout layout = LAYOUTS.get(object.getClass());
+    layout.apply(layout.decode(buffer), object);
+  }
+
+  /**
+   * Writes the objects into a memory-mapped file, replacing its content.
+   *
+   * @param file The file to write
+   * @param objects The objects to write
+   * @throws IOException if the file could not be written
+   */
+  public static void save(Path file, List<?> objects) throws IOException {
+    long size = Integer.BYTES * 2;
+    for (Object object : objects) {
+      size += sizeOf(object);
+    }
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, size);
+
+      buffer.putInt(FILE_MAGIC);
+      buffer.putInt(objects.size());
+      for (Object object : objects) {
+        write(object, buffer);
+      }
+      buffer.force();
+    }
+  }
+
+  /**
+   * Restores objects from a file written by {@link #save(Path, List)}. The objects must be of the
+   * same classes and in the same order as the saved ones. All snapshots are decoded before the
+   * first object is restored, so none of them is changed if the file is invalid.
+   *
+   * @param file The file to read
+   * @param objects The objects to restore
+   * @throws IOException if the file could not be read
+   * @throws IllegalArgumentException if the file does not contain snapshots of the objects
+   */
+  public static void load(Path file, List<?> objects) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+
+      if (buffer.remaining() < Integer.BYTES * 2 || buffer.getInt() != FILE_MAGIC) {
+        throw new IllegalArgumentException("Not a snapshot file: " + file);
+      }
+      int count = buffer.getInt();
+      if (count != objects.size()) {
+        throw new IllegalArgumentException(
+            "The file contains " + count + " objects, got " + objects.size()
+        );
+      }
+
+      List<Record> records = new ArrayList<>(count);
+      for (Object object : objects) {
+        records.add(LAYOUTS.get(object.getClass()).decode(buffer));
+      }
+      for (int i = 0; i < count; i++) {
+        LAYOUTS.get(objects.get(i).getClass()).apply(records.get(i), objects.get(i));
+      }
+    }
+  }
+
+  private static void putBits(ByteBuffer buffer, ValueKind valueKind, long bits) {
+    switch (valueKind) {
+      case INT:
+      case FLOAT:
+        buffer.putInt((int) bits);
+        break;
+      case LONG:
+      case DOUBLE:
+        buffer.putLong(bits);
+        break;
+      case SHORT:
+        buffer.putShort((short) bits);
+        break;
+      case BYTE:
+      case BOOLEAN:
+        buffer.put((byte) bits);
+        break;
+      case CHAR:
+        buffer.putChar((char) bits);
+        break;
+      default:
+        throw new IllegalArgumentException("Not a primitive: " + valueKind);
+    }
+  }
+
+  private static long getBits(ByteBuffer buffer, ValueKind valueKind) {
+    if (buffer.remaining() < sizeOfBits(valueKind)) {
+      throw new BufferUnderflowException();
+    }
+
+    switch (valueKind) {
+      case INT:
+      case FLOAT:
+        return buffer.getInt();
+      case LONG:
+      case DOUBLE:
+        return buffer.getLong();
+      case SHORT:
+        return buffer.getShort();
+      case BYTE:
+      case BOOLEAN:
+        return buffer.get();
+      case CHAR:
+        return buffer.getChar();
+      default:
+        throw new IllegalArgumentException("Not a primitive: " + valueKind);
+    }
+  }
+
+  private static int sizeOfBits(ValueKind valueKind) {
+    switch (valueKind) {
+      case INT:
+      case FLOAT:
+        return Integer.BYTES;
+      case LONG:
+      case DOUBLE:
+        return Long.BYTES;
+      case SHORT:
+      case CHAR:
+        return Short.BYTES;
+      default:
+        return Byte.BYTES;
+    }
+  }
+
+  /**
+   * How a field is written.
+   */
+  private enum Slot {
+    /**
+     * The bits of the primitive value.
+     */
+    PRIMITIVE,
+    /**
+     * A null flag byte followed by the bits of the primitive value.
+     */
+    BOXED,
+    /**
+     * The length or -1 for null, followed by the chars.
+     */
+    STRING,
+    /**
+     * The ordinal or -1 for null.
+     */
+    ENUM
+  }
+
+  /**
+   * The written fields of a class, computed once per class.
+   */
+  private static final class Layout {
+
+    private final Class<?> type;
+    private final long fingerprint;
+    private final FieldAccessor[] accessors;
+    private final Slot[] slots;
+    private final ValueKind[] valueKinds;
+    private final Object[][] enumConstants;
+    private final int fixedSize;
+
+    private Layout(ClassMetadata metadata) {
+      this.type = metadata.getType();
+
+      List<FieldAccessor> accessorList = new ArrayList<>();
+      List<Slot> slotList = new ArrayList<>();
+      List<ValueKind> valueKindList = new ArrayList<>();
+      List<Object[]> enumConstantList = new ArrayList<>();
+
+      long hash = hash(0xcbf29ce484222325L, type.getName());
+      int size = Long.BYTES;
+
+      for (FieldMetadata field : metadata.getFields()) {
+        Class<?> fieldType = field.getType();
+        Slot slot;
+        ValueKind valueKind = ValueKind.OBJECT;
+        Object[] constants = null;
+
+        if (fieldType.isPrimitive()) {
+          slot = Slot.PRIMITIVE;
+          valueKind = field.getValueKind();
+          size += sizeOfBits(valueKind);
+        } else if (WRAPPERS.containsKey(fieldType)) {
+          slot = Slot.BOXED;
+          valueKind = ValueKind.forType(WRAPPERS.get(fieldType));
+          size += Byte.BYTES + sizeOfBits(valueKind);
+        } else if (fieldType == String.class) {
+          slot = Slot.STRING;
+          size += Integer.BYTES;
+        } else if (fieldType.isEnum()) {
+          slot = Slot.ENUM;
+          constants = fieldType.getEnumConstants();
+          size += Integer.BYTES;
+        } else {
+          // nested objects and collections are not part of the snapshot
+          continue;
+        }
+
+        hash = hash(hash, field.getDeclaringClass().getName());
+        hash = hash(hash, field.getName());
+        hash = hash(hash, fieldType.getName());
+        if (constants != null) {
+          for (Object constant : constants) {
+            hash = hash(hash, ((Enum<?>) constant).name());
+          }
+        }
+
+        accessorList.add(field.getAccessor(DefaultFieldAccessorFactory.METHOD_HANDLES));
+        slotList.add(slot);
+        valueKindList.add(valueKind);
+        enumConstantList.add(constants);
+      }
+
+      this.fingerprint = hash;
+      this.fixedSize = size;
+      this.accessors = accessorList.toArray(new FieldAccessor[0]);
+      this.slots = slotList.toArray(new Slot[0]);
+      this.valueKinds = valueKindList.toArray(new ValueKind[0]);
+      this.enumConstants = enumConstantList.toArray(new Object[0][]);
+    }
+
+    /**
+     * FNV-1a over the chars of the string.
+     */
+    private static long hash(long hash, String value) {
+      for (int i = 0; i < value.length(); i++) {
+        hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+      }
+      // separates consecutive strings
+      return (hash ^ 0xffff) * 0x100000001b3L;
+    }
+
+    int sizeOf(Object object) {
+      int size = fixedSize;
+      for (int i = 0; i < slots.length; i++) {
+        if (slots[i] == Slot.STRING) {
+          String value = (String) accessors[i].get(object);
+          size += value == null ? 0 : value.length() * Character.BYTES;
+        }
+      }
+      return size;
+    }
+
+    void write(Object object, ByteBuffer buffer) {
+      buffer.putLong(fingerprint);
+
+      for (int i = 0; i < slots.length; i++) {
+        FieldAccessor accessor = accessors[i];
+
+        switch (slots[i]) {
+          case PRIMITIVE:
+            putBits(buffer, valueKinds[i], valueKinds[i].readBits(accessor, object));
+            break;
+          case BOXED: {
+            Object value = accessor.get(object);
+            buffer.put(value == null ? (byte) 0 : (byte) 1);
+            putBits(buffer, valueKinds[i], value == null ? 0 : valueKinds[i].unbox(value));
+            break;
+          }
+          case STRING: {
+            String value = (String) accessor.get(object);
+            if (value == null) {
+              buffer.putInt(-1);
+              break;
+            }
+            buffer.putInt(value.length());
+            for (int j = 0; j < value.length(); j++) {
+              buffer.putChar(value.charAt(j));
+            }
+            break;
+          }
+          case ENUM: {
+            Enum<?> value = (Enum<?>) accessor.get(object);
+            buffer.putInt(value == null ? -1 : value.ordinal());
+            break;
+          }
+          default:
+            throw new IllegalStateException("Unknown slot: " + slots[i]);
+        }
+      }
+    }
+
+    /**
+     * Reads the values of a snapshot without writing them to an object.
+     *
+     * @param buffer The buffer to read from, its position is only moved past the snapshot if it
+     *     is valid
+     * @return The decoded values
+     * @throws IllegalArgumentException if the snapshot was written for another class or is
+     *     truncated or corrupt
+     */
+    Record decode(ByteBuffer buffer) {
+      int start = buffer.position();
+      try {
+        return decodeFields(buffer);
+      } catch (BufferUnderflowException e) {
+        buffer.position(start);
+        throw new IllegalArgumentException("Truncated snapshot of " + type, e);
+      } catch (IllegalArgumentException e) {
+        buffer.position(start);
+        throw e;
+      }
+    }
+
+    private Record decodeFields(ByteBuffer buffer) {
+      if (buffer.remaining() < Long.BYTES || buffer.getLong() != fingerprint) {
+        throw new IllegalArgumentException("The snapshot was not written for " + type);
+      }
+
+      Record record = new Record(slots.length);
+      for (int i = 0; i < slots.length; i++) {
+        switch (slots[i]) {
+          case PRIMITIVE:
+            record.bits[i] = getBits(buffer, valueKinds[i]);
+            break;
+          case BOXED: {
+            boolean present = buffer.get() != 0;
+            long bits = getBits(buffer, valueKinds[i]);
+            record.references[i] = present ? valueKinds[i].box(bits) : null;
+            break;
+          }
+          case STRING: {
+            int length = buffer.getInt();
+            if (length < -1) {
+              throw new IllegalArgumentException("Invalid string length in snapshot of " + type);
+            }
+            if (length == -1) {
+              break;
+            }
+            if (length > buffer.remaining() / Character.BYTES) {
+              throw new BufferUnderflowException();
+            }
+            char[] chars = new char[length];
+            buffer.asCharBuffer().get(chars);
+            buffer.position(buffer.position() + length * Character.BYTES);
+            record.references[i] = new String(chars);
+            break;
+          }
+          case ENUM: {
+            int ordinal = buffer.getInt();
+            if (ordinal < -1 || ordinal >= enumConstants[i].length) {
+              throw new IllegalArgumentException(
+                  "Invalid enum ordinal " + ordinal + " in snapshot of " + type
+              );
+            }
+            record.references[i] = ordinal == -1 ? null : enumConstants[i][ordinal];
+            break;
+          }
+          default:
+            throw new IllegalStateException("Unknown slot: " + slots[i]);
+        }
+      }
+      return record;
+    }
+
+    /**
+     * Writes decoded values to an object.
+     *
+     * @param record The values returned by {@link #decode(ByteBuffer)} of this layout
+     * @param object The object to restore
+     */
+    void apply(Record record, Object object) {
+      for (int i = 0; i < slots.length; i++) {
+        if (slots[i] == Slot.PRIMITIVE) {
+          valueKinds[i].writeBits(accessors[i], object, record.bits[i]);
+        } else {
+          accessors[i].set(object, record.references[i]);
+        }
+      }
+    }
+  }
+
+  /**
+   * The decoded values of a single object, indexed like the fields of its {@link Layout}.
+   */
+  private static final class Record {
+
+    private final long[] bits;
+    private final Object[] references;
+
+    private Record(int fieldCount) {
+      this.bits = new long[fieldCount];
+      this.references = new Object[fieldCount];
+    }
+  }
+}
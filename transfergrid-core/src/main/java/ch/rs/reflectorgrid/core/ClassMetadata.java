@@ -0,0 +1,102 @@
+package ch.rs.reflectorgrid.core;
+
+import ch.rs.reflectorgrid.core.ReflectionHelper.ReflectionHelperException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * All {@link TransferGrid} fields of a class, resolved once and cached per class.
+ *
+ * <p>If a generated {@link GridBinder} exists for the class, the fields are taken from it instead
+ * of walking the class hierarchy, without reflecting them.
+ *
+ * <p>The cache is backed by a {@link ClassValue}, so it does not prevent the class (or its
+ * classloader) from being unloaded.
+ */
+public final class ClassMetadata {
+
+  private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+    @Override
+    protected ClassMetadata computeValue(Class<?> type) {
+      return new ClassMetadata(type);
+    }
+  };
+
+  private final Class<?> type;
+  private final List<FieldMetadata> fields;
+
+  private ClassMetadata(Class<?> type) {
+    this.type = type;
+
+    GridBinder binder = findBinder(type);
+    List<FieldMetadata> fieldMetadata = binder == null
+        ? reflectFields(type)
+        : bindFields(binder);
+
+    this.fields = Collections.unmodifiableList(fieldMetadata);
+  }
+
+  private static List<FieldMetadata> reflectFields(Class<?> type) {
+    List<Field> annotatedFields = ReflectionHelper.getAllFieldsInClassHierachy(
+        type, field -> field.isAnnotationPresent(TransferGrid.class)
+    );
+
+    List<FieldMetadata> fieldMetadata = new ArrayList<>(annotatedFields.size());
+    for (int i = 0; i < annotatedFields.size(); i++) {
+      fieldMetadata.add(new FieldMetadata(i, annotatedFields.get(i)));
+    }
+    return fieldMetadata;
+  }
+
+  private static List<FieldMetadata> bindFields(GridBinder binder) {
+    List<FieldMetadata> fieldMetadata = new ArrayList<>(binder.getFieldCount());
+    for (int i = 0; i < binder.getFieldCount(); i++) {
+      fieldMetadata.add(new FieldMetadata(i, binder));
+    }
+    return fieldMetadata;
+  }
+
+  private static GridBinder findBinder(Class<?> type) {
+    ClassLoader classLoader = type.getClassLoader();
+    if (classLoader == null) {
+      return null;
+    }
+
+    String binderName = type.getName().replace('$', '_') + GridBinder.BINDER_SUFFIX;
+    try {
+      Class<?> binderClass = Class.forName(binderName, true, classLoader);
+      if (!GridBinder.class.isAssignableFrom(binderClass)) {
+        return null;
+      }
+      return (GridBinder) binderClass.getConstructor().newInstance();
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (ReflectiveOperationException e) {
+      throw new ReflectionHelperException(e);
+    }
+  }
+
+  /**
+   * @param type The {@link Class} to get the metadata for
+   * @return The (cached) metadata for the class
+   */
+  public static ClassMetadata forClass(Class<?> type) {
+    return CACHE.get(type);
+  }
+
+  /**
+   * @return The class this metadata describes
+   */
+  public Class<?> getType() {
+    return type;
+  }
+
+  /**
+   * @return All fields annotated with {@link TransferGrid}, in the order they are displayed
+   */
+  public List<FieldMetadata> getFields() {
+    return fields;
+  }
+}
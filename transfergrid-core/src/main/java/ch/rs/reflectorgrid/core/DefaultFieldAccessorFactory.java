@@ -0,0 +1,50 @@
+package ch.rs.reflectorgrid.core;
+
+import java.lang.reflect.Field;
+import java.util.function.Function;
+
+/**
+ * Contains some basic {@link FieldAccessorFactory}s.
+ */
+public enum DefaultFieldAccessorFactory implements FieldAccessorFactory {
+  /**
+   * Uses {@link java.lang.invoke.MethodHandle}s, with primitive paths that do not box.
+   */
+  METHOD_HANDLES(MethodHandleFieldAccessor::new),
+  /**
+   * Like {@link #METHOD_HANDLES}, but writes have release and reads acquire semantics, so threads
+   * reading the object see every value written by the grid together with everything written
+   * before it.
+   */
+  RELEASE(field -> new PublishingFieldAccessor(new MethodHandleFieldAccessor(field), false)),
+  /**
+   * Like {@link #RELEASE}, but writes have volatile semantics, as if the fields were declared
+   * volatile.
+   */
+  VOLATILE(field -> new PublishingFieldAccessor(new MethodHandleFieldAccessor(field), true)),
+  /**
+   * Uses {@link Field#get(Object)} and {@link Field#set(Object, Object)}.
+   */
+  REFLECTION(field -> new FieldAccessor() {
+    @Override
+    public Object get(Object target) {
+      return ReflectionHelper.getFieldValue(field, target);
+    }
+
+    @Override
+    public void set(Object target, Object value) {
+      ReflectionHelper.setFieldValue(field, target, value);
+    }
+  });
+
+  private Function<Field, FieldAccessor> creationFunction;
+
+  DefaultFieldAccessorFactory(Function<Field, FieldAccessor> creationFunction) {
+    this.creationFunction = creationFunction;
+  }
+
+  @Override
+  public FieldAccessor createAccessor(Field field) {
+    return creationFunction.apply(field);
+  }
+}
@@ -1,4 +1,4 @@
-package ch.rs.reflectorgrid;
+package ch.rs.reflectorgrid.core;
 
 import java.lang.reflect.Field;
 import java.util.function.Function;
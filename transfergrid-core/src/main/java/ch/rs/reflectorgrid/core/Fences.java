@@ -0,0 +1,98 @@
+package ch.rs.reflectorgrid.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Memory fences used to publish field writes to other threads.
+ *
+ * <p>Uses the static fences of {@code java.lang.invoke.VarHandle} when the running JVM has them.
+ * As the library targets Java 8, they are looked up reflectively, falling back to the equivalent
+ * methods of {@code sun.misc.Unsafe}. The handles are constants, so the JIT compiles the calls
+ * down to the fence instructions.
+ */
+final class Fences {
+
+  private static final MethodType FENCE = MethodType.methodType(void.class);
+
+  private static final MethodHandle RELEASE;
+  private static final MethodHandle ACQUIRE;
+  private static final MethodHandle FULL;
+
+  static {
+    MethodHandle[] fences = findVarHandleFences();
+    if (fences == null) {
+      fences = findUnsafeFences();
+    }
+    RELEASE = fences[0];
+    ACQUIRE = fences[1];
+    FULL = fences[2];
+  }
+
+  /**
+   * Orders all previous reads and writes before all following writes.
+   */
+  static void release() {
+    try {
+      RELEASE.invokeExact();
+    } catch (Throwable t) {
+      throw new IllegalStateException("Fence failed", t);
+    }
+  }
+
+  /**
+   * Orders all previous reads before all following reads and writes.
+   */
+  static void acquire() {
+    try {
+      ACQUIRE.invokeExact();
+    } catch (Throwable t) {
+      throw new IllegalStateException("Fence failed", t);
+    }
+  }
+
+  /**
+   * Orders all previous reads and writes before all following reads and writes.
+   */
+  static void full() {
+    try {
+      FULL.invokeExact();
+    } catch (Throwable t) {
+      throw new IllegalStateException("Fence failed", t);
+    }
+  }
+
+  private static MethodHandle[] findVarHandleFences() {
+    try {
+      Class<?> varHandle = Class.forName("java.lang.invoke.VarHandle");
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      return new MethodHandle[]{
+          lookup.findStatic(varHandle, "releaseFence", FENCE),
+          lookup.findStatic(varHandle, "acquireFence", FENCE),
+          lookup.findStatic(varHandle, "fullFence", FENCE)
+      };
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  private static MethodHandle[] findUnsafeFences() {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      Object unsafe = theUnsafe.get(null);
+
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      return new MethodHandle[]{
+          lookup.findVirtual(unsafeClass, "storeFence", FENCE).bindTo(unsafe),
+          lookup.findVirtual(unsafeClass, "loadFence", FENCE).bindTo(unsafe),
+          lookup.findVirtual(unsafeClass, "fullFence", FENCE).bindTo(unsafe)
+      };
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      throw new IllegalStateException("The JVM provides no memory fences", e);
+    }
+  }
+}
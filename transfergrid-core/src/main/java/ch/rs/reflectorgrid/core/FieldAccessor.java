@@ -0,0 +1,87 @@
+package ch.rs.reflectorgrid.core;
+
+/**
+ * Reads and writes the value of a single field.
+ *
+ * <p>The primitive methods allow reading and writing primitive fields without boxing. Their
+ * default implementations fall back to {@link #get(Object)} and {@link #set(Object, Object)}, so
+ * implementations only need to override the ones matching their field type.
+ */
+public interface FieldAccessor {
+
+  /**
+   * @param target The object to read the field from
+   * @return The value of the field
+   */
+  Object get(Object target);
+
+  /**
+   * @param target The object to write the field to
+   * @param value The new value of the field
+   */
+  void set(Object target, Object value);
+
+  default int getInt(Object target) {
+    return ((Number) get(target)).intValue();
+  }
+
+  default void setInt(Object target, int value) {
+    set(target, value);
+  }
+
+  default long getLong(Object target) {
+    return ((Number) get(target)).longValue();
+  }
+
+  default void setLong(Object target, long value) {
+    set(target, value);
+  }
+
+  default double getDouble(Object target) {
+    return ((Number) get(target)).doubleValue();
+  }
+
+  default void setDouble(Object target, double value) {
+    set(target, value);
+  }
+
+  default float getFloat(Object target) {
+    return ((Number) get(target)).floatValue();
+  }
+
+  default void setFloat(Object target, float value) {
+    set(target, value);
+  }
+
+  default short getShort(Object target) {
+    return ((Number) get(target)).shortValue();
+  }
+
+  default void setShort(Object target, short value) {
+    set(target, value);
+  }
+
+  default byte getByte(Object target) {
+    return ((Number) get(target)).byteValue();
+  }
+
+  default void setByte(Object target, byte value) {
+    set(target, value);
+  }
+
+  default boolean getBoolean(Object target) {
+    return (Boolean) get(target);
+  }
+
+  default void setBoolean(Object target, boolean value) {
+    set(target, value);
+  }
+
+  default char getChar(Object target) {
+    return (Character) get(target);
+  }
+
+  default void setChar(Object target, char value) {
+    set(target, value);
+  }
+}
@@ -0,0 +1,17 @@
+package ch.rs.reflectorgrid.core;
+
+import java.lang.reflect.Field;
+
+/**
+ * Creates the {@link FieldAccessor} used to read and write a {@link Field}.
+ *
+ * <p>Accessors are created once per field and then reused, so creating them may be expensive.
+ */
+public interface FieldAccessorFactory {
+
+  /**
+   * @param field The {@link Field} to create an accessor for
+   * @return The accessor for the field
+   */
+  FieldAccessor createAccessor(Field field);
+}
@@ -0,0 +1,24 @@
+package ch.rs.reflectorgrid.core;
+
+/**
+ * Receives the values written to the fields of an object, e.g. to forward the edits of a grid to
+ * another process. Does not depend on any UI toolkit.
+ */
+public interface FieldChangeListener {
+
+  /**
+   * A listener that ignores all changes.
+   */
+  FieldChangeListener NONE = (target, field, oldValue, newValue) -> {
+  };
+
+  /**
+   * Called after a value was written to a field. Primitive values are boxed.
+   *
+   * @param target The object the field belongs to
+   * @param field The field
+   * @param oldValue The value before the write
+   * @param newValue The value after the write
+   */
+  void fieldChanged(Object target, FieldDescriptor field, Object oldValue, Object newValue);
+}
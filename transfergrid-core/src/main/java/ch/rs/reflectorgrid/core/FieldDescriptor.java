@@ -0,0 +1,128 @@
+package ch.rs.reflectorgrid.core;
+
+import ch.rs.reflectorgrid.core.TransferGrid.CommitPolicy;
+import ch.rs.reflectorgrid.core.TransferGrid.FieldType;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes a single field of a {@link FormSchema}: everything a front end needs to render it,
+ * without a reference to the field or its class.
+ */
+public final class FieldDescriptor {
+
+  private final int index;
+  private final String name;
+  private final String label;
+  private final String typeName;
+  private final boolean editable;
+  private final List<String> options;
+  private final FieldType fieldType;
+  private final CommitPolicy commitPolicy;
+
+  private FieldDescriptor(int index, String name, String label, String typeName,
+      boolean editable, List<String> options, FieldType fieldType, CommitPolicy commitPolicy) {
+    this.index = index;
+    this.name = name;
+    this.label = label;
+    this.typeName = typeName;
+    this.editable = editable;
+    this.options = options;
+    this.fieldType = fieldType;
+    this.commitPolicy = commitPolicy;
+  }
+
+  /**
+   * @param field The field to describe
+   * @param strategy The strategy computing the label
+   * @return The descriptor of the field
+   */
+  static FieldDescriptor of(FieldMetadata field, FieldNamingStrategy strategy) {
+    return new FieldDescriptor(
+        field.getIndex(), field.getName(), field.getLabel(strategy), field.getType().getName(),
+        field.isEditable(), Collections.unmodifiableList(Arrays.asList(field.getOptions())),
+        field.getFieldType(), field.getCommitPolicy()
+    );
+  }
+
+  /**
+   * @return The index of the field in its schema
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * @return The {@link Class#getName()} of the type of the field
+   */
+  public String getTypeName() {
+    return typeName;
+  }
+
+  public boolean isEditable() {
+    return editable;
+  }
+
+  /**
+   * @return The options to choose from or an empty list if the value is entered freely
+   */
+  public List<String> getOptions() {
+    return options;
+  }
+
+  public FieldType getFieldType() {
+    return fieldType;
+  }
+
+  /**
+   * @return The commit policy declared on the field, {@link CommitPolicy#GRID_DEFAULT} if it uses
+   *     the one of the grid
+   */
+  public CommitPolicy getCommitPolicy() {
+    return commitPolicy;
+  }
+
+  void writeTo(DataOutput output) throws IOException {
+    output.writeUTF(name);
+    output.writeUTF(label);
+    output.writeUTF(typeName);
+    output.writeBoolean(editable);
+    output.writeByte(fieldType.ordinal());
+    output.writeByte(commitPolicy.ordinal());
+    output.writeShort(options.size());
+    for (String option : options) {
+      output.writeUTF(option);
+    }
+  }
+
+  static FieldDescriptor readFrom(DataInput input, int index) throws IOException {
+    String name = input.readUTF();
+    String label = input.readUTF();
+    String typeName = input.readUTF();
+    boolean editable = input.readBoolean();
+    FieldType fieldType = FieldType.values()[input.readUnsignedByte()];
+    CommitPolicy commitPolicy = CommitPolicy.values()[input.readUnsignedByte()];
+
+    String[] options = new String[input.readUnsignedShort()];
+    for (int i = 0; i < options.length; i++) {
+      options[i] = input.readUTF();
+    }
+
+    return new FieldDescriptor(
+        index, name, label, typeName, editable,
+        Collections.unmodifiableList(Arrays.asList(options)), fieldType, commitPolicy
+    );
+  }
+}
@@ -0,0 +1,278 @@
+package ch.rs.reflectorgrid.core;
+
+import ch.rs.reflectorgrid.core.ReflectionHelper.ReflectionHelperException;
+import ch.rs.reflectorgrid.core.TransferGrid.CommitPolicy;
+import ch.rs.reflectorgrid.core.TransferGrid.FieldType;
+import ch.rs.reflectorgrid.core.typeconversion.ConverterRegistry;
+import ch.rs.reflectorgrid.core.typeconversion.FieldCodec;
+import ch.rs.reflectorgrid.core.validation.Length;
+import ch.rs.reflectorgrid.core.validation.Matches;
+import ch.rs.reflectorgrid.core.validation.NotNull;
+import ch.rs.reflectorgrid.core.validation.Range;
+import java.lang.reflect.Field;
+
+/**
+ * A single {@link TransferGrid} field with its annotation values, label, codec and accessor
+ * resolved.
+ *
+ * <p>Labels, codecs and accessors depend on the {@link FieldNamingStrategy}, {@link
+ * ConverterRegistry} and {@link FieldAccessorFactory} of the grid, so they are memoized for the
+ * last one that was asked for.
+ *
+ * <p>When the field comes from a generated {@link GridBinder}, its annotation values,
+ * precomputed labels and direct accessor are taken from the binder, and the {@link Field} is only
+ * looked up if something asks for it, e.g. the metrics listener of a grid.
+ */
+public final class FieldMetadata {
+
+  private final int index;
+  private final Class<?> declaringClass;
+  private final String name;
+  private final Class<?> type;
+  private final boolean editable;
+  private final String[] options;
+  private final FieldType fieldType;
+  private final CommitPolicy commitPolicy;
+  private final boolean constrained;
+  private final GridBinder binder;
+  private final FieldAccessor binderAccessor;
+  private final ValueKind valueKind;
+
+  private volatile Field field;
+  private volatile LabelMemo labelMemo;
+  private volatile CodecMemo codecMemo;
+  private volatile AccessorMemo accessorMemo;
+
+  /**
+   * @param index The index of the field in its {@link ClassMetadata}
+   * @param field The field, annotated with {@link TransferGrid}
+   */
+  FieldMetadata(int index, Field field) {
+    TransferGrid annotation = field.getAnnotation(TransferGrid.class);
+
+    this.index = index;
+    this.declaringClass = field.getDeclaringClass();
+    this.name = field.getName();
+    this.type = field.getType();
+    this.editable = annotation.editable();
+    // the annotation returns a fresh copy on every call
+    this.options = annotation.options();
+    this.fieldType = annotation.fieldtype();
+    this.commitPolicy = annotation.commitPolicy();
+    this.constrained = field.isAnnotationPresent(NotNull.class)
+        || field.isAnnotationPresent(Range.class)
+        || field.isAnnotationPresent(Length.class)
+        || field.isAnnotationPresent(Matches.class);
+    this.binder = null;
+    this.binderAccessor = null;
+    this.valueKind = ValueKind.forType(type);
+    this.field = field;
+  }
+
+  /**
+   * @param index The index of the field in its {@link ClassMetadata} and in the binder
+   * @param binder The generated binder that contains the field
+   */
+  FieldMetadata(int index, GridBinder binder) {
+    this.index = index;
+    this.declaringClass = binder.getDeclaringClass(index);
+    this.name = binder.getFieldName(index);
+    this.type = binder.getFieldType(index);
+    this.editable = binder.isEditable(index);
+    this.options = binder.getOptions(index);
+    this.fieldType = binder.getFieldtype(index);
+    this.commitPolicy = binder.getCommitPolicy(index);
+    this.constrained = binder.isConstrained(index);
+    this.binder = binder;
+    this.binderAccessor = binder.getAccessor(index);
+    this.valueKind = ValueKind.forType(type);
+  }
+
+  /**
+   * @return The index of this field in its {@link ClassMetadata}
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Returns the reflected field, which is looked up on the first call for fields of a generated
+   * {@link GridBinder}.
+   *
+   * @return The field
+   */
+  public Field getField() {
+    Field resolved = field;
+    if (resolved == null) {
+      try {
+        resolved = declaringClass.getDeclaredField(name);
+      } catch (NoSuchFieldException e) {
+        // the binder is out of date
+        throw new ReflectionHelperException(e);
+      }
+      field = resolved;
+    }
+    return resolved;
+  }
+
+  /**
+   * @return The class declaring this field
+   */
+  public Class<?> getDeclaringClass() {
+    return declaringClass;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Class<?> getType() {
+    return type;
+  }
+
+  /**
+   * @return How the value of this field is stored
+   */
+  public ValueKind getValueKind() {
+    return valueKind;
+  }
+
+  public boolean isEditable() {
+    return editable;
+  }
+
+  /**
+   * @return True if the field should be displayed as a ComboBox
+   */
+  public boolean hasOptions() {
+    return options.length > 0;
+  }
+
+  /**
+   * @return The options of the field. Do not modify the returned array.
+   */
+  public String[] getOptions() {
+    return options;
+  }
+
+  public FieldType getFieldType() {
+    return fieldType;
+  }
+
+  /**
+   * @return The commit policy of the annotation, which may be {@link CommitPolicy#GRID_DEFAULT}
+   */
+  public CommitPolicy getCommitPolicy() {
+    return commitPolicy;
+  }
+
+  /**
+   * @param gridDefault The commit policy of the grid
+   * @return The commit policy to use for this field
+   */
+  public CommitPolicy getCommitPolicy(CommitPolicy gridDefault) {
+    return commitPolicy == CommitPolicy.GRID_DEFAULT ? gridDefault : commitPolicy;
+  }
+
+  /**
+   * @return True if the field has annotations from the {@code validation} package
+   */
+  public boolean isConstrained() {
+    return constrained;
+  }
+
+  /**
+   * @param strategy The {@link FieldNamingStrategy} to use
+   * @return The label for this field
+   */
+  public String getLabel(FieldNamingStrategy strategy) {
+    LabelMemo memo = labelMemo;
+    if (memo == null || memo.strategy != strategy) {
+      memo = new LabelMemo(strategy, computeLabel(strategy));
+      labelMemo = memo;
+    }
+    return memo.label;
+  }
+
+  private String computeLabel(FieldNamingStrategy strategy) {
+    if (binder != null && strategy instanceof DefaultFieldNamingStrategy) {
+      String label = binder.getLabel(index, (DefaultFieldNamingStrategy) strategy);
+      if (label != null) {
+        return label;
+      }
+    }
+    return strategy.toString(getField());
+  }
+
+  /**
+   * Returns the accessor for this field. The direct accessor of a generated binder takes the place
+   * of the {@link DefaultFieldAccessorFactory#METHOD_HANDLES} one.
+   *
+   * @param factory The {@link FieldAccessorFactory} to use
+   * @return The accessor for this field
+   */
+  public FieldAccessor getAccessor(FieldAccessorFactory factory) {
+    if (binderAccessor != null && factory == DefaultFieldAccessorFactory.METHOD_HANDLES) {
+      return binderAccessor;
+    }
+
+    AccessorMemo memo = accessorMemo;
+    if (memo == null || memo.factory != factory) {
+      memo = new AccessorMemo(factory, factory.createAccessor(getField()));
+      accessorMemo = memo;
+    }
+    return memo.accessor;
+  }
+
+  /**
+   * @param registry The {@link ConverterRegistry} to use
+   * @return The codec that formats and parses the value of this field
+   */
+  public FieldCodec getCodec(ConverterRegistry registry) {
+    CodecMemo memo = codecMemo;
+    int modificationCount = registry.getModificationCount();
+
+    if (memo == null || memo.registry != registry
+        || memo.modificationCount != modificationCount) {
+      memo = new CodecMemo(registry, modificationCount, registry.getCodec(getType()));
+      codecMemo = memo;
+    }
+
+    return memo.codec;
+  }
+
+  private static final class LabelMemo {
+
+    private final FieldNamingStrategy strategy;
+    private final String label;
+
+    private LabelMemo(FieldNamingStrategy strategy, String label) {
+      this.strategy = strategy;
+      this.label = label;
+    }
+  }
+
+  private static final class CodecMemo {
+
+    private final ConverterRegistry registry;
+    private final int modificationCount;
+    private final FieldCodec codec;
+
+    private CodecMemo(ConverterRegistry registry, int modificationCount, FieldCodec codec) {
+      this.registry = registry;
+      this.modificationCount = modificationCount;
+      this.codec = codec;
+    }
+  }
+
+  private static final class AccessorMemo {
+
+    private final FieldAccessorFactory factory;
+    private final FieldAccessor accessor;
+
+    private AccessorMemo(FieldAccessorFactory factory, FieldAccessor accessor) {
+      this.factory = factory;
+      this.accessor = accessor;
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package ch.rs.reflectorgrid.core;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A consistent copy of all {@link TransferGrid} fields of an object, for threads reading an object
+ * that is edited in a grid.
+ *
+ * <p>The fields are read under an optimistic stamp of the lock guarding the object, so readers do
+ * not block writers or each other. Only if a write happens while reading, the fields are read
+ * again, after a few attempts while holding the read lock. Primitive values are copied without
+ * boxing.
+ */
+public final class FieldSnapshot {
+
+  /**
+   * How often the fields are read optimistically before falling back to the read lock.
+   */
+  private static final int OPTIMISTIC_ATTEMPTS = 3;
+
+  private static final ClassValue<FieldAccessor[]> ACCESSORS = new ClassValue<FieldAccessor[]>() {
+    @Override
+    protected FieldAccessor[] computeValue(Class<?> type) {
+      List<FieldMetadata> fields = ClassMetadata.forClass(type).getFields();
+      FieldAccessor[] accessors = new FieldAccessor[fields.size()];
+      for (int i = 0; i < accessors.length; i++) {
+        accessors[i] = fields.get(i).getAccessor(DefaultFieldAccessorFactory.METHOD_HANDLES);
+      }
+      return accessors;
+    }
+  };
+
+  private final ClassMetadata metadata;
+  private final long[] primitives;
+  private final Object[] references;
+
+  private FieldSnapshot(ClassMetadata metadata) {
+    this.metadata = metadata;
+    this.primitives = new long[metadata.getFields().size()];
+    this.references = new Object[metadata.getFields().size()];
+  }
+
+  /**
+   * Reads all fields of the object.
+   *
+   * @param object The object to read
+   * @param lock The lock writers of the object hold
+   * @return The values of the fields
+   */
+  public static FieldSnapshot read(Object object, StampedLock lock) {
+    Objects.requireNonNull(object, "object can not be null!");
+    Objects.requireNonNull(lock, "lock can not be null!");
+
+    FieldSnapshot snapshot = new FieldSnapshot(ClassMetadata.forClass(object.getClass()));
+    FieldAccessor[] accessors = ACCESSORS.get(object.getClass());
+
+    for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+      long stamp = lock.tryOptimisticRead();
+      if (stamp == 0) {
+        // write locked right now
+        continue;
+      }
+      snapshot.copy(object, accessors);
+      if (lock.validate(stamp)) {
+        return snapshot;
+      }
+    }
+
+    long stamp = lock.readLock();
+    try {
+      snapshot.copy(object, accessors);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Reads all fields of the object.
+   *
+   * @param object The object to read
+   * @param locks The locks writers of the object hold
+   * @return The values of the fields
+   */
+  public static FieldSnapshot read(Object object, StripedLocks locks) {
+    Objects.requireNonNull(locks, "locks can not be null!");
+
+    return read(object, locks.get(object));
+  }
+
+  /**
+   * @return The class of the object that was read
+   */
+  public Class<?> getType() {
+    return metadata.getType();
+  }
+
+  /**
+   * @return The number of fields
+   */
+  public int size() {
+    return references.length;
+  }
+
+  /**
+   * @param index The index of the field
+   * @return The name of the field
+   */
+  public String getName(int index) {
+    return metadata.getFields().get(index).getName();
+  }
+
+  /**
+   * @param name The name of the field
+   * @return The index of the first field with the name or -1 if there is none
+   */
+  public int indexOf(String name) {
+    List<FieldMetadata> fields = metadata.getFields();
+    for (int i = 0; i < fields.size(); i++) {
+      if (fields.get(i).getName().equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @param index The index of the field
+   * @return The value of the field, boxed if it is primitive
+   */
+  public Object get(int index) {
+    ValueKind valueKind = getValueKind(index);
+
+    if (valueKind.isPrimitive()) {
+      return valueKind.box(primitives[index]);
+    }
+    return references[index];
+  }
+
+  /**
+   * @param name The name of the field
+   * @return The value of the field, boxed if it is primitive
+   * @throws IllegalArgumentException if there is no field with the name
+   */
+  public Object get(String name) {
+    int index = indexOf(name);
+    if (index < 0) {
+      throw new IllegalArgumentException("No field named " + name + " in " + getType());
+    }
+    return get(index);
+  }
+
+  /**
+   * @param index The index of the field
+   * @return The value of the {@code int} field
+   */
+  public int getInt(int index) {
+    if (getValueKind(index) != ValueKind.INT) {
+      return ((Number) get(index)).intValue();
+    }
+    return (int) primitives[index];
+  }
+
+  /**
+   * @param index The index of the field
+   * @return The value of the {@code long} field
+   */
+  public long getLong(int index) {
+    if (getValueKind(index) != ValueKind.LONG) {
+      return ((Number) get(index)).longValue();
+    }
+    return primitives[index];
+  }
+
+  /**
+   * @param index The index of the field
+   * @return The value of the {@code double} field
+   */
+  public double getDouble(int index) {
+    if (getValueKind(index) != ValueKind.DOUBLE) {
+      return ((Number) get(index)).doubleValue();
+    }
+    return Double.longBitsToDouble(primitives[index]);
+  }
+
+  /**
+   * @param index The index of the field
+   * @return The value of the {@code boolean} field
+   */
+  public boolean getBoolean(int index) {
+    if (getValueKind(index) != ValueKind.BOOLEAN) {
+      return (Boolean) get(index);
+    }
+    return primitives[index] != 0;
+  }
+
+  private ValueKind getValueKind(int index) {
+    return metadata.getFields().get(index).getValueKind();
+  }
+
+  private void copy(Object object, FieldAccessor[] accessors) {
+    List<FieldMetadata> fields = metadata.getFields();
+
+    for (int i = 0; i < accessors.length; i++) {
+      ValueKind valueKind = fields.get(i).getValueKind();
+      if (valueKind.isPrimitive()) {
+        primitives[i] = valueKind.readBits(accessors[i], object);
+      } else {
+        references[i] = accessors[i].get(object);
+      }
+    }
+  }
+}
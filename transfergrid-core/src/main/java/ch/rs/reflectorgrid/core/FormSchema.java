@@ -0,0 +1,245 @@
+package ch.rs.reflectorgrid.core;
+
+import ch.rs.reflectorgrid.core.typeconversion.ConverterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link TransferGrid} fields of a class as plain descriptors, independent of any UI toolkit.
+ *
+ * <p>Schemas are computed once per class and naming strategy and cached, so headless processes can
+ * prepare them ahead of time. They can be written in a compact binary form with {@link
+ * #writeTo(DataOutput)} and read by another process with {@link #readFrom(DataInput)}, which does
+ * not need the described class. Schemas created from a class can additionally format and parse
+ * the values of its objects.
+ */
+public final class FormSchema {
+
+  /**
+   * Written first, so other data is not mistaken for a schema.
+   */
+  private static final int MAGIC = 0x54475343;
+  private static final int VERSION = 1;
+
+  private static final ClassValue<ConcurrentMap<FieldNamingStrategy, FormSchema>> CACHE =
+      new ClassValue<ConcurrentMap<FieldNamingStrategy, FormSchema>>() {
+        @Override
+        protected ConcurrentMap<FieldNamingStrategy, FormSchema> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private final String className;
+  private final List<FieldDescriptor> fields;
+  private final ClassMetadata metadata;
+  private volatile LabelIndex labelIndex;
+
+  private FormSchema(String className, List<FieldDescriptor> fields, ClassMetadata metadata) {
+    this.className = className;
+    this.fields = Collections.unmodifiableList(fields);
+    this.metadata = metadata;
+  }
+
+  /**
+   * @param type The class to describe
+   * @return The schema of the class with the field names as labels
+   */
+  public static FormSchema forClass(Class<?> type) {
+    return forClass(type, DefaultFieldNamingStrategy.VERBATIM);
+  }
+
+  /**
+   * @param type The class to describe
+   * @param strategy The strategy computing the labels
+   * @return The (cached) schema of the class
+   */
+  public static FormSchema forClass(Class<?> type, FieldNamingStrategy strategy) {
+    Objects.requireNonNull(type, "type can not be null!");
+    Objects.requireNonNull(strategy, "strategy can not be null!");
+
+    ConcurrentMap<FieldNamingStrategy, FormSchema> schemas = CACHE.get(type);
+    FormSchema schema = schemas.get(strategy);
+    if (schema == null) {
+      schema = schemas.computeIfAbsent(strategy, key -> create(type, key));
+    }
+    return schema;
+  }
+
+  private static FormSchema create(Class<?> type, FieldNamingStrategy strategy) {
+    ClassMetadata metadata = ClassMetadata.forClass(type);
+    List<FieldDescriptor> fields = new ArrayList<>(metadata.getFields().size());
+    for (FieldMetadata field : metadata.getFields()) {
+      fields.add(FieldDescriptor.of(field, strategy));
+    }
+    return new FormSchema(type.getName(), fields, metadata);
+  }
+
+  /**
+   * Reads a schema written by {@link #writeTo(DataOutput)}. The described class does not need to
+   * be present.
+   *
+   * @param input The input to read from
+   * @return The schema
+   * @throws IOException if reading fails or the input contains no schema
+   */
+  public static FormSchema readFrom(DataInput input) throws IOException {
+    if (input.readInt() != MAGIC) {
+      throw new IOException("Not a schema");
+    }
+    int version = input.readUnsignedByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported schema version " + version);
+    }
+
+    String className = input.readUTF();
+    int fieldCount = input.readUnsignedShort();
+    List<FieldDescriptor> fields = new ArrayList<>(fieldCount);
+    for (int i = 0; i < fieldCount; i++) {
+      fields.add(FieldDescriptor.readFrom(input, i));
+    }
+    return new FormSchema(className, fields, null);
+  }
+
+  /**
+   * @param bytes The bytes returned by {@link #toByteArray()}
+   * @return The schema
+   * @throws IllegalArgumentException if the bytes contain no schema
+   */
+  public static FormSchema fromByteArray(byte[] bytes) {
+    try {
+      return readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Invalid schema", e);
+    }
+  }
+
+  /**
+   * Writes the schema in a compact binary form.
+   *
+   * @param output The output to write to
+   * @throws IOException if writing fails
+   */
+  public void writeTo(DataOutput output) throws IOException {
+    output.writeInt(MAGIC);
+    output.writeByte(VERSION);
+    output.writeUTF(className);
+    output.writeShort(fields.size());
+    for (FieldDescriptor field : fields) {
+      field.writeTo(output);
+    }
+  }
+
+  /**
+   * @return The schema in the form written by {@link #writeTo(DataOutput)}
+   */
+  public byte[] toByteArray() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try {
+      writeTo(new DataOutputStream(bytes));
+    } catch (IOException e) {
+      // can not happen in memory
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @return The {@link Class#getName()} of the described class
+   */
+  public String getClassName() {
+    return className;
+  }
+
+  /**
+   * @return The fields, in display order
+   */
+  public List<FieldDescriptor> getFields() {
+    return fields;
+  }
+
+  /**
+   * @param name The name of the field
+   * @return The first field with the name or null if there is none
+   */
+  public FieldDescriptor getField(String name) {
+    for (FieldDescriptor field : fields) {
+      if (field.getName().equals(name)) {
+        return field;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return The index over the labels of the fields, built on first use
+   */
+  public LabelIndex getLabelIndex() {
+    LabelIndex index = labelIndex;
+    if (index == null) {
+      // building it twice in a race is harmless
+      index = new LabelIndex(fields);
+      labelIndex = index;
+    }
+    return index;
+  }
+
+  /**
+   * Formats the value of a field like a grid would display it.
+   *
+   * @param target The object to read the field of
+   * @param index The index of the field
+   * @param converters The converters to use
+   * @return The text of the value
+   * @throws IllegalStateException if the schema was read and not created from the class
+   */
+  public String format(Object target, int index, ConverterRegistry converters) {
+    FieldMetadata field = getFieldMetadata(target, index);
+
+    StringBuilder buffer = new StringBuilder();
+    field.getCodec(converters).format(target, getAccessor(field), buffer);
+    return buffer.toString();
+  }
+
+  /**
+   * Converts the text and writes it to a field, like a grid would when the user entered it.
+   *
+   * @param target The object to write the field of
+   * @param index The index of the field
+   * @param text The text to convert
+   * @param converters The converters to use
+   * @throws ch.rs.reflectorgrid.core.typeconversion.ConversionException if the text can not be
+   *     converted
+   * @throws IllegalStateException if the schema was read and not created from the class
+   */
+  public void parse(Object target, int index, CharSequence text, ConverterRegistry converters) {
+    FieldMetadata field = getFieldMetadata(target, index);
+
+    field.getCodec(converters).parse(text, target, getAccessor(field));
+  }
+
+  private FieldMetadata getFieldMetadata(Object target, int index) {
+    if (metadata == null) {
+      throw new IllegalStateException("The schema of " + className + " has no class");
+    }
+    if (!metadata.getType().isInstance(target)) {
+      throw new IllegalArgumentException("Not a " + className + ": " + target);
+    }
+    return metadata.getFields().get(index);
+  }
+
+  private static FieldAccessor getAccessor(FieldMetadata field) {
+    return field.getAccessor(DefaultFieldAccessorFactory.METHOD_HANDLES);
+  }
+}
@@ -0,0 +1,83 @@
+package ch.rs.reflectorgrid.core;
+
+/**
+ * Describes the {@link TransferGrid} fields of a class and their annotations without reflection.
+ *
+ * <p>Implementations are generated by the TransferGrid annotation processor. A binder for the
+ * class {@code com.example.Foo} is called {@code com.example.Foo_GridBinder} (nested classes
+ * replace the {@code $} with {@code _}) and is picked up automatically when it is present.
+ */
+public interface GridBinder {
+
+  /**
+   * The suffix appended to the class name to get the name of its binder.
+   */
+  String BINDER_SUFFIX = "_GridBinder";
+
+  /**
+   * @return The number of fields in this binder
+   */
+  int getFieldCount();
+
+  /**
+   * @param index The index of the field
+   * @return The class declaring the field
+   */
+  Class<?> getDeclaringClass(int index);
+
+  /**
+   * @param index The index of the field
+   * @return The name of the field
+   */
+  String getFieldName(int index);
+
+  /**
+   * @param index The index of the field
+   * @return The (erased) type of the field, which is used to look up its converter
+   */
+  Class<?> getFieldType(int index);
+
+  /**
+   * @param index The index of the field
+   * @return The {@link TransferGrid#editable()} value of the field
+   */
+  boolean isEditable(int index);
+
+  /**
+   * @param index The index of the field
+   * @return The {@link TransferGrid#options()} of the field. Do not modify the returned array.
+   */
+  String[] getOptions(int index);
+
+  /**
+   * @param index The index of the field
+   * @return The {@link TransferGrid#fieldtype()} of the field
+   */
+  TransferGrid.FieldType getFieldtype(int index);
+
+  /**
+   * @param index The index of the field
+   * @return The {@link TransferGrid#commitPolicy()} of the field
+   */
+  TransferGrid.CommitPolicy getCommitPolicy(int index);
+
+  /**
+   * @param index The index of the field
+   * @return True if the field has annotations from the {@code validation} package
+   */
+  boolean isConstrained(int index);
+
+  /**
+   * @param index The index of the field
+   * @param strategy The naming strategy to use
+   * @return The precomputed label or null if there is none for the strategy
+   */
+  String getLabel(int index, DefaultFieldNamingStrategy strategy);
+
+  /**
+   * @param index The index of the field
+   * @return An accessor that reads and writes the field directly or null if the field is not
+   *     accessible from generated code
+   */
+  FieldAccessor getAccessor(int index);
+}
@@ -0,0 +1,140 @@
+package ch.rs.reflectorgrid.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An n-gram index over the labels of a {@link FormSchema}, finding the fields whose label contains
+ * a query ignoring case.
+ *
+ * <p>Every substring of up to {@value #GRAM_LENGTH} characters of every label maps to the sorted
+ * indices of the fields containing it. Queries of up to that length are answered by a single
+ * lookup. For longer queries only the fields of the rarest n-gram of the query are checked.
+ */
+public final class LabelIndex {
+
+  /**
+   * The length of the longest indexed substrings.
+   */
+  private static final int GRAM_LENGTH = 3;
+  private static final int[] NO_FIELDS = new int[0];
+
+  private final String[] labels;
+  private final Map<Long, int[]> postings;
+
+  LabelIndex(List<FieldDescriptor> fields) {
+    this.labels = new String[fields.size()];
+    Map<Long, List<Integer>> lists = new HashMap<>();
+
+    for (int field = 0; field < labels.length; field++) {
+      String label = normalize(fields.get(field).getLabel());
+      labels[field] = label;
+
+      for (int length = 1; length <= GRAM_LENGTH; length++) {
+        for (int start = 0; start + length <= label.length(); start++) {
+          List<Integer> list = lists.computeIfAbsent(
+              key(label, start, length), key -> new ArrayList<>()
+          );
+          // the fields are added in order, so a repeated n-gram is always the last entry
+          if (list.isEmpty() || list.get(list.size() - 1) != field) {
+            list.add(field);
+          }
+        }
+      }
+    }
+
+    this.postings = new HashMap<>(lists.size() * 4 / 3 + 1);
+    for (Map.Entry<Long, List<Integer>> entry : lists.entrySet()) {
+      postings.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+    }
+  }
+
+  /**
+   * @return The number of indexed labels
+   */
+  public int size() {
+    return labels.length;
+  }
+
+  /**
+   * Finds the fields whose label contains the query. Surrounding whitespace and case are ignored,
+   * an empty query matches all fields.
+   *
+   * @param query The text to search
+   * @param result Receives the indices of the matching fields, is cleared first
+   */
+  public void search(String query, BitSet result) {
+    result.clear();
+    String normalized = normalize(query);
+
+    if (normalized.isEmpty()) {
+      result.set(0, labels.length);
+      return;
+    }
+
+    if (normalized.length() <= GRAM_LENGTH) {
+      for (int field : getPostings(key(normalized, 0, normalized.length()))) {
+        result.set(field);
+      }
+      return;
+    }
+
+    int[] rarest = null;
+    for (int start = 0; start + GRAM_LENGTH <= normalized.length(); start++) {
+      int[] fields = getPostings(key(normalized, start, GRAM_LENGTH));
+      if (rarest == null || fields.length < rarest.length) {
+        rarest = fields;
+      }
+    }
+    for (int field : rarest) {
+      if (labels[field].contains(normalized)) {
+        result.set(field);
+      }
+    }
+  }
+
+  /**
+   * Removes the fields not matching the query from a previous result. Faster than {@link
+   * #search(String, BitSet)} if the query contains the query of the previous result.
+   *
+   * @param query The text to search
+   * @param matches The fields matching a query contained in this one
+   */
+  public void narrow(String query, BitSet matches) {
+    String normalized = normalize(query);
+
+    for (int field = matches.nextSetBit(0); field >= 0; field = matches.nextSetBit(field + 1)) {
+      if (!labels[field].contains(normalized)) {
+        matches.clear(field);
+      }
+    }
+  }
+
+  /**
+   * @param query The query as entered
+   * @return The query in the form it is matched
+   */
+  public static String normalize(String query) {
+    return query.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private int[] getPostings(long key) {
+    int[] fields = postings.get(key);
+    return fields == null ? NO_FIELDS : fields;
+  }
+
+  /**
+   * Packs up to {@value #GRAM_LENGTH} characters and the length into a single key.
+   */
+  private static long key(String text, int start, int length) {
+    long key = length;
+    for (int i = start; i < start + length; i++) {
+      key = key << 16 | text.charAt(i);
+    }
+    return key;
+  }
+}
@@ -0,0 +1,163 @@
+package ch.rs.reflectorgrid.core;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A {@link FieldAccessor} that writes while holding the write lock of the object's stripe in a
+ * {@link StripedLocks}. Reads are not locked, they only feed the controls, which pick up later
+ * changes on the next refresh.
+ */
+public class LockingFieldAccessor implements FieldAccessor {
+
+  private final FieldAccessor delegate;
+  private final StripedLocks locks;
+
+  public LockingFieldAccessor(FieldAccessor delegate, StripedLocks locks) {
+    this.delegate = delegate;
+    this.locks = locks;
+  }
+
+  @Override
+  public Object get(Object target) {
+    return delegate.get(target);
+  }
+
+  @Override
+  public void set(Object target, Object value) {
+    StampedLock lock = locks.get(target);
+    long stamp = lock.writeLock();
+    try {
+      delegate.set(target, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public int getInt(Object target) {
+    return delegate.getInt(target);
+  }
+
+  @Override
+  public void setInt(Object target, int value) {
+    StampedLock lock = locks.get(target);
+    long stamp = lock.writeLock();
+    try {
+      delegate.setInt(target, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public long getLong(Object target) {
+    return delegate.getLong(target);
+  }
+
+  @Override
+  public void setLong(Object target, long value) {
+    StampedLock lock = locks.get(target);
+    long stamp = lock.writeLock();
+    try {
+      delegate.setLong(target, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public double getDouble(Object target) {
+    return delegate.getDouble(target);
+  }
+
+  @Override
+  public void setDouble(Object target, double value) {
+    StampedLock lock = locks.get(target);
+    long stamp = lock.writeLock();
+    try {
+      delegate.setDouble(target, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public float getFloat(Object target) {
+    return delegate.getFloat(target);
+  }
+
+  @Override
+  public void setFloat(Object target, float value) {
+    StampedLock lock = locks.get(target);
+    long stamp = lock.writeLock();
+    try {
+      delegate.setFloat(target, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public short getShort(Object target) {
+    return delegate.getShort(target);
+  }
+
+  @Override
+  public void setShort(Object target, short value) {
+    StampedLock lock = locks.get(target);
+    long stamp = lock.writeLock();
+    try {
+      delegate.setShort(target, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public byte getByte(Object target) {
+    return delegate.getByte(target);
+  }
+
+  @Override
+  public void setByte(Object target, byte value) {
+    StampedLock lock = locks.get(target);
+    long stamp = lock.writeLock();
+    try {
+      delegate.setByte(target, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public boolean getBoolean(Object target) {
+    return delegate.getBoolean(target);
+  }
+
+  @Override
+  public void setBoolean(Object target, boolean value) {
+    StampedLock lock = locks.get(target);
+    long stamp = lock.writeLock();
+    try {
+      delegate.setBoolean(target, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public char getChar(Object target) {
+    return delegate.getChar(target);
+  }
+
+  @Override
+  public void setChar(Object target, char value) {
+    StampedLock lock = locks.get(target);
+    long stamp = lock.writeLock();
+    try {
+      delegate.setChar(target, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+}
@@ -0,0 +1,297 @@
+package ch.rs.reflectorgrid.core;
+
+import ch.rs.reflectorgrid.core.ReflectionHelper.ReflectionHelperException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * A {@link FieldAccessor} backed by {@link MethodHandle}s that are created once per field.
+ *
+ * <p>The typed handles are only used when the requested primitive type matches the field type
+ * exactly, so those reads and writes do not box.
+ */
+final class MethodHandleFieldAccessor implements FieldAccessor {
+
+  private static final MethodType OBJECT_GETTER = MethodType.methodType(
+      Object.class, Object.class
+  );
+  private static final MethodType OBJECT_SETTER = MethodType.methodType(
+      void.class, Object.class, Object.class
+  );
+
+  private final Class<?> type;
+  private final MethodHandle getter;
+  private final MethodHandle setter;
+  private final MethodHandle typedGetter;
+  private final MethodHandle typedSetter;
+
+  MethodHandleFieldAccessor(Field field) {
+    this.type = field.getType();
+
+    field.setAccessible(true);
+    Lookup lookup = MethodHandles.lookup();
+
+    try {
+      MethodHandle rawGetter = lookup.unreflectGetter(field);
+      if (Modifier.isStatic(field.getModifiers())) {
+        rawGetter = MethodHandles.dropArguments(rawGetter, 0, Object.class);
+      }
+      MethodHandle rawSetter = createSetter(lookup, field);
+
+      this.typedGetter = rawGetter.asType(MethodType.methodType(type, Object.class));
+      this.typedSetter = rawSetter.asType(
+          MethodType.methodType(void.class, Object.class, type)
+      );
+      this.getter = rawGetter.asType(OBJECT_GETTER);
+      this.setter = rawSetter.asType(OBJECT_SETTER);
+    } catch (ReflectiveOperationException e) {
+      throw new ReflectionHelperException(e);
+    }
+  }
+
+  private static MethodHandle createSetter(Lookup lookup, Field field)
+      throws ReflectiveOperationException {
+    if (Modifier.isFinal(field.getModifiers())) {
+      // Method handles refuse to write final fields, Field#set allows it for instance fields
+      return lookup.findVirtual(Field.class, "set", OBJECT_SETTER).bindTo(field);
+    }
+
+    MethodHandle setter = lookup.unreflectSetter(field);
+    if (Modifier.isStatic(field.getModifiers())) {
+      setter = MethodHandles.dropArguments(setter, 0, Object.class);
+    }
+    return setter;
+  }
+
+  @Override
+  public Object get(Object target) {
+    try {
+      return getter.invokeExact(target);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public void set(Object target, Object value) {
+    try {
+      setter.invokeExact(target, value);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public int getInt(Object target) {
+    if (type != int.class) {
+      return FieldAccessor.super.getInt(target);
+    }
+    try {
+      return (int) typedGetter.invokeExact(target);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public void setInt(Object target, int value) {
+    if (type != int.class) {
+      FieldAccessor.super.setInt(target, value);
+      return;
+    }
+    try {
+      typedSetter.invokeExact(target, value);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public long getLong(Object target) {
+    if (type != long.class) {
+      return FieldAccessor.super.getLong(target);
+    }
+    try {
+      return (long) typedGetter.invokeExact(target);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public void setLong(Object target, long value) {
+    if (type != long.class) {
+      FieldAccessor.super.setLong(target, value);
+      return;
+    }
+    try {
+      typedSetter.invokeExact(target, value);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public double getDouble(Object target) {
+    if (type != double.class) {
+      return FieldAccessor.super.getDouble(target);
+    }
+    try {
+      return (double) typedGetter.invokeExact(target);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public void setDouble(Object target, double value) {
+    if (type != double.class) {
+      FieldAccessor.super.setDouble(target, value);
+      return;
+    }
+    try {
+      typedSetter.invokeExact(target, value);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public float getFloat(Object target) {
+    if (type != float.class) {
+      return FieldAccessor.super.getFloat(target);
+    }
+    try {
+      return (float) typedGetter.invokeExact(target);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public void setFloat(Object target, float value) {
+    if (type != float.class) {
+      FieldAccessor.super.setFloat(target, value);
+      return;
+    }
+    try {
+      typedSetter.invokeExact(target, value);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public short getShort(Object target) {
+    if (type != short.class) {
+      return FieldAccessor.super.getShort(target);
+    }
+    try {
+      return (short) typedGetter.invokeExact(target);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public void setShort(Object target, short value) {
+    if (type != short.class) {
+      FieldAccessor.super.setShort(target, value);
+      return;
+    }
+    try {
+      typedSetter.invokeExact(target, value);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public byte getByte(Object target) {
+    if (type != byte.class) {
+      return FieldAccessor.super.getByte(target);
+    }
+    try {
+      return (byte) typedGetter.invokeExact(target);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public void setByte(Object target, byte value) {
+    if (type != byte.class) {
+      FieldAccessor.super.setByte(target, value);
+      return;
+    }
+    try {
+      typedSetter.invokeExact(target, value);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public boolean getBoolean(Object target) {
+    if (type != boolean.class) {
+      return FieldAccessor.super.getBoolean(target);
+    }
+    try {
+      return (boolean) typedGetter.invokeExact(target);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public void setBoolean(Object target, boolean value) {
+    if (type != boolean.class) {
+      FieldAccessor.super.setBoolean(target, value);
+      return;
+    }
+    try {
+      typedSetter.invokeExact(target, value);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public char getChar(Object target) {
+    if (type != char.class) {
+      return FieldAccessor.super.getChar(target);
+    }
+    try {
+      return (char) typedGetter.invokeExact(target);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  @Override
+  public void setChar(Object target, char value) {
+    if (type != char.class) {
+      FieldAccessor.super.setChar(target, value);
+      return;
+    }
+    try {
+      typedSetter.invokeExact(target, value);
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  private static RuntimeException rethrow(Throwable throwable) {
+    if (throwable instanceof RuntimeException) {
+      return (RuntimeException) throwable;
+    }
+    if (throwable instanceof Error) {
+      throw (Error) throwable;
+    }
+    return new ReflectionHelperException(throwable);
+  }
+}
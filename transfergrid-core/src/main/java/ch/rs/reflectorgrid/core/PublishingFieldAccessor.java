@@ -0,0 +1,168 @@
+package ch.rs.reflectorgrid.core;
+
+/**
+ * A {@link FieldAccessor} that publishes writes to threads reading the object concurrently.
+ *
+ * <p>Writes are preceded by a release fence, so a thread that sees the new value also sees
+ * everything written before it. Volatile writes are additionally followed by a full fence. Reads
+ * are followed by an acquire fence. Like plain writes, {@code long} and {@code double} writes are
+ * only atomic on 64 bit JVMs or if the field is declared volatile.
+ */
+class PublishingFieldAccessor implements FieldAccessor {
+
+  private final FieldAccessor delegate;
+  private final boolean volatileWrites;
+
+  /**
+   * @param delegate The accessor doing the actual reads and writes
+   * @param volatileWrites True to also order writes before all following reads
+   */
+  PublishingFieldAccessor(FieldAccessor delegate, boolean volatileWrites) {
+    this.delegate = delegate;
+    this.volatileWrites = volatileWrites;
+  }
+
+  @Override
+  public Object get(Object target) {
+    Object value = delegate.get(target);
+    Fences.acquire();
+    return value;
+  }
+
+  @Override
+  public void set(Object target, Object value) {
+    Fences.release();
+    delegate.set(target, value);
+    if (volatileWrites) {
+      Fences.full();
+    }
+  }
+
+  @Override
+  public int getInt(Object target) {
+    int value = delegate.getInt(target);
+    Fences.acquire();
+    return value;
+  }
+
+  @Override
+  public void setInt(Object target, int value) {
+    Fences.release();
+    delegate.setInt(target, value);
+    if (volatileWrites) {
+      Fences.full();
+    }
+  }
+
+  @Override
+  public long getLong(Object target) {
+    long value = delegate.getLong(target);
+    Fences.acquire();
+    return value;
+  }
+
+  @Override
+  public void setLong(Object target, long value) {
+    Fences.release();
+    delegate.setLong(target, value);
+    if (volatileWrites) {
+      Fences.full();
+    }
+  }
+
+  @Override
+  public double getDouble(Object target) {
+    double value = delegate.getDouble(target);
+    Fences.acquire();
+    return value;
+  }
+
+  @Override
+  public void setDouble(Object target, double value) {
+    Fences.release();
+    delegate.setDouble(target, value);
+    if (volatileWrites) {
+      Fences.full();
+    }
+  }
+
+  @Override
+  public float getFloat(Object target) {
+    float value = delegate.getFloat(target);
+    Fences.acquire();
+    return value;
+  }
+
+  @Override
+  public void setFloat(Object target, float value) {
+    Fences.release();
+    delegate.setFloat(target, value);
+    if (volatileWrites) {
+      Fences.full();
+    }
+  }
+
+  @Override
+  public short getShort(Object target) {
+    short value = delegate.getShort(target);
+    Fences.acquire();
+    return value;
+  }
+
+  @Override
+  public void setShort(Object target, short value) {
+    Fences.release();
+    delegate.setShort(target, value);
+    if (volatileWrites) {
+      Fences.full();
+    }
+  }
+
+  @Override
+  public byte getByte(Object target) {
+    byte value = delegate.getByte(target);
+    Fences.acquire();
+    return value;
+  }
+
+  @Override
+  public void setByte(Object target, byte value) {
+    Fences.release();
+    delegate.setByte(target, value);
+    if (volatileWrites) {
+      Fences.full();
+    }
+  }
+
+  @Override
+  public boolean getBoolean(Object target) {
+    boolean value = delegate.getBoolean(target);
+    Fences.acquire();
+    return value;
+  }
+
+  @Override
+  public void setBoolean(Object target, boolean value) {
+    Fences.release();
+    delegate.setBoolean(target, value);
+    if (volatileWrites) {
+      Fences.full();
+    }
+  }
+
+  @Override
+  public char getChar(Object target) {
+    char value = delegate.getChar(target);
+    Fences.acquire();
+    return value;
+  }
+
+  @Override
+  public void setChar(Object target, char value) {
+    Fences.release();
+    delegate.setChar(target, value);
+    if (volatileWrites) {
+      Fences.full();
+    }
+  }
+}
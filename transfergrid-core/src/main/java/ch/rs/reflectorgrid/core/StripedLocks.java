@@ -0,0 +1,77 @@
+package ch.rs.reflectorgrid.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A fixed number of {@link StampedLock}s shared by all objects. Each object maps to one of them
+ * by its identity hash code, so objects need no lock of their own and unrelated objects rarely
+ * contend.
+ *
+ * <p>Set with {@code ReflectorGridV2#setStripedLocks(StripedLocks)}, every write of the grid holds
+ * the write lock of the written object. Backend threads that update several fields at once hold
+ * the same lock, so {@link FieldSnapshot#read(Object, StripedLocks)} never sees a partial update.
+ */
+public class StripedLocks {
+
+  private final StampedLock[] locks;
+  private final int mask;
+
+  /**
+   * @param stripeCount The number of locks, rounded up to a power of two
+   */
+  public StripedLocks(int stripeCount) {
+    if (stripeCount <= 0 || stripeCount > 1 << 16) {
+      throw new IllegalArgumentException("Stripe count out of range: " + stripeCount);
+    }
+
+    int size = Integer.highestOneBit(stripeCount);
+    if (size < stripeCount) {
+      size <<= 1;
+    }
+
+    this.locks = new StampedLock[size];
+    this.mask = size - 1;
+    for (int i = 0; i < size; i++) {
+      locks[i] = new StampedLock();
+    }
+  }
+
+  /**
+   * @param object The object to get the lock for
+   * @return The lock guarding the object
+   */
+  public StampedLock get(Object object) {
+    return locks[indexOf(object)];
+  }
+
+  /**
+   * Returns the locks for writing several objects at once. Objects sharing a lock get it once, as
+   * the locks are not reentrant.
+   *
+   * @param objects The objects to get the locks for
+   * @return The locks guarding the objects, always in the same order, so threads taking them in
+   *     this order can not deadlock
+   */
+  public List<StampedLock> getAll(Collection<?> objects) {
+    BitSet stripes = new BitSet(locks.length);
+    for (Object object : objects) {
+      stripes.set(indexOf(object));
+    }
+
+    List<StampedLock> result = new ArrayList<>(stripes.cardinality());
+    for (int i = stripes.nextSetBit(0); i >= 0; i = stripes.nextSetBit(i + 1)) {
+      result.add(locks[i]);
+    }
+    return result;
+  }
+
+  private int indexOf(Object object) {
+    int hash = System.identityHashCode(object);
+    // identity hashes are not guaranteed to vary in the low bits
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+}
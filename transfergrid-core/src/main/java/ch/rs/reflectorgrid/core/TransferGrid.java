@@ -19,7 +19,7 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE
  **/
 
-package ch.rs.reflectorgrid;
+package ch.rs.reflectorgrid.core;
 
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
@@ -28,7 +28,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * This annotation is supposed to be used in conjunction with {@link ReflectorGrid}. It is used to
+ * This annotation is supposed to be used in conjunction with {@code ReflectorGrid}. It is used to
  * set different options during the creation of the grid.
  *
  * @author Ricardo S., RS
@@ -45,6 +45,35 @@ public @interface TransferGrid {
     TEXT_FIELD, TEXT_AREA
   }
 
+  /**
+   * This defines when the text entered by the user is converted and written to the variable.
+   *
+   * <p>ComboBoxes always write the selected option immediately.
+   */
+  enum CommitPolicy {
+    /**
+     * Uses the commit policy set on the grid.
+     */
+    GRID_DEFAULT,
+    /**
+     * Every change is written immediately.
+     */
+    ON_CHANGE,
+    /**
+     * The text is written when Enter is pressed. In a TextArea Ctrl+Enter has to be used instead.
+     */
+    ON_ENTER,
+    /**
+     * The text is written when the field loses the focus.
+     */
+    ON_FOCUS_LOST,
+    /**
+     * Changes are collected and written once the user stopped typing for a short while, or when
+     * the field loses the focus.
+     */
+    DEBOUNCED
+  }
+
   /**
    * This defines if a variable is write and read or read only. default is set to true.
    *
@@ -79,4 +108,11 @@ public @interface TransferGrid {
    */
   FieldType fieldtype() default FieldType.TEXT_FIELD;
 
+  /**
+   * This defines when the entered text is written to the variable.
+   *
+   * <p>Default value is {@link CommitPolicy#GRID_DEFAULT}, which uses the policy set on the grid.
+   */
+  CommitPolicy commitPolicy() default CommitPolicy.GRID_DEFAULT;
+
 }
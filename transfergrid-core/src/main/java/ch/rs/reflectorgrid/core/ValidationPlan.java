@@ -0,0 +1,406 @@
+package ch.rs.reflectorgrid.core;
+
+import ch.rs.reflectorgrid.core.ReflectionHelper.ReflectionHelperException;
+import ch.rs.reflectorgrid.core.validation.CrossFieldRule;
+import ch.rs.reflectorgrid.core.validation.CrossFieldValidator;
+import ch.rs.reflectorgrid.core.validation.Length;
+import ch.rs.reflectorgrid.core.validation.Matches;
+import ch.rs.reflectorgrid.core.validation.NotNull;
+import ch.rs.reflectorgrid.core.validation.Range;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The validation annotations of a class, compiled once and cached per class.
+ *
+ * <p>Patterns and bounds are prepared when the plan is created. For every field the plan knows
+ * the {@link CrossFieldRule}s that read it, so a change only evaluates the rules depending on the
+ * changed field.
+ */
+public final class ValidationPlan {
+
+  private static final FieldRule[] NO_RULES = new FieldRule[0];
+
+  private static final ClassValue<ValidationPlan> CACHE = new ClassValue<ValidationPlan>() {
+    @Override
+    protected ValidationPlan computeValue(Class<?> type) {
+      return new ValidationPlan(ClassMetadata.forClass(type));
+    }
+  };
+
+  private final FieldRule[][] fieldRules;
+  private final CrossFieldValidator[] crossRules;
+  private final String[] crossRuleMessages;
+  private final int[][] crossRuleFields;
+  private final int[][] dependentRules;
+
+  private ValidationPlan(ClassMetadata metadata) {
+    List<FieldMetadata> fields = metadata.getFields();
+
+    this.fieldRules = new FieldRule[fields.size()][];
+    for (int i = 0; i < fields.size(); i++) {
+      FieldMetadata field = fields.get(i);
+      fieldRules[i] = field.isConstrained() ? compileFieldRules(field.getField()) : NO_RULES;
+    }
+
+    List<CrossFieldRule> rules = new ArrayList<>();
+    for (Class<?> type = metadata.getType(); type != null; type = type.getSuperclass()) {
+      for (CrossFieldRule rule : type.getDeclaredAnnotationsByType(CrossFieldRule.class)) {
+        rules.add(rule);
+      }
+    }
+
+    this.crossRules = new CrossFieldValidator[rules.size()];
+    this.crossRuleMessages = new String[rules.size()];
+    this.crossRuleFields = new int[rules.size()][];
+    List<List<Integer>> dependents = new ArrayList<>();
+    for (int i = 0; i < fields.size(); i++) {
+      dependents.add(new ArrayList<>());
+    }
+
+    for (int rule = 0; rule < rules.size(); rule++) {
+      CrossFieldRule annotation = rules.get(rule);
+      crossRules[rule] = createValidator(annotation.validator());
+      crossRuleMessages[rule] = annotation.message().isEmpty()
+          ? "Invalid combination of " + String.join(", ", annotation.fields())
+          : annotation.message();
+
+      crossRuleFields[rule] = new int[annotation.fields().length];
+      for (int i = 0; i < annotation.fields().length; i++) {
+        int index = indexOf(fields, annotation.fields()[i]);
+        crossRuleFields[rule][i] = index;
+        dependents.get(index).add(rule);
+      }
+    }
+
+    this.dependentRules = new int[fields.size()][];
+    for (int i = 0; i < fields.size(); i++) {
+      dependentRules[i] = dependents.get(i).stream().mapToInt(Integer::intValue).toArray();
+    }
+  }
+
+  /**
+   * @param type The class to get the plan for
+   * @return The (cached) plan of the class
+   */
+  public static ValidationPlan forClass(Class<?> type) {
+    return CACHE.get(type);
+  }
+
+  /**
+   * @return True if the class has no validation annotations
+   */
+  public boolean isEmpty() {
+    if (crossRules.length > 0) {
+      return false;
+    }
+    for (FieldRule[] rules : fieldRules) {
+      if (rules.length > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param index The index of the field
+   * @return True if values written to the field have to be checked
+   */
+  public boolean hasFieldRules(int index) {
+    return fieldRules[index].length > 0;
+  }
+
+  /**
+   * @param index The index of the field
+   * @param valueKind The value kind of the field
+   * @param bits The value of the primitive field
+   * @return The message of the first failed rule or null if the value is valid
+   */
+  public String checkBits(int index, ValueKind valueKind, long bits) {
+    for (FieldRule rule : fieldRules[index]) {
+      String message = rule.checkBits(valueKind, bits);
+      if (message != null) {
+        return message;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param index The index of the field
+   * @param value The value of the reference field
+   * @return The message of the first failed rule or null if the value is valid
+   */
+  public String check(int index, Object value) {
+    for (FieldRule rule : fieldRules[index]) {
+      String message = rule.check(value);
+      if (message != null) {
+        return message;
+      }
+    }
+    return null;
+  }
+
+  public int getCrossRuleCount() {
+    return crossRules.length;
+  }
+
+  /**
+   * @param index The index of the field
+   * @return The indices of the cross field rules reading the field
+   */
+  public int[] getDependentRules(int index) {
+    return dependentRules[index];
+  }
+
+  /**
+   * @param rule The index of the cross field rule
+   * @return The indices of the fields the rule reads
+   */
+  public int[] getRuleFields(int rule) {
+    return crossRuleFields[rule];
+  }
+
+  /**
+   * @param rule The index of the cross field rule
+   * @param object The object to check
+   * @return The message of the rule if it failed or null if it passed
+   */
+  public String evaluate(int rule, Object object) {
+    return crossRules[rule].isValid(object) ? null : crossRuleMessages[rule];
+  }
+
+  private static FieldRule[] compileFieldRules(Field field) {
+    List<FieldRule> rules = new ArrayList<>();
+
+    NotNull notNull = field.getAnnotation(NotNull.class);
+    if (notNull != null) {
+      rules.add(new NotNullRule(notNull.message()));
+    }
+
+    Range range = field.getAnnotation(Range.class);
+    if (range != null) {
+      Class<?> type = field.getType();
+      if (!(type.isPrimitive() && type != boolean.class) && !Number.class.isAssignableFrom(type)) {
+        throw new IllegalArgumentException("@Range needs a numeric field: " + field);
+      }
+      rules.add(new RangeRule(range));
+    }
+
+    Length length = field.getAnnotation(Length.class);
+    if (length != null) {
+      rules.add(new LengthRule(length));
+    }
+
+    Matches matches = field.getAnnotation(Matches.class);
+    if (matches != null) {
+      rules.add(new MatchesRule(matches));
+    }
+
+    return rules.toArray(NO_RULES);
+  }
+
+  private static int indexOf(List<FieldMetadata> fields, String name) {
+    for (int i = 0; i < fields.size(); i++) {
+      if (fields.get(i).getName().equals(name)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("Cross field rule refers to unknown field: " + name);
+  }
+
+  private static CrossFieldValidator createValidator(Class<? extends CrossFieldValidator> type) {
+    try {
+      return type.getConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new ReflectionHelperException(e);
+    }
+  }
+
+  /**
+   * Formats a bound without a trailing ".0" for whole numbers.
+   */
+  private static String formatBound(double bound) {
+    if (bound == Math.rint(bound) && Math.abs(bound) < 1e15) {
+      return Long.toString((long) bound);
+    }
+    return Double.toString(bound);
+  }
+
+  /**
+   * A constraint on the value of a single field.
+   */
+  private abstract static class FieldRule {
+
+    /**
+     * @param valueKind The value kind of the primitive field
+     * @param bits The value as returned by {@link ValueKind#readBits(FieldAccessor, Object)}
+     * @return The message if the value is invalid or null
+     */
+    String checkBits(ValueKind valueKind, long bits) {
+      return check(valueKind.box(bits));
+    }
+
+    /**
+     * @param value The value of the field
+     * @return The message if the value is invalid or null
+     */
+    abstract String check(Object value);
+  }
+
+  private static final class NotNullRule extends FieldRule {
+
+    private final String message;
+
+    NotNullRule(String message) {
+      this.message = message;
+    }
+
+    @Override
+    String checkBits(ValueKind valueKind, long bits) {
+      return null;
+    }
+
+    @Override
+    String check(Object value) {
+      return value == null ? message : null;
+    }
+  }
+
+  private static final class RangeRule extends FieldRule {
+
+    private final double min;
+    private final double max;
+    private final long integralMin;
+    private final long integralMax;
+    private final String message;
+
+    RangeRule(Range range) {
+      this.min = range.min();
+      this.max = range.max();
+      // the closest integral bounds, so integral values are compared without conversion
+      this.integralMin = min <= Long.MIN_VALUE ? Long.MIN_VALUE : (long) Math.ceil(min);
+      this.integralMax = max >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) Math.floor(max);
+
+      if (!range.message().isEmpty()) {
+        this.message = range.message();
+      } else if (min == Double.NEGATIVE_INFINITY) {
+        this.message = "Must be at most " + formatBound(max);
+      } else if (max == Double.POSITIVE_INFINITY) {
+        this.message = "Must be at least " + formatBound(min);
+      } else {
+        this.message = "Must be between " + formatBound(min) + " and " + formatBound(max);
+      }
+    }
+
+    @Override
+    String checkBits(ValueKind valueKind, long bits) {
+      switch (valueKind) {
+        case DOUBLE:
+          return checkDouble(Double.longBitsToDouble(bits));
+        case FLOAT:
+          return checkDouble(Float.intBitsToFloat((int) bits));
+        default:
+          return checkLong(bits);
+      }
+    }
+
+    @Override
+    String check(Object value) {
+      if (value == null) {
+        return null;
+      }
+
+      Number number = (Number) value;
+      if (number instanceof Double || number instanceof Float || number instanceof BigDecimal
+          || number instanceof BigInteger) {
+        return checkDouble(number.doubleValue());
+      }
+      return checkLong(number.longValue());
+    }
+
+    private String checkLong(long value) {
+      return value >= integralMin && value <= integralMax ? null : message;
+    }
+
+    private String checkDouble(double value) {
+      // NaN is never in range
+      return value >= min && value <= max ? null : message;
+    }
+  }
+
+  private static final class LengthRule extends FieldRule {
+
+    private final int min;
+    private final int max;
+    private final String message;
+
+    LengthRule(Length length) {
+      this.min = length.min();
+      this.max = length.max();
+
+      if (!length.message().isEmpty()) {
+        this.message = length.message();
+      } else if (max == Integer.MAX_VALUE) {
+        this.message = "Must have at least " + min + " characters";
+      } else {
+        this.message = "Must have " + min + " to " + max + " characters";
+      }
+    }
+
+    @Override
+    String check(Object value) {
+      int length;
+      if (value == null) {
+        return null;
+      } else if (value instanceof CharSequence) {
+        length = ((CharSequence) value).length();
+      } else if (value instanceof Collection) {
+        length = ((Collection<?>) value).size();
+      } else if (value instanceof Map) {
+        length = ((Map<?, ?>) value).size();
+      } else if (value.getClass().isArray()) {
+        length = Array.getLength(value);
+      } else {
+        length = value.toString().length();
+      }
+
+      return length >= min && length <= max ? null : message;
+    }
+  }
+
+  private static final class MatchesRule extends FieldRule {
+
+    /**
+     * Only the compiled pattern is shared, plans are cached per class and used by all threads.
+     */
+    private final Pattern pattern;
+    private final String message;
+
+    MatchesRule(Matches matches) {
+      this.pattern = Pattern.compile(matches.value());
+      this.message = matches.message().isEmpty()
+          ? "Must match " + matches.value()
+          : matches.message();
+    }
+
+    @Override
+    String check(Object value) {
+      if (value == null) {
+        return null;
+      }
+
+      CharSequence text = value instanceof CharSequence
+          ? (CharSequence) value
+          : value.toString();
+      return pattern.matcher(text).matches() ? null : message;
+    }
+  }
+}
@@ -0,0 +1,213 @@
+package ch.rs.reflectorgrid.core;
+
+/**
+ * How the value of a field is stored. Primitive values can be read into a {@code long} without
+ * boxing, which allows cheap snapshots of whole objects.
+ */
+public enum ValueKind {
+  OBJECT {
+    @Override
+    public long readBits(FieldAccessor accessor, Object target) {
+      throw new UnsupportedOperationException("Object fields have no primitive bits");
+    }
+
+    @Override
+    public void writeBits(FieldAccessor accessor, Object target, long bits) {
+      throw new UnsupportedOperationException("Object fields have no primitive bits");
+    }
+  },
+  INT {
+    @Override
+    public long readBits(FieldAccessor accessor, Object target) {
+      return accessor.getInt(target);
+    }
+
+    @Override
+    public void writeBits(FieldAccessor accessor, Object target, long bits) {
+      accessor.setInt(target, (int) bits);
+    }
+  },
+  LONG {
+    @Override
+    public long readBits(FieldAccessor accessor, Object target) {
+      return accessor.getLong(target);
+    }
+
+    @Override
+    public void writeBits(FieldAccessor accessor, Object target, long bits) {
+      accessor.setLong(target, bits);
+    }
+  },
+  DOUBLE {
+    @Override
+    public long readBits(FieldAccessor accessor, Object target) {
+      return Double.doubleToLongBits(accessor.getDouble(target));
+    }
+
+    @Override
+    public void writeBits(FieldAccessor accessor, Object target, long bits) {
+      accessor.setDouble(target, Double.longBitsToDouble(bits));
+    }
+  },
+  FLOAT {
+    @Override
+    public long readBits(FieldAccessor accessor, Object target) {
+      return Float.floatToIntBits(accessor.getFloat(target));
+    }
+
+    @Override
+    public void writeBits(FieldAccessor accessor, Object target, long bits) {
+      accessor.setFloat(target, Float.intBitsToFloat((int) bits));
+    }
+  },
+  SHORT {
+    @Override
+    public long readBits(FieldAccessor accessor, Object target) {
+      return accessor.getShort(target);
+    }
+
+    @Override
+    public void writeBits(FieldAccessor accessor, Object target, long bits) {
+      accessor.setShort(target, (short) bits);
+    }
+  },
+  BYTE {
+    @Override
+    public long readBits(FieldAccessor accessor, Object target) {
+      return accessor.getByte(target);
+    }
+
+    @Override
+    public void writeBits(FieldAccessor accessor, Object target, long bits) {
+      accessor.setByte(target, (byte) bits);
+    }
+  },
+  BOOLEAN {
+    @Override
+    public long readBits(FieldAccessor accessor, Object target) {
+      return accessor.getBoolean(target) ? 1 : 0;
+    }
+
+    @Override
+    public void writeBits(FieldAccessor accessor, Object target, long bits) {
+      accessor.setBoolean(target, bits != 0);
+    }
+  },
+  CHAR {
+    @Override
+    public long readBits(FieldAccessor accessor, Object target) {
+      return accessor.getChar(target);
+    }
+
+    @Override
+    public void writeBits(FieldAccessor accessor, Object target, long bits) {
+      accessor.setChar(target, (char) bits);
+    }
+  };
+
+  /**
+   * Reads a primitive value. Floating point values are stored as their bits, so NaN is equal to
+   * itself.
+   *
+   * @param accessor The accessor of the field
+   * @param target The object to read the field of
+   * @return The value of the field as a long
+   */
+  public abstract long readBits(FieldAccessor accessor, Object target);
+
+  /**
+   * Writes a primitive value that was read with {@link #readBits(FieldAccessor, Object)}.
+   *
+   * @param accessor The accessor of the field
+   * @param target The object to write the field of
+   * @param bits The value as returned by {@link #readBits(FieldAccessor, Object)}
+   */
+  public abstract void writeBits(FieldAccessor accessor, Object target, long bits);
+
+  /**
+   * @param bits The value as returned by {@link #readBits(FieldAccessor, Object)}
+   * @return The boxed value
+   */
+  public Object box(long bits) {
+    switch (this) {
+      case INT:
+        return (int) bits;
+      case LONG:
+        return bits;
+      case DOUBLE:
+        return Double.longBitsToDouble(bits);
+      case FLOAT:
+        return Float.intBitsToFloat((int) bits);
+      case SHORT:
+        return (short) bits;
+      case BYTE:
+        return (byte) bits;
+      case BOOLEAN:
+        return bits != 0;
+      case CHAR:
+        return (char) bits;
+      default:
+        throw new UnsupportedOperationException("Object fields have no primitive bits");
+    }
+  }
+
+  /**
+   * @param value The boxed value
+   * @return The value in the format of {@link #readBits(FieldAccessor, Object)}
+   */
+  public long unbox(Object value) {
+    switch (this) {
+      case DOUBLE:
+        return Double.doubleToLongBits(((Number) value).doubleValue());
+      case FLOAT:
+        return Float.floatToIntBits(((Number) value).floatValue());
+      case BOOLEAN:
+        return (Boolean) value ? 1 : 0;
+      case CHAR:
+        return (Character) value;
+      case OBJECT:
+        throw new UnsupportedOperationException("Object fields have no primitive bits");
+      default:
+        return ((Number) value).longValue();
+    }
+  }
+
+  /**
+   * @return True if values of this kind are read with {@link #readBits(FieldAccessor, Object)}
+   */
+  public boolean isPrimitive() {
+    return this != OBJECT;
+  }
+
+  /**
+   * @param type The type of the field
+   * @return The value kind of the type
+   */
+  public static ValueKind forType(Class<?> type) {
+    if (!type.isPrimitive()) {
+      return OBJECT;
+    }
+    if (type == int.class) {
+      return INT;
+    }
+    if (type == long.class) {
+      return LONG;
+    }
+    if (type == double.class) {
+      return DOUBLE;
+    }
+    if (type == float.class) {
+      return FLOAT;
+    }
+    if (type == short.class) {
+      return SHORT;
+    }
+    if (type == byte.class) {
+      return BYTE;
+    }
+    if (type == boolean.class) {
+      return BOOLEAN;
+    }
+    return CHAR;
+  }
+}
@@ -0,0 +1,14 @@
+package ch.rs.reflectorgrid.core.typeconversion;
+
+/**
+ * Thrown when a converter can not convert a string, e.g. because the user has only typed a part
+ * of a number so far.
+ */
+public class ConversionException extends IllegalArgumentException {
+
+  private static final long serialVersionUID = 1L;
+
+  public ConversionException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
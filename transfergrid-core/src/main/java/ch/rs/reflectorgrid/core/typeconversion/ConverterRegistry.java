@@ -0,0 +1,238 @@
+package ch.rs.reflectorgrid.core.typeconversion;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contains the {@link ValueConverter}s used to display and parse field values. It does not depend
+ * on any UI toolkit, so it can be used in headless processes as well.
+ */
+public class ConverterRegistry {
+
+  /**
+   * Cached for classes without a converter, as the cache can not contain null.
+   */
+  private static final ValueConverter<Object> NO_CONVERTER = new ValueConverter<Object>() {
+    @Override
+    public String toString(Object value) {
+      return null;
+    }
+
+    @Override
+    public Object fromString(String string) {
+      return null;
+    }
+  };
+
+  private Map<Class<?>, ValueConverter<?>> converterMap;
+  private Map<Class<?>, FieldCodec> primitiveCodecs;
+  private volatile Map<Class<?>, ValueConverter<?>> resolvedConverters;
+  private volatile int modificationCount;
+
+  public ConverterRegistry() {
+    converterMap = new HashMap<>();
+
+    converterMap.put(Byte.class, StandardConverter.BYTE);
+    converterMap.put(Byte.TYPE, StandardConverter.BYTE);
+    converterMap.put(Short.class, StandardConverter.SHORT);
+    converterMap.put(Short.TYPE, StandardConverter.SHORT);
+    converterMap.put(Integer.class, StandardConverter.INTEGER);
+    converterMap.put(Integer.TYPE, StandardConverter.INTEGER);
+    converterMap.put(Long.class, StandardConverter.LONG);
+    converterMap.put(Long.TYPE, StandardConverter.LONG);
+    converterMap.put(Float.class, StandardConverter.FLOAT);
+    converterMap.put(Float.TYPE, StandardConverter.FLOAT);
+    converterMap.put(Double.class, StandardConverter.DOUBLE);
+    converterMap.put(Double.TYPE, StandardConverter.DOUBLE);
+
+    converterMap.put(BigDecimal.class, StandardConverter.BIG_DECIMAL);
+    converterMap.put(Boolean.class, StandardConverter.BOOLEAN);
+    converterMap.put(Boolean.TYPE, StandardConverter.BOOLEAN);
+    converterMap.put(StringBuilder.class, StandardConverter.STRING_BUILDER);
+
+    resolvedConverters = new ConcurrentHashMap<>();
+
+    primitiveCodecs = new HashMap<>();
+    for (PrimitiveCodec codec : PrimitiveCodec.values()) {
+      primitiveCodecs.put(codec.getType(), codec);
+    }
+  }
+
+  /**
+   * Adds a converter for a class. It is also used for subclasses and implementations of the class
+   * that have no converter of their own.
+   *
+   * <p>Converters must be added before the registry is used from multiple threads.
+   *
+   * @param clazz The class to add the converter for
+   * @param converter The converter
+   * @param <T> The type of the class
+   */
+  public <T> void addConverter(Class<T> clazz, ValueConverter<T> converter) {
+    converterMap.put(clazz, converter);
+    primitiveCodecs.remove(clazz);
+    // resolutions of other classes might have used a converter of a superclass
+    resolvedConverters = new ConcurrentHashMap<>();
+    modificationCount++;
+  }
+
+  /**
+   * Returns the {@link FieldCodec} for a type. Primitive types use a {@link PrimitiveCodec}, unless
+   * a converter was added for them with {@link #addConverter(Class, ValueConverter)}. All other
+   * types use their {@link ValueConverter}.
+   *
+   * <p>If no converter is registered, the returned codec formats values using their
+   * {@link Object#toString()} and throws an {@link IllegalArgumentException} when parsing.
+   *
+   * @param clazz The class to get the codec for
+   * @return The codec for the class
+   */
+  public FieldCodec getCodec(Class<?> clazz) {
+    FieldCodec primitiveCodec = primitiveCodecs.get(clazz);
+    if (primitiveCodec != null) {
+      return primitiveCodec;
+    }
+    return new ValueConverterCodec(clazz, getValueConverter(clazz));
+  }
+
+  /**
+   * Returns a number that changes every time a converter is added. This allows callers to cache
+   * the result of {@link #getValueConverter(Class)} and {@link #getCodec(Class)}.
+   *
+   * @return The modification count of this registry
+   */
+  public int getModificationCount() {
+    return modificationCount;
+  }
+
+  /**
+   * Returns the converter for a class. If no converter was added for the class itself, the
+   * converters of its superclasses and then its interfaces are used. Enums without a converter are
+   * converted using their constant names.
+   *
+   * <p>The resolved converter is cached per class until the next call to {@link
+   * #addConverter(Class, ValueConverter)}, so repeated lookups are a single map read.
+   *
+   * @param clazz The class to get the converter for
+   * @param <T> The type of the class
+   * @return The converter used for the class or null if none is registered
+   */
+  public <T> ValueConverter<T> getValueConverter(Class<T> clazz) {
+    Map<Class<?>, ValueConverter<?>> cache = resolvedConverters;
+    ValueConverter<?> converter = cache.get(clazz);
+
+    if (converter == null) {
+      converter = resolveConverter(clazz);
+      cache.put(clazz, converter == null ? NO_CONVERTER : converter);
+    }
+
+    if (converter == NO_CONVERTER) {
+      return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    ValueConverter<T> valueConverter = (ValueConverter<T>) converter;
+    return valueConverter;
+  }
+
+  private ValueConverter<?> resolveConverter(Class<?> clazz) {
+    // fields declared as CharSequence hold strings, but implementations like StringBuffer can not
+    if (String.class.isAssignableFrom(clazz) || clazz == CharSequence.class) {
+      return StandardConverter.STRING;
+    }
+
+    for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+      ValueConverter<?> converter = converterMap.get(current);
+      if (converter != null) {
+        return converter;
+      }
+    }
+
+    Set<Class<?>> visited = new HashSet<>();
+    Deque<Class<?>> interfaces = new ArrayDeque<>();
+    for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+      interfaces.addAll(Arrays.asList(current.getInterfaces()));
+    }
+
+    // breadth first, so the interfaces closest to the class win
+    while (!interfaces.isEmpty()) {
+      Class<?> current = interfaces.poll();
+      if (!visited.add(current)) {
+        continue;
+      }
+
+      ValueConverter<?> converter = converterMap.get(current);
+      if (converter != null) {
+        return converter;
+      }
+      interfaces.addAll(Arrays.asList(current.getInterfaces()));
+    }
+
+    Class<?> enumType = getEnumType(clazz);
+    if (enumType != null) {
+      return createEnumConverter(enumType);
+    }
+
+    return null;
+  }
+
+  /**
+   * @param clazz The class to check
+   * @return The enum type or null if the class is no enum. Constants with a body have an anonymous
+   *     subclass of the enum as their class.
+   */
+  private static Class<?> getEnumType(Class<?> clazz) {
+    if (clazz.isEnum()) {
+      return clazz;
+    }
+    Class<?> superclass = clazz.getSuperclass();
+    if (superclass != null && superclass.isEnum()) {
+      return superclass;
+    }
+    return null;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static ValueConverter<?> createEnumConverter(Class<?> enumType) {
+    return new EnumConverter(enumType);
+  }
+
+  public <T> String toString(Class<T> clazz, T object) {
+    if (object == null) {
+      return "";
+    }
+
+    if (object instanceof String) {
+      return (String) object;
+    }
+
+    ValueConverter<T> valueConverter = getValueConverter(clazz);
+
+    if (valueConverter == null) {
+      throw new IllegalArgumentException("No converter registered for class " + clazz);
+    }
+
+    return valueConverter.toString(object);
+  }
+
+  public <T> T fromString(Class<T> clazz, String string) {
+    if (string == null) {
+      return null;
+    }
+
+    ValueConverter<T> valueConverter = getValueConverter(clazz);
+
+    if (valueConverter == null) {
+      throw new IllegalArgumentException("No converter registered for class " + clazz);
+    }
+
+    return valueConverter.fromString(string);
+  }
+}
@@ -0,0 +1,35 @@
+package ch.rs.reflectorgrid.core.typeconversion;
+
+/**
+ * Converts enum constants to and from their {@link Enum#name()}. Used for enums that have no
+ * converter of their own.
+ *
+ * @param <T> The type of the enum
+ */
+class EnumConverter<T extends Enum<T>> implements ValueConverter<T> {
+
+  private final Class<T> type;
+
+  EnumConverter(Class<T> type) {
+    this.type = type;
+  }
+
+  @Override
+  public String toString(T object) {
+    return object == null ? "" : object.name();
+  }
+
+  @Override
+  public T fromString(String string) {
+    if (string == null) {
+      return null;
+    }
+
+    String trimmed = string.trim();
+    if (trimmed.isEmpty()) {
+      return null;
+    }
+
+    return Enum.valueOf(type, trimmed);
+  }
+}
@@ -0,0 +1,30 @@
+package ch.rs.reflectorgrid.core.typeconversion;
+
+import ch.rs.reflectorgrid.core.FieldAccessor;
+
+/**
+ * Converts between the text in a control and the value of a field, reading and writing the field
+ * itself. This allows codecs for primitive types to work without creating wrapper objects.
+ */
+public interface FieldCodec {
+
+  /**
+   * Appends the value of the field to the buffer.
+   *
+   * @param target The object to read the field from
+   * @param accessor The accessor of the field
+   * @param buffer The buffer to append the text to
+   */
+  void format(Object target, FieldAccessor accessor, StringBuilder buffer);
+
+  /**
+   * Parses the text and writes the result to the field.
+   *
+   * @param text The text to parse
+   * @param target The object to write the field to
+   * @param accessor The accessor of the field
+   * @throws ConversionException if the text can not be converted
+   * @throws IllegalArgumentException if the type of the field is not supported at all
+   */
+  void parse(CharSequence text, Object target, FieldAccessor accessor);
+}
@@ -0,0 +1,275 @@
+package ch.rs.reflectorgrid.core.typeconversion;
+
+import ch.rs.reflectorgrid.core.FieldAccessor;
+
+/**
+ * {@link FieldCodec}s for primitive fields. They parse directly from the {@link CharSequence} and
+ * use the primitive methods of the {@link FieldAccessor}, so no wrapper objects are created.
+ *
+ * <p>Surrounding whitespace is ignored, like the {@link ValueConverter}s for the boxed types do.
+ */
+public enum PrimitiveCodec implements FieldCodec {
+  INT(Integer.TYPE) {
+    @Override
+    public void format(Object target, FieldAccessor accessor, StringBuilder buffer) {
+      buffer.append(accessor.getInt(target));
+    }
+
+    @Override
+    public void parse(CharSequence text, Object target, FieldAccessor accessor) {
+      accessor.setInt(target, parseInt(text));
+    }
+  },
+  LONG(Long.TYPE) {
+    @Override
+    public void format(Object target, FieldAccessor accessor, StringBuilder buffer) {
+      buffer.append(accessor.getLong(target));
+    }
+
+    @Override
+    public void parse(CharSequence text, Object target, FieldAccessor accessor) {
+      accessor.setLong(target, parseLong(text));
+    }
+  },
+  SHORT(Short.TYPE) {
+    @Override
+    public void format(Object target, FieldAccessor accessor, StringBuilder buffer) {
+      buffer.append(accessor.getShort(target));
+    }
+
+    @Override
+    public void parse(CharSequence text, Object target, FieldAccessor accessor) {
+      accessor.setShort(target, parseShort(text));
+    }
+  },
+  BYTE(Byte.TYPE) {
+    @Override
+    public void format(Object target, FieldAccessor accessor, StringBuilder buffer) {
+      buffer.append(accessor.getByte(target));
+    }
+
+    @Override
+    public void parse(CharSequence text, Object target, FieldAccessor accessor) {
+      accessor.setByte(target, parseByte(text));
+    }
+  },
+  DOUBLE(Double.TYPE) {
+    @Override
+    public void format(Object target, FieldAccessor accessor, StringBuilder buffer) {
+      buffer.append(accessor.getDouble(target));
+    }
+
+    @Override
+    public void parse(CharSequence text, Object target, FieldAccessor accessor) {
+      accessor.setDouble(target, parseDouble(text));
+    }
+  },
+  FLOAT(Float.TYPE) {
+    @Override
+    public void format(Object target, FieldAccessor accessor, StringBuilder buffer) {
+      buffer.append(accessor.getFloat(target));
+    }
+
+    @Override
+    public void parse(CharSequence text, Object target, FieldAccessor accessor) {
+      accessor.setFloat(target, parseFloat(text));
+    }
+  },
+  BOOLEAN(Boolean.TYPE) {
+    @Override
+    public void format(Object target, FieldAccessor accessor, StringBuilder buffer) {
+      buffer.append(accessor.getBoolean(target));
+    }
+
+    @Override
+    public void parse(CharSequence text, Object target, FieldAccessor accessor) {
+      accessor.setBoolean(target, parseBoolean(text));
+    }
+  };
+
+  private final Class<?> type;
+
+  PrimitiveCodec(Class<?> type) {
+    this.type = type;
+  }
+
+  /**
+   * @return The primitive type handled by this codec
+   */
+  public Class<?> getType() {
+    return type;
+  }
+
+  /**
+   * @param type The primitive type
+   * @return The codec for the type or null if there is none
+   */
+  public static PrimitiveCodec forType(Class<?> type) {
+    for (PrimitiveCodec codec : values()) {
+      if (codec.type == type) {
+        return codec;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param text The text to parse
+   * @return The parsed int
+   * @throws ConversionException if the text is no valid int
+   */
+  public static int parseInt(CharSequence text) {
+    return (int) parseIntegral(text, Integer.MIN_VALUE, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param text The text to parse
+   * @return The parsed long
+   * @throws ConversionException if the text is no valid long
+   */
+  public static long parseLong(CharSequence text) {
+    return parseIntegral(text, Long.MIN_VALUE, Long.MAX_VALUE);
+  }
+
+  /**
+   * @param text The text to parse
+   * @return The parsed short
+   * @throws ConversionException if the text is no valid short
+   */
+  public static short parseShort(CharSequence text) {
+    return (short) parseIntegral(text, Short.MIN_VALUE, Short.MAX_VALUE);
+  }
+
+  /**
+   * @param text The text to parse
+   * @return The parsed byte
+   * @throws ConversionException if the text is no valid byte
+   */
+  public static byte parseByte(CharSequence text) {
+    return (byte) parseIntegral(text, Byte.MIN_VALUE, Byte.MAX_VALUE);
+  }
+
+  /**
+   * The JDK can only parse floating point numbers from a String, so other {@link CharSequence}s
+   * are copied first.
+   *
+   * @param text The text to parse
+   * @return The parsed double
+   * @throws ConversionException if the text is no valid double
+   */
+  public static double parseDouble(CharSequence text) {
+    try {
+      return Double.parseDouble(text.toString());
+    } catch (NumberFormatException e) {
+      throw new ConversionException("Could not convert '" + text + "' to double", e);
+    }
+  }
+
+  /**
+   * The JDK can only parse floating point numbers from a String, so other {@link CharSequence}s
+   * are copied first.
+   *
+   * @param text The text to parse
+   * @return The parsed float
+   * @throws ConversionException if the text is no valid float
+   */
+  public static float parseFloat(CharSequence text) {
+    try {
+      return Float.parseFloat(text.toString());
+    } catch (NumberFormatException e) {
+      throw new ConversionException("Could not convert '" + text + "' to float", e);
+    }
+  }
+
+  /**
+   * Parses a boolean the same way as {@link Boolean#parseBoolean(String)}: "true" ignoring case is
+   * true, everything else false.
+   *
+   * @param text The text to parse
+   * @return The parsed boolean
+   */
+  public static boolean parseBoolean(CharSequence text) {
+    int start = skipWhitespace(text);
+    int end = trimWhitespace(text, start);
+    String expected = "true";
+
+    if (end - start != expected.length()) {
+      return false;
+    }
+
+    for (int i = 0; i < expected.length(); i++) {
+      if (Character.toLowerCase(text.charAt(start + i)) != expected.charAt(i)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static long parseIntegral(CharSequence text, long min, long max) {
+    int start = skipWhitespace(text);
+    int end = trimWhitespace(text, start);
+
+    if (start == end) {
+      throw new ConversionException("Can not convert an empty string to a number", null);
+    }
+
+    boolean negative = false;
+    int position = start;
+    char first = text.charAt(position);
+
+    if (first == '-' || first == '+') {
+      negative = first == '-';
+      position++;
+      if (position == end) {
+        throw invalidNumber(text);
+      }
+    }
+
+    // accumulate negatively, as the negative range is larger than the positive one
+    long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    long multiplicationLimit = limit / 10;
+    long result = 0;
+
+    for (; position < end; position++) {
+      int digit = Character.digit(text.charAt(position), 10);
+
+      if (digit < 0 || result < multiplicationLimit) {
+        throw invalidNumber(text);
+      }
+      result *= 10;
+      if (result < limit + digit) {
+        throw invalidNumber(text);
+      }
+      result -= digit;
+    }
+
+    result = negative ? result : -result;
+
+    if (result < min || result > max) {
+      throw invalidNumber(text);
+    }
+
+    return result;
+  }
+
+  private static int skipWhitespace(CharSequence text) {
+    int start = 0;
+    while (start < text.length() && text.charAt(start) <= ' ') {
+      start++;
+    }
+    return start;
+  }
+
+  private static int trimWhitespace(CharSequence text, int start) {
+    int end = text.length();
+    while (end > start && text.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    return end;
+  }
+
+  private static ConversionException invalidNumber(CharSequence text) {
+    return new ConversionException("Could not convert '" + text + "' to a number", null);
+  }
+}
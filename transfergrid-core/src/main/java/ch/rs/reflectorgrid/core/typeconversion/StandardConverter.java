@@ -0,0 +1,73 @@
+package ch.rs.reflectorgrid.core.typeconversion;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * The converters for strings, boxed primitives and {@link BigDecimal}. They behave like the JavaFX
+ * converters for these types: surrounding whitespace is ignored, blank strings convert to null
+ * and null values to an empty string. Strings and {@link StringBuilder}s are converted verbatim.
+ *
+ * @param <T> The converted type
+ */
+final class StandardConverter<T> implements ValueConverter<T> {
+
+  static final StandardConverter<String> STRING = new StandardConverter<>(null);
+  static final StandardConverter<Byte> BYTE = new StandardConverter<>(Byte::valueOf);
+  static final StandardConverter<Short> SHORT = new StandardConverter<>(Short::valueOf);
+  static final StandardConverter<Integer> INTEGER = new StandardConverter<>(Integer::valueOf);
+  static final StandardConverter<Long> LONG = new StandardConverter<>(Long::valueOf);
+  static final StandardConverter<Float> FLOAT = new StandardConverter<>(Float::valueOf);
+  static final StandardConverter<Double> DOUBLE = new StandardConverter<>(Double::valueOf);
+  static final StandardConverter<BigDecimal> BIG_DECIMAL = new StandardConverter<>(
+      BigDecimal::new
+  );
+  static final StandardConverter<Boolean> BOOLEAN = new StandardConverter<>(Boolean::valueOf);
+  static final StandardConverter<StringBuilder> STRING_BUILDER = new StandardConverter<>(
+      StringBuilder::new, false
+  );
+
+  private final Function<String, T> parser;
+  private final boolean trim;
+
+  /**
+   * @param parser Parses the trimmed, non empty string or null to return strings unchanged
+   */
+  private StandardConverter(Function<String, T> parser) {
+    this(parser, true);
+  }
+
+  /**
+   * @param parser Parses the string or null to return strings unchanged
+   * @param trim True to parse only the trimmed, non empty string
+   */
+  private StandardConverter(Function<String, T> parser, boolean trim) {
+    this.parser = parser;
+    this.trim = trim;
+  }
+
+  @Override
+  public String toString(T value) {
+    return value == null ? "" : value.toString();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T fromString(String string) {
+    if (parser == null) {
+      return (T) string;
+    }
+    if (string == null) {
+      return null;
+    }
+    if (!trim) {
+      return parser.apply(string);
+    }
+
+    String trimmed = string.trim();
+    if (trimmed.isEmpty()) {
+      return null;
+    }
+    return parser.apply(trimmed);
+  }
+}
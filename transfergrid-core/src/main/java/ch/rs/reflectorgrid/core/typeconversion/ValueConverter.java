@@ -0,0 +1,23 @@
+package ch.rs.reflectorgrid.core.typeconversion;
+
+/**
+ * Converts values of a type to and from strings. The toolkit neutral counterpart of the JavaFX
+ * {@code StringConverter}, so conversions can be used without loading JavaFX.
+ *
+ * @param <T> The type of the values
+ */
+public interface ValueConverter<T> {
+
+  /**
+   * @param value The value to convert, may be null
+   * @return The string representation of the value
+   */
+  String toString(T value);
+
+  /**
+   * @param string The string to convert, may be null
+   * @return The value represented by the string
+   * @throws RuntimeException if the string can not be converted
+   */
+  T fromString(String string);
+}
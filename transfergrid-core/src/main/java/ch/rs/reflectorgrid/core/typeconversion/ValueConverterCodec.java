@@ -0,0 +1,53 @@
+package ch.rs.reflectorgrid.core.typeconversion;
+
+import ch.rs.reflectorgrid.core.FieldAccessor;
+
+/**
+ * A {@link FieldCodec} that uses a {@link ValueConverter} and therefore works with boxed values.
+ *
+ * <p>If there is no converter, values are displayed using their {@link Object#toString()} and can
+ * not be parsed.
+ */
+class ValueConverterCodec implements FieldCodec {
+
+  private final Class<?> type;
+  private final ValueConverter<Object> converter;
+
+  @SuppressWarnings("unchecked")
+  ValueConverterCodec(Class<?> type, ValueConverter<?> converter) {
+    this.type = type;
+    this.converter = (ValueConverter<Object>) converter;
+  }
+
+  @Override
+  public void format(Object target, FieldAccessor accessor, StringBuilder buffer) {
+    Object value = accessor.get(target);
+
+    if (value == null) {
+      return;
+    }
+
+    buffer.append(converter == null ? value.toString() : converter.toString(value));
+  }
+
+  @Override
+  public void parse(CharSequence text, Object target, FieldAccessor accessor) {
+    if (converter == null) {
+      throw new IllegalArgumentException("No converter registered for class " + type);
+    }
+
+    String string = text.toString();
+    Object value;
+    try {
+      value = converter.fromString(string);
+    } catch (RuntimeException e) {
+      throw new ConversionException("Could not convert '" + string + "' to " + type, e);
+    }
+
+    if (value == null && type.isPrimitive()) {
+      throw new ConversionException("Can not assign null to " + type, null);
+    }
+
+    accessor.set(target, value);
+  }
+}
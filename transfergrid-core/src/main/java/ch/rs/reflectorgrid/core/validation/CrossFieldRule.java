@@ -0,0 +1,36 @@
+package ch.rs.reflectorgrid.core.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A rule involving several fields of the annotated class, e.g. that a start date lies before an
+ * end date. The rule is only evaluated when one of its {@link #fields()} changes, and a failure
+ * is shown on all of them.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(CrossFieldRules.class)
+public @interface CrossFieldRule {
+
+  /**
+   * @return The names of the fields the rule reads
+   */
+  String[] fields();
+
+  /**
+   * @return The validator, created once per annotated class. Needs a public no-argument
+   *     constructor.
+   */
+  Class<? extends CrossFieldValidator> validator();
+
+  /**
+   * @return The message shown if the rule fails. Generated if empty.
+   */
+  String message() default "";
+}
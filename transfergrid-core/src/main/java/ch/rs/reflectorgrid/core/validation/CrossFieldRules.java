@@ -0,0 +1,18 @@
+package ch.rs.reflectorgrid.core.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Contains the {@link CrossFieldRule}s of a class annotated with more than one rule.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CrossFieldRules {
+
+  CrossFieldRule[] value();
+}
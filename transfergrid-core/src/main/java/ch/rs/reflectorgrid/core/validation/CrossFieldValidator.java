@@ -0,0 +1,14 @@
+package ch.rs.reflectorgrid.core.validation;
+
+/**
+ * Checks a {@link CrossFieldRule}.
+ */
+@FunctionalInterface
+public interface CrossFieldValidator {
+
+  /**
+   * @param object The object whose fields changed
+   * @return True if the fields are valid
+   */
+  boolean isValid(Object object);
+}
@@ -0,0 +1,32 @@
+package ch.rs.reflectorgrid.core.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The length of a string, array or collection must lie between {@link #min()} and {@link #max()},
+ * both inclusive. Null values are accepted, use {@link NotNull} to reject them.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Length {
+
+  /**
+   * @return The smallest allowed length
+   */
+  int min() default 0;
+
+  /**
+   * @return The largest allowed length
+   */
+  int max() default Integer.MAX_VALUE;
+
+  /**
+   * @return The message shown if the length is out of range. Generated if empty.
+   */
+  String message() default "";
+}
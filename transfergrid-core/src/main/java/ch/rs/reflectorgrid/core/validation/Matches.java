@@ -0,0 +1,27 @@
+package ch.rs.reflectorgrid.core.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The string representation of the value must match the regular expression completely. Null
+ * values are accepted, use {@link NotNull} to reject them.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Matches {
+
+  /**
+   * @return The regular expression, see {@link java.util.regex.Pattern}
+   */
+  String value();
+
+  /**
+   * @return The message shown if the value does not match. Generated if empty.
+   */
+  String message() default "";
+}
@@ -0,0 +1,21 @@
+package ch.rs.reflectorgrid.core.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The field must not be set to null, e.g. by clearing the text of a field with a converter.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface NotNull {
+
+  /**
+   * @return The message shown if the value is null
+   */
+  String message() default "Must not be empty";
+}
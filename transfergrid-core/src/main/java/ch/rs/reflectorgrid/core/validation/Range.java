@@ -0,0 +1,32 @@
+package ch.rs.reflectorgrid.core.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The value of a numeric field must lie between {@link #min()} and {@link #max()}, both
+ * inclusive. Null values are accepted, use {@link NotNull} to reject them.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Range {
+
+  /**
+   * @return The smallest allowed value
+   */
+  double min() default Double.NEGATIVE_INFINITY;
+
+  /**
+   * @return The largest allowed value
+   */
+  double max() default Double.POSITIVE_INFINITY;
+
+  /**
+   * @return The message shown if the value is out of range. Generated if empty.
+   */
+  String message() default "";
+}
@@ -0,0 +1,213 @@
+package ch.rs.reflectorgrid.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BinarySnapshotTest {
+
+  public enum Mode {
+    FULL, HALF, NONE
+  }
+
+  public static class Sample {
+
+    @TransferGrid
+    public int count = 1;
+    @TransferGrid
+    public long total = 2;
+    @TransferGrid
+    public double ratio = 0.5;
+    @TransferGrid
+    public boolean active = true;
+    @TransferGrid
+    public char grade = 'A';
+    @TransferGrid
+    public Integer limit = 10;
+    @TransferGrid
+    public String name = "sample";
+    // last, so its ordinal is the last int of the snapshot
+    @TransferGrid
+    public Mode mode = Mode.HALF;
+  }
+
+  public static class Other {
+
+    @TransferGrid
+    public int count;
+  }
+
+  private static Sample changed() {
+    Sample sample = new Sample();
+    sample.count = -7;
+    sample.total = Long.MIN_VALUE;
+    sample.ratio = Double.NaN;
+    sample.active = false;
+    sample.grade = '\u00e9';
+    sample.limit = null;
+    sample.name = "r\u00e9sum\u00e9";
+    sample.mode = Mode.NONE;
+    return sample;
+  }
+
+  private static ByteBuffer snapshot(Object object) {
+    ByteBuffer buffer = ByteBuffer.allocate(BinarySnapshot.sizeOf(object));
+    BinarySnapshot.write(object, buffer);
+    buffer.flip();
+    return buffer;
+  }
+
+  private static void assertDefaults(Sample sample) {
+    assertEquals(1, sample.count);
+    assertEquals(2, sample.total);
+    assertEquals(0.5, sample.ratio);
+    assertTrue(sample.active);
+    assertEquals('A', sample.grade);
+    assertEquals(Integer.valueOf(10), sample.limit);
+    assertEquals("sample", sample.name);
+    assertEquals(Mode.HALF, sample.mode);
+  }
+
+  @Test
+  void roundTripRestoresAllValues() {
+    ByteBuffer buffer = snapshot(changed());
+    Sample restored = new Sample();
+
+    BinarySnapshot.read(buffer, restored);
+
+    assertEquals(0, buffer.remaining());
+    assertEquals(-7, restored.count);
+    assertEquals(Long.MIN_VALUE, restored.total);
+    assertEquals(Double.NaN, restored.ratio);
+    assertFalse(restored.active);
+    assertEquals('\u00e9', restored.grade);
+    assertNull(restored.limit);
+    assertEquals("r\u00e9sum\u00e9", restored.name);
+    assertEquals(Mode.NONE, restored.mode);
+  }
+
+  @Test
+  void roundTripRestoresNullReferences() {
+    Sample sample = new Sample();
+    sample.name = null;
+    sample.mode = null;
+    ByteBuffer buffer = snapshot(sample);
+    Sample restored = new Sample();
+
+    BinarySnapshot.read(buffer, restored);
+
+    assertNull(restored.name);
+    assertNull(restored.mode);
+  }
+
+  @Test
+  void snapshotOfAnotherClassIsRejected() {
+    ByteBuffer buffer = snapshot(new Other());
+    Sample sample = new Sample();
+
+    assertThrows(IllegalArgumentException.class, () -> BinarySnapshot.read(buffer, sample));
+    assertEquals(0, buffer.position());
+    assertDefaults(sample);
+  }
+
+  @Test
+  void truncatedSnapshotLeavesObjectUnchanged() {
+    ByteBuffer full = snapshot(changed());
+
+    for (int length = 0; length < full.limit(); length++) {
+      ByteBuffer truncated = full.duplicate();
+      truncated.limit(length);
+      Sample sample = new Sample();
+
+      assertThrows(
+          IllegalArgumentException.class, () -> BinarySnapshot.read(truncated, sample),
+          "length " + length
+      );
+      assertEquals(0, truncated.position());
+      assertDefaults(sample);
+    }
+  }
+
+  @Test
+  void invalidEnumOrdinalIsRejected() {
+    ByteBuffer buffer = snapshot(changed());
+    buffer.putInt(buffer.limit() - Integer.BYTES, Mode.values().length);
+    Sample sample = new Sample();
+
+    assertThrows(IllegalArgumentException.class, () -> BinarySnapshot.read(buffer, sample));
+    assertDefaults(sample);
+  }
+
+  @Test
+  void invalidStringLengthIsRejected() {
+    Sample written = changed();
+    written.mode = null;
+    ByteBuffer buffer = snapshot(written);
+    int nameLength = buffer.limit() - Integer.BYTES
+        - written.name.length() * Character.BYTES - Integer.BYTES;
+    buffer.putInt(nameLength, -2);
+    Sample sample = new Sample();
+
+    assertThrows(IllegalArgumentException.class, () -> BinarySnapshot.read(buffer, sample));
+    assertDefaults(sample);
+  }
+
+  @Test
+  void fileRoundTrip() throws IOException {
+    Path file = Files.createTempFile("snapshot", ".bin");
+    try {
+      BinarySnapshot.save(file, Arrays.asList(changed(), new Sample()));
+      List<Sample> restored = Arrays.asList(new Sample(), changed());
+
+      BinarySnapshot.load(file, restored);
+
+      assertEquals(Mode.NONE, restored.get(0).mode);
+      assertDefaults(restored.get(1));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void truncatedFileRestoresNoObject() throws IOException {
+    Path file = Files.createTempFile("snapshot", ".bin");
+    try {
+      BinarySnapshot.save(file, Arrays.asList(changed(), changed()));
+      byte[] bytes = Files.readAllBytes(file);
+      Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+      List<Sample> objects = Arrays.asList(new Sample(), new Sample());
+
+      assertThrows(IllegalArgumentException.class, () -> BinarySnapshot.load(file, objects));
+      // the first snapshot is complete, but must not be restored either
+      assertDefaults(objects.get(0));
+      assertDefaults(objects.get(1));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void fileWithOtherClassesRestoresNoObject() throws IOException {
+    Path file = Files.createTempFile("snapshot", ".bin");
+    try {
+      BinarySnapshot.save(file, Arrays.asList(changed(), new Other()));
+      List<Sample> objects = Arrays.asList(new Sample(), new Sample());
+
+      assertThrows(IllegalArgumentException.class, () -> BinarySnapshot.load(file, objects));
+      assertDefaults(objects.get(0));
+      assertDefaults(objects.get(1));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package ch.rs.reflectorgrid.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import org.junit.jupiter.api.Test;
+
+class StripedLocksTest {
+
+  @Test
+  void getAllReturnsEachLockOnce() {
+    StripedLocks stripedLocks = new StripedLocks(1);
+    Object first = new Object();
+    Object second = new Object();
+
+    List<StampedLock> locks = stripedLocks.getAll(Arrays.asList(first, second, first));
+
+    assertEquals(1, locks.size());
+    assertSame(stripedLocks.get(first), locks.get(0));
+  }
+
+  @Test
+  void getAllReturnsTheLocksInTheSameOrder() {
+    StripedLocks stripedLocks = new StripedLocks(1024);
+    Object[] objects = new Object[64];
+    for (int i = 0; i < objects.length; i++) {
+      objects[i] = new Object();
+    }
+
+    List<StampedLock> locks = stripedLocks.getAll(Arrays.asList(objects));
+    Collections.reverse(Arrays.asList(objects));
+
+    assertEquals(locks, stripedLocks.getAll(Arrays.asList(objects)));
+  }
+}
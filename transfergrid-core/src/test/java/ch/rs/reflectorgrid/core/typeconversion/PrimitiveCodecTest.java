@@ -0,0 +1,165 @@
+package ch.rs.reflectorgrid.core.typeconversion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the integral parsers of {@link PrimitiveCodec} with the ones of the JDK, which reject
+ * surrounding whitespace the codecs ignore.
+ */
+class PrimitiveCodecTest {
+
+  /**
+   * Stands for a text that could not be parsed.
+   */
+  private static final Object INVALID = "<invalid>";
+
+  @Test
+  void parsesBoundariesLikeTheJdk() {
+    assertParsedLikeJdk(Long.MIN_VALUE, Long.MAX_VALUE);
+    assertParsedLikeJdk(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    assertParsedLikeJdk(Short.MIN_VALUE, Short.MAX_VALUE);
+    assertParsedLikeJdk(Byte.MIN_VALUE, Byte.MAX_VALUE);
+  }
+
+  @Test
+  void rejectsOverflowByOne() {
+    assertOverflowRejected(Long.MIN_VALUE, Long.MAX_VALUE);
+    assertOverflowRejected(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    assertOverflowRejected(Short.MIN_VALUE, Short.MAX_VALUE);
+    assertOverflowRejected(Byte.MIN_VALUE, Byte.MAX_VALUE);
+  }
+
+  @Test
+  void parsesSmallNumbersLikeTheJdk() {
+    for (String text : new String[] {"0", "-0", "+0", "1", "-1", "+1", "007", "-007", "42"}) {
+      assertSameAsJdk(text);
+    }
+  }
+
+  @Test
+  void rejectsLoneSigns() {
+    for (String text : new String[] {"-", "+", " - ", "\t+\n"}) {
+      assertSameAsJdk(text);
+      assertAllInvalid(text);
+    }
+  }
+
+  @Test
+  void rejectsMalformedNumbers() {
+    for (String text : new String[] {"--1", "+-1", "-+1", "1-", "12a", "0x10", "1.0", "1e3"}) {
+      assertSameAsJdk(text);
+    }
+  }
+
+  @Test
+  void ignoresSurroundingWhitespace() {
+    for (String text : new String[] {" 42", "42 ", "\t-7\n", "\r\n+127\r\n", "  0  "}) {
+      assertSameAsJdk(text);
+    }
+    assertEquals(Integer.valueOf(Integer.MIN_VALUE),
+        Integer.valueOf(PrimitiveCodec.parseInt(" " + Integer.MIN_VALUE + " ")));
+    assertEquals(Long.valueOf(Long.MAX_VALUE),
+        Long.valueOf(PrimitiveCodec.parseLong("\t" + Long.MAX_VALUE + "\n")));
+  }
+
+  @Test
+  void rejectsWhitespaceInside() {
+    for (String text : new String[] {"4 2", "- 1", "+ 1", "1\t0"}) {
+      assertAllInvalid(text);
+    }
+  }
+
+  @Test
+  void rejectsEmptyAndBlankText() {
+    for (String text : new String[] {"", " ", "   ", "\t", "\r\n"}) {
+      assertSameAsJdk(text);
+      assertAllInvalid(text);
+    }
+  }
+
+  @Test
+  void parsesOtherCharSequences() {
+    assertEquals(Integer.valueOf(-123),
+        Integer.valueOf(PrimitiveCodec.parseInt(new StringBuilder(" -123 "))));
+    assertThrows(ConversionException.class,
+        () -> PrimitiveCodec.parseInt(new StringBuilder("-")));
+  }
+
+  private static void assertParsedLikeJdk(long min, long max) {
+    for (long value : new long[] {min, min + 1, max - 1, max}) {
+      assertSameAsJdk(Long.toString(value));
+    }
+    assertSameAsJdk("+" + max);
+  }
+
+  private static void assertOverflowRejected(long min, long max) {
+    String belowMin = BigInteger.valueOf(min).subtract(BigInteger.ONE).toString();
+    String aboveMax = BigInteger.valueOf(max).add(BigInteger.ONE).toString();
+
+    for (String text : new String[] {belowMin, aboveMax, "+" + aboveMax, belowMin + "0"}) {
+      assertSameAsJdk(text);
+      assertEquals(INVALID, parseWithCodec(text, max), "overflow of '" + text + "'");
+    }
+  }
+
+  /**
+   * Parses the text with every integral codec and the matching JDK method. The JDK gets the
+   * trimmed text, as it does not ignore whitespace.
+   */
+  private static void assertSameAsJdk(String text) {
+    String trimmed = text.trim();
+
+    assertEquals(parse(trimmed, Integer::parseInt, NumberFormatException.class),
+        parse(text, PrimitiveCodec::parseInt, ConversionException.class), "int '" + text + "'");
+    assertEquals(parse(trimmed, Long::parseLong, NumberFormatException.class),
+        parse(text, PrimitiveCodec::parseLong, ConversionException.class), "long '" + text + "'");
+    assertEquals(parse(trimmed, Short::parseShort, NumberFormatException.class),
+        parse(text, PrimitiveCodec::parseShort, ConversionException.class),
+        "short '" + text + "'");
+    assertEquals(parse(trimmed, Byte::parseByte, NumberFormatException.class),
+        parse(text, PrimitiveCodec::parseByte, ConversionException.class), "byte '" + text + "'");
+  }
+
+  private static void assertAllInvalid(String text) {
+    assertEquals(INVALID, parseWithCodec(text, Long.MAX_VALUE), "long '" + text + "'");
+    assertEquals(INVALID, parseWithCodec(text, Integer.MAX_VALUE), "int '" + text + "'");
+    assertEquals(INVALID, parseWithCodec(text, Short.MAX_VALUE), "short '" + text + "'");
+    assertEquals(INVALID, parseWithCodec(text, Byte.MAX_VALUE), "byte '" + text + "'");
+  }
+
+  /**
+   * @param max The maximum value of the type to parse, which selects the codec
+   */
+  private static Object parseWithCodec(String text, long max) {
+    if (max == Long.MAX_VALUE) {
+      return parse(text, PrimitiveCodec::parseLong, ConversionException.class);
+    }
+    if (max == Integer.MAX_VALUE) {
+      return parse(text, PrimitiveCodec::parseInt, ConversionException.class);
+    }
+    if (max == Short.MAX_VALUE) {
+      return parse(text, PrimitiveCodec::parseShort, ConversionException.class);
+    }
+    return parse(text, PrimitiveCodec::parseByte, ConversionException.class);
+  }
+
+  /**
+   * @return The parsed value or {@link #INVALID} if the parser threw the expected exception
+   */
+  private static <T> Object parse(String text, Function<String, T> parser,
+      Class<? extends RuntimeException> failure) {
+    try {
+      return parser.apply(text);
+    } catch (RuntimeException e) {
+      if (!failure.isInstance(e)) {
+        throw e;
+      }
+      return INVALID;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package ch.rs.reflectorgrid.processor;
+
+import java.util.List;
+
+/**
+ * A single field of a generated binder.
+ */
+final class BinderField {
+
+  final String declaringClass;
+  final String name;
+  final String type;
+  final String boxedType;
+  final String primitiveSuffix;
+  final String verbatimLabel;
+  final String splitLabel;
+  /**
+   * The expression reading the field from {@code target} or null if it can not be read.
+   */
+  final String readExpression;
+  /**
+   * A format string with the statement writing {@code %s} to the field of {@code target} or null
+   * if it can not be written.
+   */
+  final String writeStatement;
+  final boolean editable;
+  final List<String> options;
+  /**
+   * The name of the {@code FieldType} constant.
+   */
+  final String fieldtype;
+  /**
+   * The name of the {@code CommitPolicy} constant.
+   */
+  final String commitPolicy;
+  /**
+   * True if the field has validation annotations.
+   */
+  final boolean constrained;
+
+  BinderField(String declaringClass, String name, String type, String boxedType,
+      String primitiveSuffix, String verbatimLabel, String splitLabel, String readExpression,
+      String writeStatement, boolean editable, List<String> options, String fieldtype,
+      String commitPolicy, boolean constrained) {
+    this.declaringClass = declaringClass;
+    this.name = name;
+    this.type = type;
+    this.boxedType = boxedType;
+    this.primitiveSuffix = primitiveSuffix;
+    this.verbatimLabel = verbatimLabel;
+    this.splitLabel = splitLabel;
+    this.readExpression = readExpression;
+    this.writeStatement = writeStatement;
+    this.editable = editable;
+    this.options = options;
+    this.fieldtype = fieldtype;
+    this.commitPolicy = commitPolicy;
+    this.constrained = constrained;
+  }
+
+  /**
+   * @return True if an accessor can be generated for this field
+   */
+  boolean hasAccessor() {
+    return readExpression != null && writeStatement != null;
+  }
+}
@@ -0,0 +1,271 @@
+package ch.rs.reflectorgrid.processor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+
+/**
+ * Inspects classes from the point of view of a binder generated into a given package.
+ */
+final class BinderModel {
+
+  private final ProcessingEnvironment processingEnv;
+  private final Types types;
+  private final PackageElement binderPackage;
+
+  BinderModel(ProcessingEnvironment processingEnv, PackageElement binderPackage) {
+    this.processingEnv = processingEnv;
+    this.types = processingEnv.getTypeUtils();
+    this.binderPackage = binderPackage;
+  }
+
+  /**
+   * @param type The type to get the fields for
+   * @return All fields declared in the type that are annotated with {@code TransferGrid}
+   */
+  List<VariableElement> getTransferGridFields(TypeElement type) {
+    List<VariableElement> fields = new ArrayList<>();
+
+    for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+      if (findTransferGrid(field) != null) {
+        fields.add(field);
+      }
+    }
+
+    return fields;
+  }
+
+  private static AnnotationMirror findTransferGrid(VariableElement field) {
+    for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+      if (getAnnotationName(annotation).equals(GridBinderProcessor.TRANSFER_GRID)) {
+        return annotation;
+      }
+    }
+    return null;
+  }
+
+  private static String getAnnotationName(AnnotationMirror annotation) {
+    TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+    return annotationType.getQualifiedName().toString();
+  }
+
+  /**
+   * @param type The type to check
+   * @return True if the type can be referenced from the binder
+   */
+  boolean isAccessible(TypeElement type) {
+    Element current = type;
+
+    while (current instanceof TypeElement) {
+      TypeElement currentType = (TypeElement) current;
+      if (currentType.getNestingKind() == NestingKind.LOCAL
+          || currentType.getNestingKind() == NestingKind.ANONYMOUS) {
+        return false;
+      }
+      if (!isMemberAccessible(currentType)) {
+        return false;
+      }
+      current = current.getEnclosingElement();
+    }
+
+    return true;
+  }
+
+  /**
+   * @param declaringType The type declaring the field
+   * @param field The field
+   * @return The binder model of the field
+   */
+  BinderField createField(TypeElement declaringType, VariableElement field) {
+    String declaringClass = types.erasure(declaringType.asType()).toString();
+    String name = field.getSimpleName().toString();
+    TypeMirror fieldType = types.erasure(field.asType());
+
+    String boxedType = fieldType.toString();
+    String primitiveSuffix = null;
+    if (fieldType.getKind().isPrimitive()) {
+      boxedType = types.boxedClass((PrimitiveType) fieldType).getQualifiedName().toString();
+      primitiveSuffix = getPrimitiveSuffix(fieldType.getKind());
+    }
+
+    Set<Modifier> modifiers = field.getModifiers();
+    boolean fieldAccessible = isMemberAccessible(field);
+    boolean isStatic = modifiers.contains(Modifier.STATIC);
+    String target = "((" + declaringClass + ") target)";
+
+    String readExpression = null;
+    String writeStatement = null;
+
+    if (isStatic) {
+      if (fieldAccessible) {
+        readExpression = declaringClass + "." + name;
+        if (!modifiers.contains(Modifier.FINAL)) {
+          writeStatement = declaringClass + "." + name + " = %s;";
+        }
+      }
+    } else {
+      ExecutableElement getter = findGetter(declaringType, field);
+      ExecutableElement setter = findSetter(declaringType, field);
+
+      if (fieldAccessible) {
+        readExpression = target + "." + name;
+      } else if (getter != null) {
+        readExpression = target + "." + getter.getSimpleName() + "()";
+      }
+
+      if (fieldAccessible && !modifiers.contains(Modifier.FINAL)) {
+        writeStatement = target + "." + name + " = %s;";
+      } else if (setter != null) {
+        writeStatement = target + "." + setter.getSimpleName() + "(%s);";
+      }
+    }
+
+    Map<String, Object> annotation = getTransferGridValues(field);
+
+    return new BinderField(
+        declaringClass, name, fieldType.toString(), boxedType, primitiveSuffix,
+        name, splitToCapitalizedWords(name), readExpression, writeStatement,
+        (Boolean) annotation.get("editable"), getOptions(annotation),
+        getConstantName(annotation.get("fieldtype")),
+        getConstantName(annotation.get("commitPolicy")), isConstrained(field)
+    );
+  }
+
+  /**
+   * @return The values of the {@code TransferGrid} annotation of the field, including its
+   *     defaults, by the name of the annotation element
+   */
+  private Map<String, Object> getTransferGridValues(VariableElement field) {
+    Map<String, Object> values = new HashMap<>();
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+        : processingEnv.getElementUtils()
+            .getElementValuesWithDefaults(findTransferGrid(field)).entrySet()) {
+      values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+    }
+    return values;
+  }
+
+  private static List<String> getOptions(Map<String, Object> annotation) {
+    List<String> options = new ArrayList<>();
+    for (Object option : (List<?>) annotation.get("options")) {
+      options.add((String) ((AnnotationValue) option).getValue());
+    }
+    return options;
+  }
+
+  private static String getConstantName(Object enumValue) {
+    return ((VariableElement) enumValue).getSimpleName().toString();
+  }
+
+  /**
+   * @return True if the field has an annotation from the validation package
+   */
+  private static boolean isConstrained(VariableElement field) {
+    for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+      if (getAnnotationName(annotation).startsWith(GridBinderProcessor.VALIDATION_PACKAGE)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private ExecutableElement findGetter(TypeElement declaringType, VariableElement field) {
+    String capitalized = capitalize(field.getSimpleName().toString());
+
+    for (ExecutableElement method : ElementFilter.methodsIn(declaringType.getEnclosedElements())) {
+      String methodName = method.getSimpleName().toString();
+      boolean isBoolean = field.asType().getKind() == TypeKind.BOOLEAN;
+      boolean nameMatches = methodName.equals("get" + capitalized)
+          || (isBoolean && methodName.equals("is" + capitalized));
+
+      if (nameMatches && method.getParameters().isEmpty()
+          && types.isSameType(method.getReturnType(), field.asType())
+          && !method.getModifiers().contains(Modifier.STATIC)
+          && isMemberAccessible(method)) {
+        return method;
+      }
+    }
+
+    return null;
+  }
+
+  private ExecutableElement findSetter(TypeElement declaringType, VariableElement field) {
+    String setterName = "set" + capitalize(field.getSimpleName().toString());
+
+    for (ExecutableElement method : ElementFilter.methodsIn(declaringType.getEnclosedElements())) {
+      if (method.getSimpleName().contentEquals(setterName)
+          && method.getParameters().size() == 1
+          && types.isSameType(method.getParameters().get(0).asType(), field.asType())
+          && !method.getModifiers().contains(Modifier.STATIC)
+          && isMemberAccessible(method)) {
+        return method;
+      }
+    }
+
+    return null;
+  }
+
+  private boolean isMemberAccessible(Element element) {
+    Set<Modifier> modifiers = element.getModifiers();
+
+    if (modifiers.contains(Modifier.PRIVATE)) {
+      return false;
+    }
+
+    return modifiers.contains(Modifier.PUBLIC)
+        || processingEnv.getElementUtils().getPackageOf(element).equals(binderPackage);
+  }
+
+  private static String getPrimitiveSuffix(TypeKind kind) {
+    String name = kind.name();
+    return name.charAt(0) + name.substring(1).toLowerCase();
+  }
+
+  private static String capitalize(String name) {
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  /**
+   * Mirrors {@code DefaultFieldNamingStrategy#SPLIT_TO_CAPITALIZED_WORDS}.
+   */
+  private static String splitToCapitalizedWords(String name) {
+    StringBuilder output = new StringBuilder();
+
+    boolean wordBoundary = true;
+
+    for (char c : name.toCharArray()) {
+      if (Character.isUpperCase(c) || c == '_') {
+        wordBoundary = true;
+      }
+
+      if (wordBoundary) {
+        if (output.length() > 0) {
+          output.append(" ");
+        }
+        output.append(Character.toUpperCase(c));
+        wordBoundary = false;
+      } else {
+        output.append(Character.toLowerCase(c));
+      }
+    }
+
+    return output.toString();
+  }
+}
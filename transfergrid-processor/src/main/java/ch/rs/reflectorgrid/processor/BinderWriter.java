@@ -0,0 +1,178 @@
+package ch.rs.reflectorgrid.processor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes the source code of a generated binder.
+ */
+final class BinderWriter {
+
+  private static final String CORE_PACKAGE = "ch.rs.reflectorgrid.core.";
+  private static final String GRID_BINDER = CORE_PACKAGE + "GridBinder";
+  private static final String FIELD_ACCESSOR = CORE_PACKAGE + "FieldAccessor";
+  private static final String FIELD_TYPE = CORE_PACKAGE + "TransferGrid.FieldType";
+  private static final String COMMIT_POLICY = CORE_PACKAGE + "TransferGrid.CommitPolicy";
+  private static final String NAMING_STRATEGY = CORE_PACKAGE + "DefaultFieldNamingStrategy";
+
+  private final String packageName;
+  private final String binderName;
+  private final List<BinderField> fields;
+  private final StringBuilder output;
+
+  BinderWriter(String packageName, String binderName, List<BinderField> fields) {
+    this.packageName = packageName;
+    this.binderName = binderName;
+    this.fields = fields;
+    this.output = new StringBuilder();
+  }
+
+  /**
+   * @return The source code of the binder
+   */
+  String write() {
+    if (!packageName.isEmpty()) {
+      line("package " + packageName + ";");
+      line("");
+    }
+    line("/**");
+    line(" * Generated by the TransferGrid annotation processor, do not edit.");
+    line(" */");
+    line("@SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+    line("public final class " + binderName + " implements " + GRID_BINDER + " {");
+    line("");
+
+    writeArray("Class<?>", "DECLARING_CLASSES", field -> field.declaringClass + ".class");
+    writeArray("String", "NAMES", field -> quote(field.name));
+    writeArray("Class<?>", "TYPES", field -> field.type + ".class");
+    writeArray("boolean", "EDITABLE", field -> String.valueOf(field.editable));
+    writeArray("String[]", "OPTIONS", this::options);
+    writeArray(FIELD_TYPE, "FIELDTYPES", field -> FIELD_TYPE + "." + field.fieldtype);
+    writeArray(
+        COMMIT_POLICY, "COMMIT_POLICIES", field -> COMMIT_POLICY + "." + field.commitPolicy
+    );
+    writeArray("boolean", "CONSTRAINED", field -> String.valueOf(field.constrained));
+    writeArray("String", "VERBATIM_LABELS", field -> quote(field.verbatimLabel));
+    writeArray("String", "SPLIT_TO_CAPITALIZED_WORDS_LABELS", field -> quote(field.splitLabel));
+    writeArray(FIELD_ACCESSOR, "ACCESSORS", this::accessor);
+
+    writeMethod("int getFieldCount()", "return NAMES.length;");
+    writeMethod("Class<?> getDeclaringClass(int index)", "return DECLARING_CLASSES[index];");
+    writeMethod("String getFieldName(int index)", "return NAMES[index];");
+    writeMethod("Class<?> getFieldType(int index)", "return TYPES[index];");
+    writeMethod("boolean isEditable(int index)", "return EDITABLE[index];");
+    writeMethod("String[] getOptions(int index)", "return OPTIONS[index];");
+    writeMethod(FIELD_TYPE + " getFieldtype(int index)", "return FIELDTYPES[index];");
+    writeMethod(COMMIT_POLICY + " getCommitPolicy(int index)", "return COMMIT_POLICIES[index];");
+    writeMethod("boolean isConstrained(int index)", "return CONSTRAINED[index];");
+    writeMethod(
+        "String getLabel(int index, " + NAMING_STRATEGY + " strategy)",
+        "switch (strategy.name()) {",
+        "  case \"VERBATIM\":",
+        "    return VERBATIM_LABELS[index];",
+        "  case \"SPLIT_TO_CAPITALIZED_WORDS\":",
+        "    return SPLIT_TO_CAPITALIZED_WORDS_LABELS[index];",
+        "  default:",
+        "    return null;",
+        "}"
+    );
+    writeMethod(FIELD_ACCESSOR + " getAccessor(int index)", "return ACCESSORS[index];");
+
+    // drop the empty line after the last method
+    output.setLength(output.length() - 1);
+    line("}");
+
+    return output.toString();
+  }
+
+  private void writeArray(String type, String name, Function<BinderField, String> element) {
+    line("  private static final " + type + "[] " + name + " = {");
+    for (BinderField field : fields) {
+      line("      " + element.apply(field) + ",");
+    }
+    line("  };");
+    line("");
+  }
+
+  private void writeMethod(String signature, String... body) {
+    line("  @Override");
+    line("  public " + signature + " {");
+    for (String statement : body) {
+      line("    " + statement);
+    }
+    line("  }");
+    line("");
+  }
+
+  private String options(BinderField field) {
+    StringBuilder options = new StringBuilder("{");
+    for (String option : field.options) {
+      if (options.length() > 1) {
+        options.append(", ");
+      }
+      options.append(quote(option));
+    }
+    return options.append('}').toString();
+  }
+
+  private String accessor(BinderField field) {
+    if (!field.hasAccessor()) {
+      return "null";
+    }
+
+    String indent = "        ";
+    StringBuilder accessor = new StringBuilder();
+    accessor.append("new ").append(FIELD_ACCESSOR).append("() {\n");
+
+    accessor.append(indent).append("@Override\n")
+        .append(indent).append("public Object get(Object target) {\n")
+        .append(indent).append("  return ").append(field.readExpression).append(";\n")
+        .append(indent).append("}\n\n");
+
+    accessor.append(indent).append("@Override\n")
+        .append(indent).append("public void set(Object target, Object value) {\n")
+        .append(indent).append("  ")
+        .append(String.format(field.writeStatement, "(" + field.boxedType + ") value"))
+        .append("\n")
+        .append(indent).append("}\n");
+
+    if (field.primitiveSuffix != null) {
+      String suffix = field.primitiveSuffix;
+
+      accessor.append("\n")
+          .append(indent).append("@Override\n")
+          .append(indent).append("public ").append(field.type).append(" get").append(suffix)
+          .append("(Object target) {\n")
+          .append(indent).append("  return ").append(field.readExpression).append(";\n")
+          .append(indent).append("}\n\n");
+
+      accessor.append(indent).append("@Override\n")
+          .append(indent).append("public void set").append(suffix)
+          .append("(Object target, ").append(field.type).append(" value) {\n")
+          .append(indent).append("  ").append(String.format(field.writeStatement, "value"))
+          .append("\n")
+          .append(indent).append("}\n");
+    }
+
+    accessor.append("      }");
+    return accessor.toString();
+  }
+
+  private void line(String line) {
+    output.append(line).append('\n');
+  }
+
+  private static String quote(String value) {
+    StringBuilder quoted = new StringBuilder("\"");
+    for (char c : value.toCharArray()) {
+      if (c == '"' || c == '\\') {
+        quoted.append('\\').append(c);
+      } else if (c < 0x20 || c > 0x7e) {
+        quoted.append(String.format("\\u%04x", (int) c));
+      } else {
+        quoted.append(c);
+      }
+    }
+    return quoted.append('"').toString();
+  }
+}
@@ -0,0 +1,136 @@
+package ch.rs.reflectorgrid.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a {@code GridBinder} for every class that declares {@code TransferGrid} fields.
+ *
+ * <p>The binder contains the fields of the whole class hierarchy, the values of their annotations,
+ * their labels for the default naming strategies and accessors that read and write the fields
+ * directly (or through their getters and setters). Fields that can not be accessed from the
+ * package of the class get no accessor and are handled by reflection at runtime.
+ *
+ * <p>The processor claims the {@code TransferGrid} and validation annotations, which no other
+ * processor handles, so builds using {@code -Xlint:processing} do not warn about them.
+ */
+@SupportedAnnotationTypes({
+    GridBinderProcessor.TRANSFER_GRID, GridBinderProcessor.VALIDATION_ANNOTATIONS
+})
+public class GridBinderProcessor extends AbstractProcessor {
+
+  static final String TRANSFER_GRID = "ch.rs.reflectorgrid.core.TransferGrid";
+  static final String VALIDATION_PACKAGE = "ch.rs.reflectorgrid.core.validation.";
+  static final String VALIDATION_ANNOTATIONS = VALIDATION_PACKAGE + "*";
+  private static final String BINDER_SUFFIX = "_GridBinder";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    Set<TypeElement> types = new LinkedHashSet<>();
+
+    for (TypeElement annotation : annotations) {
+      if (!annotation.getQualifiedName().contentEquals(TRANSFER_GRID)) {
+        // validation annotations are read with the TransferGrid annotation of their field
+        continue;
+      }
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (element.getKind() == ElementKind.FIELD) {
+          types.add((TypeElement) element.getEnclosingElement());
+        }
+      }
+    }
+
+    for (TypeElement type : types) {
+      generateBinder(type);
+    }
+
+    return true;
+  }
+
+  private void generateBinder(TypeElement type) {
+    PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+    BinderModel model = new BinderModel(processingEnv, packageElement);
+
+    if (!model.isAccessible(type)) {
+      note(type, "is not accessible from generated code, it will be reflected at runtime");
+      return;
+    }
+
+    List<BinderField> fields = new ArrayList<>();
+    TypeElement current = type;
+    while (current != null) {
+      for (VariableElement field : model.getTransferGridFields(current)) {
+        if (!model.isAccessible(current)) {
+          note(type, "has an inaccessible superclass, it will be reflected at runtime");
+          return;
+        }
+        fields.add(model.createField(current, field));
+      }
+      current = getSuperclass(current);
+    }
+
+    String packageName = packageElement.isUnnamed()
+        ? ""
+        : packageElement.getQualifiedName().toString();
+    String binderName = getBinaryName(type, packageName).replace('$', '_') + BINDER_SUFFIX;
+
+    try {
+      String qualifiedName = packageName.isEmpty() ? binderName : packageName + "." + binderName;
+      JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+
+      try (Writer writer = file.openWriter()) {
+        writer.write(new BinderWriter(packageName, binderName, fields).write());
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(
+          Kind.ERROR, "Could not write grid binder: " + e.getMessage(), type
+      );
+    }
+  }
+
+  private TypeElement getSuperclass(TypeElement type) {
+    TypeMirror superclass = type.getSuperclass();
+    if (superclass.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    return (TypeElement) ((DeclaredType) superclass).asElement();
+  }
+
+  private String getBinaryName(TypeElement type, String packageName) {
+    if (type.getNestingKind() == NestingKind.MEMBER) {
+      TypeElement enclosing = (TypeElement) type.getEnclosingElement();
+      return getBinaryName(enclosing, packageName) + "$" + type.getSimpleName();
+    }
+    return type.getSimpleName().toString();
+  }
+
+  private void note(TypeElement type, String message) {
+    processingEnv.getMessager().printMessage(
+        Kind.NOTE, type.getQualifiedName() + " " + message, type
+    );
+  }
+}
@@ -0,0 +1,526 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.LabelDisplayOrder.InsertionPosition;
+import ch.rs.reflectorgrid.core.ClassMetadata;
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.FormSchema;
+import ch.rs.reflectorgrid.core.LabelIndex;
+import ch.rs.reflectorgrid.core.ValidationPlan;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.control.Control;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.GridPane;
+import javafx.util.Duration;
+
+/**
+ * A {@link GridPane} created by {@link ReflectorGridV2} together with the object it displays.
+ *
+ * <p>The grid can be rebound to another object with {@link #rebind(Object)}. If the new object has
+ * the same class, the existing controls are kept and only the values that changed are updated.
+ *
+ * <p>Changes made to the bound object from outside the grid are picked up by {@link #refresh()},
+ * either explicitly or periodically with {@link #startLiveRefresh(Duration)}.
+ */
+public class BoundGrid {
+
+  /**
+   * The number of fields whose controls are created per FX event when building asynchronously.
+   */
+  private static final int ASYNC_CHUNK_SIZE = 32;
+
+  private final ReflectorGridV2 reflectorGrid;
+  private final GridPane gridPane;
+  private final ChangeSet changeSet;
+  private final EditHistory history;
+
+  private ClassMetadata metadata;
+  private List<FieldBinding> bindings;
+  private GridValidation validation;
+  private GridFilter filter;
+  private Object boundObject;
+  private AnimationTimer liveRefreshTimer;
+  private final AtomicBoolean refreshRequested = new AtomicBoolean();
+
+  BoundGrid(ReflectorGridV2 reflectorGrid, GridPane gridPane, Object object) {
+    this(reflectorGrid, gridPane, object, null);
+  }
+
+  /**
+   * @param reflectorGrid The grid to use
+   * @param gridPane The pane to add the controls to
+   * @param object The value object
+   * @param parentChangeSet The change set of the grid containing this one or null
+   */
+  BoundGrid(ReflectorGridV2 reflectorGrid, GridPane gridPane, Object object,
+      ChangeSet parentChangeSet) {
+    this(reflectorGrid, gridPane, parentChangeSet);
+
+    build(object);
+  }
+
+  private BoundGrid(ReflectorGridV2 reflectorGrid, GridPane gridPane,
+      ChangeSet parentChangeSet) {
+    this.reflectorGrid = reflectorGrid;
+    this.gridPane = gridPane;
+    this.changeSet = reflectorGrid.isBufferedEdits()
+        ? new ChangeSet(this, parentChangeSet, reflectorGrid.getStripedLocks())
+        : null;
+    this.history = reflectorGrid.getHistorySize() > 0
+        ? new EditHistory(this, reflectorGrid.getHistorySize())
+        : null;
+  }
+
+  /**
+   * Reads and formats the values of the object on the executor and then creates the controls on
+   * the FX application thread, {@value #ASYNC_CHUNK_SIZE} fields per event.
+   *
+   * @param reflectorGrid The grid to use
+   * @param object The value object
+   * @param executor The executor preparing the values
+   * @return A future for the grid, completed on the FX application thread
+   */
+  static CompletableFuture<BoundGrid> bindAsync(ReflectorGridV2 reflectorGrid, Object object,
+      Executor executor) {
+    CompletableFuture<BoundGrid> result = new CompletableFuture<>();
+
+    CompletableFuture.supplyAsync(() -> new AsyncBuild(reflectorGrid, object, result), executor)
+        .whenComplete((asyncBuild, error) -> {
+          if (error != null) {
+            result.completeExceptionally(error);
+          } else {
+            Platform.runLater(asyncBuild::attachChunk);
+          }
+        });
+
+    return result;
+  }
+
+  /**
+   * @return The {@link GridPane} displaying the bound object
+   */
+  public GridPane getGridPane() {
+    return gridPane;
+  }
+
+  /**
+   * @return The object the grid is currently bound to
+   */
+  public Object getBoundObject() {
+    return boundObject;
+  }
+
+  /**
+   * @return The edits that were not written to the bound object yet or null if the grid writes
+   *     them directly, see {@link ReflectorGridV2#setBufferedEdits(boolean)}
+   */
+  public ChangeSet getChangeSet() {
+    return changeSet;
+  }
+
+  /**
+   * @return The undo and redo history or null if it is disabled, see {@link
+   *     ReflectorGridV2#setHistorySize(int)}
+   */
+  public EditHistory getHistory() {
+    return history;
+  }
+
+  /**
+   * Binds the grid to another object.
+   *
+   * <p>If the object has the same class as the current one, the controls are reused. Otherwise the
+   * content of the grid is rebuilt, returning the previous controls to the {@link ControlPool} if
+   * there is one. Buffered edits and the history of the previous object are discarded.
+   *
+   * @param object The new value object
+   */
+  public void rebind(Object object) {
+    Objects.requireNonNull(object, "object can not be null!");
+
+    if (object.getClass() != metadata.getType()) {
+      releaseControls();
+      build(object);
+      return;
+    }
+
+    boundObject = object;
+
+    for (FieldBinding binding : bindings) {
+      binding.bind(object);
+    }
+
+    if (changeSet != null) {
+      // after binding, so edits flushed while detaching still target the previous object
+      changeSet.reset(object, bindings.size());
+    }
+    if (history != null) {
+      history.clear();
+    }
+    if (validation != null) {
+      validation.validateAll(object);
+    }
+  }
+
+  /**
+   * Pushes values that changed in the bound object into the controls. Only controls whose value
+   * differs from the last displayed one are touched, and fields the user is currently editing are
+   * skipped. Must be called on the FX application thread.
+   *
+   * <p>Values are compared with {@link Object#equals(Object)}, so objects changed in place are
+   * not detected. {@link StringBuilder} text areas, which are edited in place, are an exception:
+   * they are reloaded if the length of the builder differs from the displayed text, so a change
+   * that keeps the length is not picked up.
+   *
+   * @return The number of controls that were updated
+   */
+  public int refresh() {
+    int updated = 0;
+    for (int i = 0; i < bindings.size(); i++) {
+      if (bindings.get(i).refresh()) {
+        updated++;
+        if (validation != null) {
+          validation.valueChanged(i, boundObject);
+        }
+      }
+    }
+    return updated;
+  }
+
+  /**
+   * @return False if an entered value or the bound object violates one of the validation rules
+   *     declared on its class
+   */
+  public boolean isValid() {
+    return validation == null || validation.isValid();
+  }
+
+  /**
+   * Schedules a {@link #refresh()} on the FX application thread. Can be called from any thread,
+   * requests that arrive before the refresh ran are coalesced into a single one.
+   */
+  public void requestRefresh() {
+    if (refreshRequested.compareAndSet(false, true)) {
+      Platform.runLater(() -> {
+        refreshRequested.set(false);
+        refresh();
+      });
+    }
+  }
+
+  /**
+   * Starts refreshing the grid periodically. The refresh runs as part of an FX pulse, so all
+   * changed controls are updated in the same frame. Must be called on the FX application thread.
+   *
+   * @param interval The minimum time between two refreshes. A zero duration refreshes on every
+   *     pulse.
+   */
+  public void startLiveRefresh(Duration interval) {
+    Objects.requireNonNull(interval, "interval can not be null!");
+
+    stopLiveRefresh();
+
+    long intervalNanos = (long) (interval.toMillis() * 1_000_000);
+    liveRefreshTimer = new AnimationTimer() {
+      private long lastRefresh = Long.MIN_VALUE;
+
+      @Override
+      public void handle(long now) {
+        if (lastRefresh == Long.MIN_VALUE || now - lastRefresh >= intervalNanos) {
+          lastRefresh = now;
+          refresh();
+        }
+      }
+    };
+    liveRefreshTimer.start();
+  }
+
+  /**
+   * Stops refreshing the grid periodically. Does nothing if live refresh is not running.
+   */
+  public void stopLiveRefresh() {
+    if (liveRefreshTimer != null) {
+      liveRefreshTimer.stop();
+      liveRefreshTimer = null;
+    }
+  }
+
+  /**
+   * Shows only the fields whose label contains the query, ignoring case. Only the fields whose
+   * visibility changes are touched. Binding an object of another class keeps the query. Must be
+   * called on the FX application thread.
+   *
+   * @param query The text to search, an empty query shows all fields
+   * @return The number of shown fields
+   */
+  public int filter(String query) {
+    Objects.requireNonNull(query, "query can not be null!");
+
+    if (filter == null) {
+      if (LabelIndex.normalize(query).isEmpty()) {
+        return bindings.size();
+      }
+      LabelIndex index = FormSchema
+          .forClass(metadata.getType(), reflectorGrid.getFieldNamingStrategy())
+          .getLabelIndex();
+      filter = new GridFilter(index, bindings);
+    }
+    return filter.apply(query);
+  }
+
+  /**
+   * Creates a text field that filters the grid while the user types, see {@link
+   * #filter(String)}. It is not added to any scene.
+   *
+   * @return The filter box
+   */
+  public TextField createFilterBox() {
+    TextField filterBox = new TextField();
+    filterBox.setPromptText("Filter");
+    filterBox.textProperty().addListener((observable, oldText, newText) -> filter(newText));
+    return filterBox;
+  }
+
+  /**
+   * Stops the live refresh and removes all controls from the grid. Pending edits are written
+   * first. If the grid has a {@link ControlPool}, see {@link
+   * ReflectorGridV2#setControlPool(ControlPool)}, the controls are returned to it. The grid must
+   * not be used afterwards.
+   */
+  public void dispose() {
+    stopLiveRefresh();
+    releaseControls();
+  }
+
+  /**
+   * @param fieldName The name of a field of the bound object
+   * @return The control displaying the field or null if the grid has no control for it (yet)
+   */
+  public Control getControl(String fieldName) {
+    for (FieldBinding binding : bindings) {
+      if (binding.getField().getName().equals(fieldName)) {
+        return binding.getControl();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Removes the controls of all fields from the grid pane and releases them.
+   */
+  void releaseControls() {
+    gridPane.getChildren().clear();
+    for (FieldBinding binding : bindings) {
+      binding.release();
+    }
+    bindings = Collections.emptyList();
+  }
+
+  /**
+   * @return The bindings of all fields, in display order
+   */
+  List<FieldBinding> getBindings() {
+    return bindings;
+  }
+
+  private void build(Object object) {
+    GridMetricsListener metricsListener = reflectorGrid.getMetricsListener();
+    boolean measure = metricsListener != GridMetricsListener.NONE;
+    long start = measure ? System.nanoTime() : 0;
+
+    metadata = ClassMetadata.forClass(object.getClass());
+    boundObject = object;
+
+    List<FieldMetadata> fields = metadata.getFields();
+    List<FieldBinding> newBindings = new ArrayList<>(fields.size());
+    InsertionPosition insertionPosition = new InsertionPosition(0, 0);
+
+    if (changeSet != null) {
+      changeSet.reset(object, fields.size());
+    }
+    if (history != null) {
+      history.clear();
+    }
+    validation = createValidation(fields.size());
+
+    for (int i = 0; i < fields.size(); i++) {
+      FieldMetadata field = fields.get(i);
+      long fieldStart = measure ? System.nanoTime() : 0;
+
+      FieldBinding binding = reflectorGrid.createBinding(field, i, changeSet);
+      binding.setHistory(history);
+      binding.setValidation(validation);
+      binding.bind(object);
+
+      insertionPosition = reflectorGrid.getLabelDisplayOrder()
+          .addNode(insertionPosition, binding.getLabel(), binding.getControl(), gridPane);
+      newBindings.add(binding);
+
+      if (measure) {
+        metricsListener.fieldBuilt(field.getField(), System.nanoTime() - fieldStart);
+      }
+    }
+
+    bindings = Collections.unmodifiableList(newBindings);
+    if (validation != null) {
+      validation.setBindings(bindings);
+      validation.validateAll(object);
+    }
+    if (filter != null) {
+      // the new controls are all shown
+      String query = filter.getQuery();
+      filter = null;
+      filter(query);
+    }
+
+    if (measure) {
+      metricsListener.gridBuilt(metadata.getType(), newBindings.size(), System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * @param fieldCount The number of fields of the bound class
+   * @return The validation of the bound class or null if it declares no rules
+   */
+  private GridValidation createValidation(int fieldCount) {
+    ValidationPlan plan = ValidationPlan.forClass(metadata.getType());
+    return plan.isEmpty() ? null : new GridValidation(reflectorGrid, plan, fieldCount);
+  }
+
+  /**
+   * The state of a grid that is built asynchronously. The constructor does the work that is safe
+   * to do off the FX application thread.
+   */
+  private static final class AsyncBuild {
+
+    private final ReflectorGridV2 reflectorGrid;
+    private final Object object;
+    private final CompletableFuture<BoundGrid> result;
+    private final ClassMetadata metadata;
+    private final long[] primitiveSnapshots;
+    private final Object[] referenceSnapshots;
+    private final String[] texts;
+    private final long startNanos;
+
+    private BoundGrid grid;
+    private List<FieldBinding> newBindings;
+    private InsertionPosition insertionPosition;
+    private int nextField;
+
+    private AsyncBuild(ReflectorGridV2 reflectorGrid, Object object,
+        CompletableFuture<BoundGrid> result) {
+      this.startNanos = System.nanoTime();
+      this.reflectorGrid = reflectorGrid;
+      this.object = object;
+      this.result = result;
+      this.metadata = ClassMetadata.forClass(object.getClass());
+
+      List<FieldMetadata> fields = metadata.getFields();
+      this.primitiveSnapshots = new long[fields.size()];
+      this.referenceSnapshots = new Object[fields.size()];
+      this.texts = new String[fields.size()];
+
+      StringBuilder buffer = new StringBuilder();
+      for (int i = 0; i < fields.size(); i++) {
+        FieldMetadata field = fields.get(i);
+        FieldAccessor accessor = field.getAccessor(reflectorGrid.getFieldAccessorFactory());
+        // resolves and memoizes the label before the FX thread needs it
+        field.getLabel(reflectorGrid.getFieldNamingStrategy());
+
+        if (field.getValueKind().isPrimitive()) {
+          primitiveSnapshots[i] = field.getValueKind().readBits(accessor, object);
+        } else {
+          referenceSnapshots[i] = accessor.get(object);
+        }
+
+        if (reflectorGrid.isCollection(field) || reflectorGrid.isTextBuffer(field)) {
+          // the elements are formatted lazily and text buffers loaded in chunks by the control
+          continue;
+        }
+
+        buffer.setLength(0);
+        field.getCodec(reflectorGrid.getTypeConverterCollection()).format(object, accessor, buffer);
+        texts[i] = buffer.toString();
+      }
+    }
+
+    /**
+     * Creates the controls for the next chunk of fields and schedules the following chunk. Must
+     * be called on the FX application thread.
+     */
+    private void attachChunk() {
+      try {
+        if (grid == null) {
+          grid = new BoundGrid(reflectorGrid, reflectorGrid.createGridPane(), (ChangeSet) null);
+          grid.metadata = metadata;
+          grid.boundObject = object;
+          if (grid.changeSet != null) {
+            grid.changeSet.reset(object, texts.length);
+          }
+          grid.validation = grid.createValidation(texts.length);
+          newBindings = new ArrayList<>(texts.length);
+          insertionPosition = new InsertionPosition(0, 0);
+        }
+
+        List<FieldMetadata> fields = metadata.getFields();
+        int end = Math.min(nextField + ASYNC_CHUNK_SIZE, fields.size());
+
+        GridMetricsListener metricsListener = reflectorGrid.getMetricsListener();
+        boolean measure = metricsListener != GridMetricsListener.NONE;
+
+        for (; nextField < end; nextField++) {
+          long fieldStart = measure ? System.nanoTime() : 0;
+          FieldBinding binding = reflectorGrid.createBinding(
+              fields.get(nextField), nextField, grid.changeSet
+          );
+          binding.setHistory(grid.history);
+          binding.setValidation(grid.validation);
+          binding.bind(
+              object,
+              primitiveSnapshots[nextField], referenceSnapshots[nextField], texts[nextField]
+          );
+
+          insertionPosition = reflectorGrid.getLabelDisplayOrder().addNode(
+              insertionPosition, binding.getLabel(), binding.getControl(), grid.gridPane
+          );
+          newBindings.add(binding);
+
+          if (measure) {
+            metricsListener.fieldBuilt(
+                fields.get(nextField).getField(), System.nanoTime() - fieldStart
+            );
+          }
+        }
+
+        if (nextField < fields.size()) {
+          // queued behind the pulses that are already waiting, so frames keep rendering
+          Platform.runLater(this::attachChunk);
+          return;
+        }
+
+        grid.bindings = Collections.unmodifiableList(newBindings);
+        if (grid.validation != null) {
+          grid.validation.setBindings(grid.bindings);
+          grid.validation.validateAll(object);
+        }
+        if (measure) {
+          // includes the preparation on the worker and the time waiting for the FX thread
+          metricsListener.gridBuilt(
+              metadata.getType(), newBindings.size(), System.nanoTime() - startNanos
+          );
+        }
+        result.complete(grid);
+      } catch (RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+    }
+  }
+}
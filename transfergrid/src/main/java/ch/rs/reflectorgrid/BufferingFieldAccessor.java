@@ -0,0 +1,225 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.ValueKind;
+
+/**
+ * A {@link FieldAccessor} that writes to a {@link ChangeSet} instead of the object. Reads return
+ * the buffered value if there is one, so the control keeps displaying what the user entered.
+ *
+ * <p>Only the object the change set is bound to is buffered, other objects are read and written
+ * directly.
+ */
+class BufferingFieldAccessor implements FieldAccessor {
+
+  private final ChangeSet changeSet;
+  private final int index;
+  private final FieldAccessor delegate;
+  private final ValueKind valueKind;
+
+  BufferingFieldAccessor(ChangeSet changeSet, int index, FieldAccessor delegate,
+      ValueKind valueKind) {
+    this.changeSet = changeSet;
+    this.index = index;
+    this.delegate = delegate;
+    this.valueKind = valueKind;
+  }
+
+  @Override
+  public Object get(Object target) {
+    if (!changeSet.isChanged(target, index)) {
+      return delegate.get(target);
+    }
+    if (valueKind.isPrimitive()) {
+      return valueKind.box(changeSet.getPrimitive(index));
+    }
+    return changeSet.getReference(index);
+  }
+
+  @Override
+  public void set(Object target, Object value) {
+    if (!changeSet.isBuffering(target)) {
+      delegate.set(target, value);
+    } else if (valueKind.isPrimitive()) {
+      changeSet.setPrimitive(index, valueKind.unbox(value));
+    } else {
+      changeSet.setReference(index, value);
+    }
+  }
+
+  @Override
+  public int getInt(Object target) {
+    if (!changeSet.isChanged(target, index)) {
+      return delegate.getInt(target);
+    }
+    if (valueKind != ValueKind.INT) {
+      return FieldAccessor.super.getInt(target);
+    }
+    return (int) changeSet.getPrimitive(index);
+  }
+
+  @Override
+  public void setInt(Object target, int value) {
+    if (!changeSet.isBuffering(target)) {
+      delegate.setInt(target, value);
+    } else if (valueKind != ValueKind.INT) {
+      FieldAccessor.super.setInt(target, value);
+    } else {
+      changeSet.setPrimitive(index, value);
+    }
+  }
+
+  @Override
+  public long getLong(Object target) {
+    if (!changeSet.isChanged(target, index)) {
+      return delegate.getLong(target);
+    }
+    if (valueKind != ValueKind.LONG) {
+      return FieldAccessor.super.getLong(target);
+    }
+    return changeSet.getPrimitive(index);
+  }
+
+  @Override
+  public void setLong(Object target, long value) {
+    if (!changeSet.isBuffering(target)) {
+      delegate.setLong(target, value);
+    } else if (valueKind != ValueKind.LONG) {
+      FieldAccessor.super.setLong(target, value);
+    } else {
+      changeSet.setPrimitive(index, value);
+    }
+  }
+
+  @Override
+  public double getDouble(Object target) {
+    if (!changeSet.isChanged(target, index)) {
+      return delegate.getDouble(target);
+    }
+    if (valueKind != ValueKind.DOUBLE) {
+      return FieldAccessor.super.getDouble(target);
+    }
+    return Double.longBitsToDouble(changeSet.getPrimitive(index));
+  }
+
+  @Override
+  public void setDouble(Object target, double value) {
+    if (!changeSet.isBuffering(target)) {
+      delegate.setDouble(target, value);
+    } else if (valueKind != ValueKind.DOUBLE) {
+      FieldAccessor.super.setDouble(target, value);
+    } else {
+      changeSet.setPrimitive(index, Double.doubleToLongBits(value));
+    }
+  }
+
+  @Override
+  public float getFloat(Object target) {
+    if (!changeSet.isChanged(target, index)) {
+      return delegate.getFloat(target);
+    }
+    if (valueKind != ValueKind.FLOAT) {
+      return FieldAccessor.super.getFloat(target);
+    }
+    return Float.intBitsToFloat((int) changeSet.getPrimitive(index));
+  }
+
+  @Override
+  public void setFloat(Object target, float value) {
+    if (!changeSet.isBuffering(target)) {
+      delegate.setFloat(target, value);
+    } else if (valueKind != ValueKind.FLOAT) {
+      FieldAccessor.super.setFloat(target, value);
+    } else {
+      changeSet.setPrimitive(index, Float.floatToIntBits(value));
+    }
+  }
+
+  @Override
+  public short getShort(Object target) {
+    if (!changeSet.isChanged(target, index)) {
+      return delegate.getShort(target);
+    }
+    if (valueKind != ValueKind.SHORT) {
+      return FieldAccessor.super.getShort(target);
+    }
+    return (short) changeSet.getPrimitive(index);
+  }
+
+  @Override
+  public void setShort(Object target, short value) {
+    if (!changeSet.isBuffering(target)) {
+      delegate.setShort(target, value);
+    } else if (valueKind != ValueKind.SHORT) {
+      FieldAccessor.super.setShort(target, value);
+    } else {
+      changeSet.setPrimitive(index, value);
+    }
+  }
+
+  @Override
+  public byte getByte(Object target) {
+    if (!changeSet.isChanged(target, index)) {
+      return delegate.getByte(target);
+    }
+    if (valueKind != ValueKind.BYTE) {
+      return FieldAccessor.super.getByte(target);
+    }
+    return (byte) changeSet.getPrimitive(index);
+  }
+
+  @Override
+  public void setByte(Object target, byte value) {
+    if (!changeSet.isBuffering(target)) {
+      delegate.setByte(target, value);
+    } else if (valueKind != ValueKind.BYTE) {
+      FieldAccessor.super.setByte(target, value);
+    } else {
+      changeSet.setPrimitive(index, value);
+    }
+  }
+
+  @Override
+  public boolean getBoolean(Object target) {
+    if (!changeSet.isChanged(target, index)) {
+      return delegate.getBoolean(target);
+    }
+    if (valueKind != ValueKind.BOOLEAN) {
+      return FieldAccessor.super.getBoolean(target);
+    }
+    return changeSet.getPrimitive(index) != 0;
+  }
+
+  @Override
+  public void setBoolean(Object target, boolean value) {
+    if (!changeSet.isBuffering(target)) {
+      delegate.setBoolean(target, value);
+    } else if (valueKind != ValueKind.BOOLEAN) {
+      FieldAccessor.super.setBoolean(target, value);
+    } else {
+      changeSet.setPrimitive(index, value ? 1 : 0);
+    }
+  }
+
+  @Override
+  public char getChar(Object target) {
+    if (!changeSet.isChanged(target, index)) {
+      return delegate.getChar(target);
+    }
+    if (valueKind != ValueKind.CHAR) {
+      return FieldAccessor.super.getChar(target);
+    }
+    return (char) changeSet.getPrimitive(index);
+  }
+
+  @Override
+  public void setChar(Object target, char value) {
+    if (!changeSet.isBuffering(target)) {
+      delegate.setChar(target, value);
+    } else if (valueKind != ValueKind.CHAR) {
+      FieldAccessor.super.setChar(target, value);
+    } else {
+      changeSet.setPrimitive(index, value);
+    }
+  }
+}
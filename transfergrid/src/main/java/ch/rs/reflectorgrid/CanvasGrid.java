@@ -0,0 +1,379 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.ClassMetadata;
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.ValueKind;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.application.Platform;
+import javafx.geometry.Orientation;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+
+/**
+ * A read-only alternative to {@link BoundGrid}, created by {@link
+ * ReflectorGridV2#bindObjectToCanvas(Object)}.
+ *
+ * <p>All labels and values are drawn onto a single {@link Canvas}, so there is no control, skin or
+ * CSS per field. Only the rows in view are painted. {@link #refresh()} compares the values with
+ * the ones last displayed and repaints only the rows that changed. Label widths are measured once
+ * per font and cached.
+ *
+ * <p>Values are displayed as formatted by the converters of the grid. Lists and nested objects are
+ * shown as a single text. Of values spanning several lines, only the first line is drawn. The
+ * labels are always displayed next to the values.
+ */
+public class CanvasGrid {
+
+  /**
+   * The space around the text of a row.
+   */
+  private static final double PADDING = 4;
+  /**
+   * The number of rows the grid wants to show when it is not sized by its parent.
+   */
+  private static final int PREFERRED_ROWS = 20;
+  private static final double PREFERRED_VALUE_WIDTH = 200;
+
+  private final ReflectorGridV2 reflectorGrid;
+  private final CanvasRegion region;
+  private final AtomicBoolean refreshRequested = new AtomicBoolean();
+
+  private Font font;
+  private Paint labelFill;
+  private Paint valueFill;
+
+  private ClassMetadata metadata;
+  private Object boundObject;
+  private FieldAccessor[] accessors;
+  private String[] labels;
+  private String[] texts;
+  private long[] primitiveSnapshots;
+  private Object[] referenceSnapshots;
+
+  private TextMeasurer measurer;
+  private double labelColumnWidth = -1;
+
+  CanvasGrid(ReflectorGridV2 reflectorGrid, Object object) {
+    this.reflectorGrid = reflectorGrid;
+    this.font = Font.getDefault();
+    this.labelFill = Color.BLACK;
+    this.valueFill = Color.BLACK;
+    this.region = new CanvasRegion();
+
+    rebind(object);
+  }
+
+  /**
+   * @return The node displaying the bound object. It scrolls on its own and should be given a
+   *     bounded height instead of being put into a {@link javafx.scene.control.ScrollPane}.
+   */
+  public Region getNode() {
+    return region;
+  }
+
+  /**
+   * @return The object the grid is currently bound to
+   */
+  public Object getBoundObject() {
+    return boundObject;
+  }
+
+  /**
+   * @param font The font of the labels and values
+   * @return This object
+   */
+  public CanvasGrid setFont(Font font) {
+    this.font = Objects.requireNonNull(font, "font can not be null!");
+    this.measurer = null;
+    this.labelColumnWidth = -1;
+    region.requestLayout();
+    region.repaint();
+
+    return this;
+  }
+
+  /**
+   * @param labelFill The paint of the labels
+   * @param valueFill The paint of the values
+   * @return This object
+   */
+  public CanvasGrid setTextFill(Paint labelFill, Paint valueFill) {
+    this.labelFill = Objects.requireNonNull(labelFill, "labelFill can not be null!");
+    this.valueFill = Objects.requireNonNull(valueFill, "valueFill can not be null!");
+    region.repaint();
+
+    return this;
+  }
+
+  /**
+   * Binds the grid to another object. If the object has the same class as the current one, only
+   * the rows whose value differs are repainted.
+   *
+   * @param object The new value object
+   */
+  public void rebind(Object object) {
+    Objects.requireNonNull(object, "object can not be null!");
+
+    boundObject = object;
+
+    if (metadata != null && object.getClass() == metadata.getType()) {
+      refresh();
+      return;
+    }
+
+    metadata = ClassMetadata.forClass(object.getClass());
+    List<FieldMetadata> fields = metadata.getFields();
+    accessors = new FieldAccessor[fields.size()];
+    labels = new String[fields.size()];
+    texts = new String[fields.size()];
+    primitiveSnapshots = new long[fields.size()];
+    referenceSnapshots = new Object[fields.size()];
+
+    for (int i = 0; i < fields.size(); i++) {
+      FieldMetadata field = fields.get(i);
+      accessors[i] = field.getAccessor(reflectorGrid.getFieldAccessorFactory());
+      labels[i] = field.getLabel(reflectorGrid.getFieldNamingStrategy());
+      takeSnapshot(i);
+      texts[i] = reflectorGrid.formatValue(field, accessors[i], object).toString();
+    }
+
+    labelColumnWidth = -1;
+    region.resetScroll();
+    region.requestLayout();
+    region.repaint();
+  }
+
+  /**
+   * Reads the values of the bound object again and repaints the rows whose value changed since
+   * it was last displayed. Values are compared like {@link BoundGrid#refresh()} does. Must be
+   * called on the FX application thread.
+   *
+   * @return The number of rows that changed
+   */
+  public int refresh() {
+    List<FieldMetadata> fields = metadata.getFields();
+    int updated = 0;
+
+    for (int i = 0; i < fields.size(); i++) {
+      if (!takeSnapshot(i)) {
+        continue;
+      }
+
+      StringBuilder text = reflectorGrid.formatValue(fields.get(i), accessors[i], boundObject);
+      if (!texts[i].contentEquals(text)) {
+        texts[i] = text.toString();
+        region.repaintRow(i);
+        updated++;
+      }
+    }
+    return updated;
+  }
+
+  /**
+   * Schedules a {@link #refresh()} on the FX application thread. Can be called from any thread,
+   * requests that arrive before the refresh ran are coalesced into a single one.
+   */
+  public void requestRefresh() {
+    if (refreshRequested.compareAndSet(false, true)) {
+      Platform.runLater(() -> {
+        refreshRequested.set(false);
+        refresh();
+      });
+    }
+  }
+
+  /**
+   * Remembers the current value of a field.
+   *
+   * @param index The index of the field
+   * @return True if the value differs from the previous snapshot
+   */
+  private boolean takeSnapshot(int index) {
+    ValueKind valueKind = metadata.getFields().get(index).getValueKind();
+
+    if (valueKind.isPrimitive()) {
+      long bits = valueKind.readBits(accessors[index], boundObject);
+      if (bits == primitiveSnapshots[index]) {
+        return false;
+      }
+      primitiveSnapshots[index] = bits;
+      return true;
+    }
+
+    Object value = accessors[index].get(boundObject);
+    if (Objects.equals(value, referenceSnapshots[index])) {
+      return false;
+    }
+    referenceSnapshots[index] = value;
+    return true;
+  }
+
+  private TextMeasurer getMeasurer() {
+    if (measurer == null) {
+      measurer = TextMeasurer.forFont(font);
+    }
+    return measurer;
+  }
+
+  private double getRowHeight() {
+    return Math.ceil(getMeasurer().getLineHeight()) + 2 * PADDING;
+  }
+
+  private double getLabelColumnWidth() {
+    if (labelColumnWidth < 0) {
+      double width = 0;
+      for (String label : labels) {
+        width = Math.max(width, getMeasurer().getWidth(label));
+      }
+      labelColumnWidth = Math.ceil(width) + 3 * PADDING;
+    }
+    return labelColumnWidth;
+  }
+
+  /**
+   * The node of the grid: the canvas and a scroll bar next to it. The canvas only covers the
+   * visible area, so its size does not depend on the number of fields.
+   */
+  private final class CanvasRegion extends Region {
+
+    private final Canvas canvas;
+    private final ScrollBar scrollBar;
+
+    private CanvasRegion() {
+      this.canvas = new Canvas();
+      this.scrollBar = new ScrollBar();
+
+      getStyleClass().add("canvas-grid");
+      scrollBar.setOrientation(Orientation.VERTICAL);
+      scrollBar.valueProperty().addListener((observable, oldValue, newValue) -> repaint());
+      setOnScroll(event -> scrollBar.setValue(clamp(scrollBar.getValue() - event.getDeltaY())));
+
+      getChildren().addAll(canvas, scrollBar);
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+      return getLabelColumnWidth() + PREFERRED_VALUE_WIDTH + scrollBar.prefWidth(-1)
+          + snappedLeftInset() + snappedRightInset();
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+      return Math.min(labels.length, PREFERRED_ROWS) * getRowHeight()
+          + snappedTopInset() + snappedBottomInset();
+    }
+
+    @Override
+    protected void layoutChildren() {
+      double x = snappedLeftInset();
+      double y = snappedTopInset();
+      double width = Math.max(0, getWidth() - x - snappedRightInset());
+      double height = Math.max(0, getHeight() - y - snappedBottomInset());
+      double contentHeight = labels.length * getRowHeight();
+
+      boolean scrolling = contentHeight > height;
+      scrollBar.setVisible(scrolling);
+      double scrollBarWidth = scrolling ? Math.ceil(scrollBar.prefWidth(-1)) : 0;
+      scrollBar.resizeRelocate(x + width - scrollBarWidth, y, scrollBarWidth, height);
+      scrollBar.setMax(Math.max(0, contentHeight - height));
+      scrollBar.setVisibleAmount(height);
+      scrollBar.setValue(clamp(scrollBar.getValue()));
+
+      double canvasWidth = Math.max(0, width - scrollBarWidth);
+      canvas.relocate(x, y);
+      if (canvas.getWidth() != canvasWidth || canvas.getHeight() != height) {
+        canvas.setWidth(canvasWidth);
+        canvas.setHeight(height);
+        repaint();
+      }
+    }
+
+    private void resetScroll() {
+      scrollBar.setValue(0);
+    }
+
+    private double clamp(double value) {
+      return Math.max(scrollBar.getMin(), Math.min(scrollBar.getMax(), value));
+    }
+
+    /**
+     * Clears the canvas and paints all rows in view.
+     */
+    private void repaint() {
+      if (canvas.getWidth() <= 0 || canvas.getHeight() <= 0) {
+        // painted once the canvas is laid out
+        return;
+      }
+
+      canvas.getGraphicsContext2D().clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+      double rowHeight = getRowHeight();
+      int first = (int) (scrollBar.getValue() / rowHeight);
+      int last = (int) ((scrollBar.getValue() + canvas.getHeight()) / rowHeight);
+      for (int row = first; row <= last && row < labels.length; row++) {
+        paintRow(row, rowHeight);
+      }
+    }
+
+    /**
+     * Paints a single row again if it is in view.
+     *
+     * @param row The index of the row
+     */
+    private void repaintRow(int row) {
+      if (canvas.getWidth() <= 0 || canvas.getHeight() <= 0) {
+        return;
+      }
+
+      double rowHeight = getRowHeight();
+      double top = row * rowHeight - scrollBar.getValue();
+      if (top + rowHeight <= 0 || top >= canvas.getHeight()) {
+        return;
+      }
+      canvas.getGraphicsContext2D().clearRect(0, top, canvas.getWidth(), rowHeight);
+      paintRow(row, rowHeight);
+    }
+
+    private void paintRow(int row, double rowHeight) {
+      GraphicsContext graphics = canvas.getGraphicsContext2D();
+      double top = row * rowHeight - scrollBar.getValue();
+      double baseline = top + PADDING + getMeasurer().getBaselineOffset();
+      double valueX = getLabelColumnWidth();
+
+      graphics.setFont(font);
+      graphics.setFill(labelFill);
+      graphics.fillText(labels[row], PADDING, baseline);
+
+      // long values are cut off at the edge of the row instead of being measured
+      graphics.save();
+      graphics.beginPath();
+      graphics.rect(valueX, top, canvas.getWidth() - valueX, rowHeight);
+      graphics.clip();
+      graphics.setFill(valueFill);
+      graphics.fillText(getFirstLine(texts[row]), valueX, baseline);
+      graphics.restore();
+    }
+
+    /**
+     * A row is a single line high, but fillText would draw every line of the text below the
+     * previous one, over the following rows.
+     */
+    private String getFirstLine(String text) {
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        if (c == '\n' || c == '\r') {
+          return text.substring(0, i);
+        }
+      }
+      return text;
+    }
+  }
+}
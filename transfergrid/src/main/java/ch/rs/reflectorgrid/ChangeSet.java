@@ -0,0 +1,323 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.ClassMetadata;
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.StripedLocks;
+import ch.rs.reflectorgrid.core.ValueKind;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The edits of a {@link BoundGrid} that were not written to the bound object yet. Only used if
+ * {@link ReflectorGridV2#setBufferedEdits(boolean)} is enabled.
+ *
+ * <p>The values are stored per field index, primitives as their bits in a {@code long[]} and
+ * references in an {@code Object[]}, so buffering an edit does not allocate. The controls show the
+ * buffered values until they are applied with {@link #commit()} or discarded with {@link
+ * #rollback()}. Threads reading the object in the meantime see either none or all of the edits,
+ * if they use the same lock as the commit.
+ *
+ * <p>Edits of nested objects are collected in their own change set, which is committed and rolled
+ * back together with the one of the parent grid. Elements of arrays and lists would be edited in
+ * place, so they are read only while edits are buffered. Must only be used on the FX application
+ * thread.
+ */
+public class ChangeSet {
+
+  private final BoundGrid grid;
+  private final ChangeSet parent;
+  private final List<ChangeSet> children;
+  private final BitSet changed;
+  private final StripedLocks stripedLocks;
+
+  private Object target;
+  private FieldAccessor[] accessors;
+  private ValueKind[] valueKinds;
+  private long[] primitives;
+  private Object[] references;
+
+  ChangeSet(BoundGrid grid, ChangeSet parent, StripedLocks stripedLocks) {
+    this.grid = grid;
+    this.parent = parent;
+    this.stripedLocks = stripedLocks;
+    this.children = new ArrayList<>();
+    this.changed = new BitSet();
+    this.accessors = new FieldAccessor[0];
+    this.valueKinds = new ValueKind[0];
+    this.primitives = new long[0];
+    this.references = new Object[0];
+
+    if (parent != null) {
+      parent.children.add(this);
+    }
+  }
+
+  /**
+   * @return The number of buffered field values, including those of nested objects
+   */
+  public int size() {
+    int size = changed.cardinality();
+    for (ChangeSet child : children) {
+      size += child.size();
+    }
+    return size;
+  }
+
+  /**
+   * @return True if no edits are buffered
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Writes all buffered values to the bound object. If the grid has {@link StripedLocks}, the
+   * write locks of the bound object and of the changed nested objects are held, so {@link
+   * ch.rs.reflectorgrid.core.FieldSnapshot}s of any of them see either none or all of the edits.
+   * Otherwise the values are written without locking.
+   *
+   * <p>Like the other commit methods, text the user entered but did not commit yet, e.g. of a
+   * field committed on enter, is buffered first, so it is part of the same commit.
+   */
+  public void commit() {
+    flushPendingEdits();
+    if (stripedLocks == null) {
+      apply();
+      return;
+    }
+    if (isEmpty()) {
+      return;
+    }
+
+    List<Object> targets = new ArrayList<>();
+    collectTargets(targets);
+    List<StampedLock> locks = stripedLocks.getAll(targets);
+    long[] stamps = new long[locks.size()];
+    for (int i = 0; i < stamps.length; i++) {
+      stamps[i] = locks.get(i).writeLock();
+    }
+    try {
+      apply();
+    } finally {
+      for (int i = stamps.length - 1; i >= 0; i--) {
+        locks.get(i).unlockWrite(stamps[i]);
+      }
+    }
+  }
+
+  /**
+   * Writes all buffered values to the bound object while holding the lock. Nested objects are
+   * written holding the same lock.
+   *
+   * @param lock The lock guarding the bound object
+   */
+  public void commit(Lock lock) {
+    Objects.requireNonNull(lock, "lock can not be null!");
+
+    flushPendingEdits();
+    if (isEmpty()) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      apply();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Writes all buffered values to the bound object while holding the write lock, so optimistic
+   * readers validating their stamp never see a partially applied change set. Nested objects are
+   * written holding the same lock.
+   *
+   * @param lock The lock guarding the bound object
+   */
+  public void commit(StampedLock lock) {
+    Objects.requireNonNull(lock, "lock can not be null!");
+
+    flushPendingEdits();
+    if (isEmpty()) {
+      return;
+    }
+
+    long stamp = lock.writeLock();
+    try {
+      apply();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Discards all buffered values and the text the user entered but did not commit yet, e.g. of a
+   * field committed on enter, and shows the values of the bound object again.
+   */
+  public void rollback() {
+    boolean buffered = !isEmpty();
+
+    clear();
+    discardPendingEdits();
+    if (buffered) {
+      refreshGrids();
+    }
+  }
+
+  /**
+   * Creates an accessor for a field of the bound object that writes to this change set.
+   *
+   * @param index The index of the field in the {@link ClassMetadata}
+   * @param delegate The accessor of the field
+   * @param valueKind The value kind of the field
+   * @return The buffering accessor
+   */
+  FieldAccessor buffer(int index, FieldAccessor delegate, ValueKind valueKind) {
+    accessors[index] = delegate;
+    valueKinds[index] = valueKind;
+    return new BufferingFieldAccessor(this, index, delegate, valueKind);
+  }
+
+  /**
+   * Discards all edits and prepares the change set for a new object.
+   *
+   * @param target The newly bound object
+   * @param fieldCount The number of fields of the object
+   */
+  void reset(Object target, int fieldCount) {
+    clear();
+    this.target = target;
+
+    if (accessors.length != fieldCount) {
+      accessors = new FieldAccessor[fieldCount];
+      valueKinds = new ValueKind[fieldCount];
+      primitives = new long[fieldCount];
+      references = new Object[fieldCount];
+    }
+  }
+
+  /**
+   * Removes this change set from its parent, discarding its edits. Used when a nested grid is
+   * dropped.
+   */
+  void detach() {
+    clear();
+    if (parent != null) {
+      parent.children.remove(this);
+    }
+  }
+
+  /**
+   * @param target The object to check
+   * @param index The index of the field
+   * @return True if the field of the object has a buffered value
+   */
+  boolean isChanged(Object target, int index) {
+    return target == this.target && changed.get(index);
+  }
+
+  long getPrimitive(int index) {
+    return primitives[index];
+  }
+
+  Object getReference(int index) {
+    return references[index];
+  }
+
+  /**
+   * @param target The object to write to
+   * @return True if writes to the object are buffered by this change set
+   */
+  boolean isBuffering(Object target) {
+    return target == this.target;
+  }
+
+  void setPrimitive(int index, long bits) {
+    primitives[index] = bits;
+    changed.set(index);
+  }
+
+  void setReference(int index, Object value) {
+    references[index] = value;
+    changed.set(index);
+  }
+
+  /**
+   * Buffers the edits the controls of this and the nested grids did not commit yet. Done before
+   * taking the lock, as converting the text does not touch the bound object.
+   */
+  private void flushPendingEdits() {
+    List<FieldBinding> bindings = grid.getBindings();
+    if (bindings != null) {
+      // null while an asynchronous build is still adding controls
+      for (FieldBinding binding : bindings) {
+        binding.flushPendingEdit();
+      }
+    }
+    for (ChangeSet child : children) {
+      child.flushPendingEdits();
+    }
+  }
+
+  /**
+   * Collects the objects this and the nested change sets write to.
+   */
+  private void collectTargets(List<Object> targets) {
+    if (!changed.isEmpty()) {
+      targets.add(target);
+    }
+    for (ChangeSet child : children) {
+      child.collectTargets(targets);
+    }
+  }
+
+  private void discardPendingEdits() {
+    List<FieldBinding> bindings = grid.getBindings();
+    if (bindings != null) {
+      for (FieldBinding binding : bindings) {
+        binding.discardPendingEdit();
+      }
+    }
+    for (ChangeSet child : children) {
+      child.discardPendingEdits();
+    }
+  }
+
+  private void apply() {
+    for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+      if (valueKinds[i].isPrimitive()) {
+        valueKinds[i].writeBits(accessors[i], target, primitives[i]);
+      } else {
+        accessors[i].set(target, references[i]);
+      }
+    }
+    for (ChangeSet child : children) {
+      child.apply();
+    }
+
+    changed.clear();
+    Arrays.fill(references, null);
+  }
+
+  private void refreshGrids() {
+    grid.refresh();
+    for (ChangeSet child : children) {
+      // collapsed nested grids are not refreshed by their parent
+      child.refreshGrids();
+    }
+  }
+
+  private void clear() {
+    changed.clear();
+    Arrays.fill(references, null);
+
+    for (ChangeSet child : children) {
+      child.clear();
+    }
+  }
+}
@@ -0,0 +1,415 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldChangeListener;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.StripedLocks;
+import ch.rs.reflectorgrid.core.typeconversion.ConversionException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Supplier;
+import javafx.collections.ObservableListBase;
+import javafx.scene.Node;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.util.StringConverter;
+
+/**
+ * A {@link FieldBinding} for {@link List} and array fields. The elements are shown in a {@link
+ * ListView}, so only the visible ones are converted to strings.
+ *
+ * <p>Edits are written to the single element that was edited. Elements are added and removed
+ * using the context menu. Lists are changed in place, arrays are replaced by a copy. Like whole
+ * values, changed elements are written holding the write lock of the bound object if the grid has
+ * {@link StripedLocks}, reported to the {@link GridMetricsListener}, validated and passed to the
+ * {@link FieldChangeListener}. They are not recorded in the {@link EditHistory}.
+ *
+ * <p>Edits can not be buffered in a {@link ChangeSet}, so the elements are read only if the grid
+ * buffers its edits.
+ *
+ * <p>Lists that can not be changed, like {@link java.util.Collections#unmodifiableList(List)},
+ * are reported to {@link GridMetricsListener#fieldFailed} when an edit fails. Adding and removing
+ * elements is disabled afterwards, until another list is bound.
+ */
+class CollectionFieldBinding extends FieldBinding {
+
+  private final ReflectorGridV2 reflectorGrid;
+  private final ListView<Integer> control;
+  private final Indices indices;
+  private final Class<?> elementType;
+
+  private ElementList elements;
+  private boolean resizable;
+
+  /**
+   * @param editable False to only display the elements, e.g. because edits are buffered
+   */
+  CollectionFieldBinding(ReflectorGridV2 reflectorGrid, FieldMetadata field,
+      FieldAccessor accessor, Label label, ListView<Integer> control, boolean editable) {
+    super(reflectorGrid, field, accessor, label);
+    this.reflectorGrid = reflectorGrid;
+    this.control = control;
+    this.indices = new Indices();
+    this.elementType = getElementType(field);
+
+    control.setItems(indices);
+    control.setEditable(editable);
+    control.setCellFactory(listView -> new ElementCell());
+
+    if (editable) {
+      control.setContextMenu(createContextMenu());
+    }
+  }
+
+  @Override
+  ListView<Integer> getControl() {
+    return control;
+  }
+
+  /**
+   * Also updates the visible elements, as they might have been changed in place.
+   */
+  @Override
+  boolean refresh() {
+    boolean updated = super.refresh();
+
+    if (!updated && elements != null && elements.size() != indices.size()) {
+      // elements were added to or removed from the list in place
+      indices.reset(elements.size());
+      return true;
+    }
+
+    // only the visible cells show an element, the others are updated when they are reused
+    for (Node cell : control.lookupAll(".list-cell")) {
+      if (cell instanceof ElementCell && cell.isVisible()) {
+        updated |= ((ElementCell) cell).updateText();
+      }
+    }
+
+    return updated;
+  }
+
+  /**
+   * The elements wrap the bound list or array, so a list replaced by an equal one is bound again.
+   */
+  @Override
+  protected boolean isBoundToInstance() {
+    return true;
+  }
+
+  @Override
+  protected void updateDisplayedText() {
+    updateElements(getValue());
+    resizable = true;
+    indices.reset(elements == null ? 0 : elements.size());
+  }
+
+  @Override
+  protected String getDisplayedText() {
+    return null;
+  }
+
+  @Override
+  protected void setDisplayedText(String text) {
+    // the elements are displayed by the cells
+  }
+
+  @Override
+  protected void attachListener() {
+    // edits are written by the cells
+  }
+
+  @Override
+  protected void detachListener() {
+    // edits are written by the cells
+  }
+
+  private ContextMenu createContextMenu() {
+    MenuItem add = new MenuItem("Add element");
+    add.setOnAction(event -> {
+      int selected = control.getSelectionModel().getSelectedIndex();
+      int index = selected < 0 ? indices.size() : selected + 1;
+      if (resize(() -> elements.insert(index))) {
+        indices.added(index);
+      }
+    });
+
+    MenuItem remove = new MenuItem("Remove element");
+    remove.setOnAction(event -> {
+      int index = control.getSelectionModel().getSelectedIndex();
+      if (resize(() -> elements.remove(index))) {
+        indices.removed(index);
+      }
+    });
+
+    ContextMenu contextMenu = new ContextMenu(add, remove);
+    contextMenu.setOnShowing(event -> {
+      add.setDisable(elements == null || !resizable);
+      remove.setDisable(
+          elements == null || !resizable || control.getSelectionModel().isEmpty()
+      );
+    });
+    return contextMenu;
+  }
+
+  /**
+   * Adds or removes an element and writes the new array if the change created one.
+   *
+   * @param change The change, returning the new backing array or list
+   * @return True if the elements were changed
+   */
+  private boolean resize(Supplier<Object> change) {
+    Object oldBacking = getValue();
+    Object backing;
+    try {
+      backing = writeLocked(change);
+    } catch (UnsupportedOperationException e) {
+      resizable = false;
+      reportFailure(e);
+      return false;
+    }
+
+    if (backing != oldBacking) {
+      setValue(backing);
+      valueReplaced(oldBacking);
+    } else {
+      valueEdited();
+    }
+    updateElements(backing);
+    return true;
+  }
+
+  /**
+   * Converts the text and writes it to a single element.
+   *
+   * @param index The index of the element
+   * @param text The text entered by the user
+   * @throws ConversionException if the text could not be converted
+   * @throws UnsupportedOperationException if the list can not be changed
+   */
+  private void writeElement(int index, String text) {
+    GridMetricsListener metricsListener = reflectorGrid.getMetricsListener();
+    boolean measure = metricsListener != GridMetricsListener.NONE;
+    long start = measure ? System.nanoTime() : 0;
+
+    try {
+      writeLocked(() -> {
+        elements.parse(index, text);
+        return null;
+      });
+    } catch (ConversionException e) {
+      if (measure) {
+        metricsListener.conversionFailed(getField().getField(), text, e);
+      }
+      throw e;
+    } catch (UnsupportedOperationException e) {
+      reportFailure(e);
+      throw e;
+    }
+
+    if (measure) {
+      metricsListener.fieldWritten(getField().getField(), System.nanoTime() - start);
+    }
+    valueEdited();
+  }
+
+  private void reportFailure(Exception error) {
+    GridMetricsListener metricsListener = reflectorGrid.getMetricsListener();
+    if (metricsListener != GridMetricsListener.NONE) {
+      metricsListener.fieldFailed(getField().getField(), error);
+    }
+  }
+
+  private void updateElements(Object backing) {
+    if (backing == null) {
+      elements = null;
+      return;
+    }
+
+    StringConverter<?> converter = elementType.isPrimitive()
+        ? null
+        : reflectorGrid.getTypeConverterCollection().getConverter(elementType);
+    elements = ElementList.create(backing, elementType, converter);
+  }
+
+  private static Class<?> getElementType(FieldMetadata field) {
+    if (field.getType().isArray()) {
+      return field.getType().getComponentType();
+    }
+
+    Type type = field.getField().getGenericType();
+    if (type instanceof ParameterizedType) {
+      Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+      if (argument instanceof Class) {
+        return (Class<?>) argument;
+      }
+      if (argument instanceof ParameterizedType) {
+        return (Class<?>) ((ParameterizedType) argument).getRawType();
+      }
+    }
+    return Object.class;
+  }
+
+  /**
+   * The items of the {@link ListView}: just the indices of the elements, which are computed on
+   * demand.
+   */
+  private static final class Indices extends ObservableListBase<Integer> {
+
+    private int size;
+
+    @Override
+    public Integer get(int index) {
+      return index;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    void reset(int newSize) {
+      beginChange();
+      nextRemove(0, new Range(size));
+      size = newSize;
+      nextAdd(0, newSize);
+      endChange();
+    }
+
+    void added(int index) {
+      beginChange();
+      size++;
+      nextAdd(index, index + 1);
+      endChange();
+    }
+
+    void removed(int index) {
+      beginChange();
+      size--;
+      nextRemove(index, Integer.valueOf(index));
+      endChange();
+    }
+  }
+
+  /**
+   * A list containing the numbers from 0 to size - 1, used to report removed indices.
+   */
+  private static final class Range extends AbstractList<Integer> {
+
+    private final int size;
+
+    private Range(int size) {
+      this.size = size;
+    }
+
+    @Override
+    public Integer get(int index) {
+      return index;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  private final class ElementCell extends ListCell<Integer> {
+
+    private final StringBuilder buffer = new StringBuilder();
+    private TextField textField;
+
+    @Override
+    protected boolean isItemChanged(Integer oldItem, Integer newItem) {
+      // the items are indices, so an unchanged item can still be a different element
+      return true;
+    }
+
+    @Override
+    protected void updateItem(Integer item, boolean empty) {
+      super.updateItem(item, empty);
+
+      if (empty || item == null || elements == null || item >= elements.size()) {
+        setText(null);
+        setGraphic(null);
+        return;
+      }
+
+      if (!isEditing()) {
+        setGraphic(null);
+        updateText();
+      }
+    }
+
+    /**
+     * @return True if the displayed text changed
+     */
+    boolean updateText() {
+      int index = getIndex();
+      if (isEmpty() || isEditing() || elements == null || index < 0 || index >= elements.size()) {
+        return false;
+      }
+
+      buffer.setLength(0);
+      elements.format(index, buffer);
+
+      String text = getText();
+      if (text != null && text.contentEquals(buffer)) {
+        return false;
+      }
+      setText(buffer.toString());
+      return true;
+    }
+
+    @Override
+    public void startEdit() {
+      super.startEdit();
+      if (!isEditing()) {
+        return;
+      }
+
+      if (textField == null) {
+        textField = reflectorGrid.createTextField();
+        textField.setOnAction(event -> commitText());
+        textField.setOnKeyPressed(event -> {
+          if (event.getCode() == KeyCode.ESCAPE) {
+            cancelEdit();
+          }
+        });
+      }
+
+      buffer.setLength(0);
+      elements.format(getIndex(), buffer);
+      textField.setText(buffer.toString());
+
+      setText(null);
+      setGraphic(textField);
+      textField.requestFocus();
+    }
+
+    @Override
+    public void cancelEdit() {
+      super.cancelEdit();
+      setGraphic(null);
+      updateText();
+    }
+
+    private void commitText() {
+      try {
+        writeElement(getIndex(), textField.getText());
+      } catch (ConversionException e) {
+        // keep editing, the user can fix the text or press escape
+        return;
+      } catch (UnsupportedOperationException e) {
+        // the list can not be changed, fixing the text does not help
+      }
+      cancelEdit();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.TransferGrid;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+
+/**
+ * A {@link FieldBinding} for fields with {@link TransferGrid#options()}.
+ */
+class ComboBoxFieldBinding extends FieldBinding {
+
+  private final ComboBox<String> control;
+  private final ChangeListener<String> changeListener;
+
+  ComboBoxFieldBinding(ReflectorGridV2 reflectorGrid, FieldMetadata field, FieldAccessor accessor,
+      Label label, ComboBox<String> control) {
+    super(reflectorGrid, field, accessor, label);
+    this.control = control;
+    this.changeListener = (obs, ov, newValue) -> commit(newValue);
+  }
+
+  @Override
+  ComboBox<String> getControl() {
+    return control;
+  }
+
+  @Override
+  protected String getDisplayedText() {
+    return control.getSelectionModel().getSelectedItem();
+  }
+
+  @Override
+  protected void setDisplayedText(String text) {
+    control.getSelectionModel().select(text);
+  }
+
+  @Override
+  protected void attachListener() {
+    control.getSelectionModel().selectedItemProperty().addListener(changeListener);
+  }
+
+  @Override
+  protected void detachListener() {
+    control.getSelectionModel().selectedItemProperty().removeListener(changeListener);
+  }
+}
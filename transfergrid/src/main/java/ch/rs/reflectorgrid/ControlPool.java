@@ -0,0 +1,216 @@
+package ch.rs.reflectorgrid;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Control;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Region;
+
+/**
+ * A bounded pool of text fields, text areas and combo boxes that grids take their controls from,
+ * enabled with {@link ReflectorGridV2#setControlPool(ControlPool)}. A single pool can be shared by
+ * any number of {@link ReflectorGridV2}s.
+ *
+ * <p>Creating a control and its skin and styling it with CSS is the expensive part of building a
+ * grid. When a {@link BoundGrid} is rebound to an object of another class or disposed, its
+ * controls are reset and returned to the pool, so switching between classes mostly reuses
+ * controls that are already skinned. {@link #prewarm(int, int, int)} fills the pool up front,
+ * e.g. at startup.
+ *
+ * <p>Idle controls are only held softly, so the garbage collector can reclaim them under memory
+ * pressure, the least recently used first. Beyond the capacity, the least recently returned
+ * control is dropped. Must only be used on the FX application thread, except for the counters.
+ */
+public class ControlPool {
+
+  private final int capacity;
+  private final Deque<SoftReference<TextField>> textFields = new ArrayDeque<>();
+  private final Deque<SoftReference<TextArea>> textAreas = new ArrayDeque<>();
+  private final Deque<SoftReference<ComboBox<String>>> comboBoxes = new ArrayDeque<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param capacity The maximum number of idle controls kept per kind of control
+   */
+  public ControlPool(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("The capacity can not be negative: " + capacity);
+    }
+    this.capacity = capacity;
+  }
+
+  /**
+   * Creates controls, applies the default stylesheet to create their skins and adds them to the
+   * pool. The number of controls is limited by the capacity.
+   *
+   * @param textFieldCount The number of text fields to create
+   * @param textAreaCount The number of text areas to create
+   * @param comboBoxCount The number of combo boxes to create
+   * @return This object
+   */
+  public ControlPool prewarm(int textFieldCount, int textAreaCount, int comboBoxCount) {
+    Group group = new Group();
+    // CSS is only applied to nodes in a scene
+    new Scene(group);
+
+    for (int i = 0; i < textFieldCount && textFields.size() < capacity; i++) {
+      TextField textField = new TextField();
+      group.getChildren().add(textField);
+      textFields.offerLast(new SoftReference<>(textField));
+    }
+    for (int i = 0; i < textAreaCount && textAreas.size() < capacity; i++) {
+      TextArea textArea = new TextArea();
+      group.getChildren().add(textArea);
+      textAreas.offerLast(new SoftReference<>(textArea));
+    }
+    for (int i = 0; i < comboBoxCount && comboBoxes.size() < capacity; i++) {
+      ComboBox<String> comboBox = new ComboBox<>();
+      group.getChildren().add(comboBox);
+      comboBoxes.offerLast(new SoftReference<>(comboBox));
+    }
+
+    // the skins are created when the CSS is applied
+    group.applyCss();
+    group.getChildren().clear();
+
+    return this;
+  }
+
+  /**
+   * @return The number of controls that were taken from the pool
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * @return The number of controls that had to be created because the pool had none
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * @return The number of idle controls, including ones the garbage collector has just reclaimed
+   */
+  public int getIdleCount() {
+    return textFields.size() + textAreas.size() + comboBoxes.size();
+  }
+
+  /**
+   * Drops all idle controls.
+   */
+  public void clear() {
+    textFields.clear();
+    textAreas.clear();
+    comboBoxes.clear();
+  }
+
+  TextField acquireTextField() {
+    TextField textField = poll(textFields);
+    return textField != null ? textField : new TextField();
+  }
+
+  TextArea acquireTextArea() {
+    TextArea textArea = poll(textAreas);
+    return textArea != null ? textArea : new TextArea();
+  }
+
+  ComboBox<String> acquireComboBox(String[] options) {
+    ComboBox<String> comboBox = poll(comboBoxes);
+    if (comboBox == null) {
+      comboBox = new ComboBox<>();
+    }
+    comboBox.getItems().setAll(options);
+    return comboBox;
+  }
+
+  /**
+   * Resets a control that is no longer part of a grid and returns it to the pool. Controls of
+   * other kinds are ignored.
+   *
+   * @param control The control, already removed from its parent
+   */
+  @SuppressWarnings("unchecked")
+  void release(Control control) {
+    if (control instanceof TextField) {
+      reset(control);
+      offer(textFields, (TextField) control);
+    } else if (control instanceof TextArea) {
+      reset(control);
+      offer(textAreas, (TextArea) control);
+    } else if (control instanceof ComboBox) {
+      reset(control);
+      offer(comboBoxes, (ComboBox<String>) control);
+    }
+  }
+
+  /**
+   * Undoes everything a grid changes on its controls.
+   */
+  private void reset(Control control) {
+    if (control instanceof TextInputControl) {
+      TextInputControl textInput = (TextInputControl) control;
+      textInput.setTextFormatter(null);
+      textInput.clear();
+      textInput.setEditable(true);
+    } else {
+      ComboBox<?> comboBox = (ComboBox<?>) control;
+      comboBox.getSelectionModel().clearSelection();
+      comboBox.getItems().clear();
+    }
+
+    GridPane.clearConstraints(control);
+    control.pseudoClassStateChanged(FieldBinding.INVALID, false);
+    control.setTooltip(null);
+    control.setVisible(true);
+    control.setManaged(true);
+    control.setMouseTransparent(false);
+    control.setFocusTraversable(true);
+    control.setMaxWidth(Region.USE_COMPUTED_SIZE);
+  }
+
+  /**
+   * Takes the most recently returned control that was not reclaimed yet.
+   */
+  private <T extends Control> T poll(Deque<SoftReference<T>> controls) {
+    SoftReference<T> reference;
+    while ((reference = controls.pollFirst()) != null) {
+      T control = reference.get();
+      if (control != null) {
+        hits.increment();
+        return control;
+      }
+    }
+    misses.increment();
+    return null;
+  }
+
+  private <T extends Control> void offer(Deque<SoftReference<T>> controls, T control) {
+    if (capacity == 0) {
+      return;
+    }
+
+    // reclaimed controls only take up space
+    Iterator<SoftReference<T>> iterator = controls.descendingIterator();
+    while (iterator.hasNext() && controls.size() >= capacity) {
+      if (iterator.next().get() == null) {
+        iterator.remove();
+      }
+    }
+    if (controls.size() >= capacity) {
+      controls.pollLast();
+    }
+    controls.offerFirst(new SoftReference<>(control));
+  }
+}
@@ -0,0 +1,216 @@
+package ch.rs.reflectorgrid;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The undo and redo history of a {@link BoundGrid}, enabled with {@link
+ * ReflectorGridV2#setHistorySize(int)}.
+ *
+ * <p>Every value the user commits is recorded with the index of the field and the old and new
+ * value. The entries are kept in a ring buffer of fixed size, the oldest entry is dropped when it
+ * is full. Primitive values are stored as their bits in {@code long[]}s, so recording them does
+ * not allocate. Edits of the same field following each other within {@value
+ * #MERGE_WINDOW_MILLIS}ms are merged into a single step, so undo reverts a whole word instead of a
+ * single keystroke.
+ *
+ * <p>Undo and redo write the value to the object and the control with the listener of the control
+ * detached, so the restored value is not written a second time. The {@link
+ * ch.rs.reflectorgrid.core.FieldChangeListener} of the grid is notified like for any other edit.
+ * Rebinding the grid clears the history. Nested grids have their own history, elements of lists
+ * and arrays are not recorded. Must only be used on the FX application thread.
+ */
+public class EditHistory {
+
+  /**
+   * The time in which edits of the same field are merged.
+   */
+  private static final long MERGE_WINDOW_MILLIS = 1000;
+
+  private final BoundGrid grid;
+  private final int[] fieldIndices;
+  private final long[] oldPrimitives;
+  private final long[] newPrimitives;
+  private final Object[] oldReferences;
+  private final Object[] newReferences;
+  private final long[] recordTimes;
+
+  private int start;
+  private int undoCount;
+  private int redoCount;
+  private boolean mergeable;
+  private boolean restoring;
+
+  EditHistory(BoundGrid grid, int size) {
+    this.grid = grid;
+    this.fieldIndices = new int[size];
+    this.oldPrimitives = new long[size];
+    this.newPrimitives = new long[size];
+    this.oldReferences = new Object[size];
+    this.newReferences = new Object[size];
+    this.recordTimes = new long[size];
+  }
+
+  /**
+   * @return True if there is a step to undo
+   */
+  public boolean canUndo() {
+    return undoCount > 0;
+  }
+
+  /**
+   * @return True if there is an undone step to redo
+   */
+  public boolean canRedo() {
+    return redoCount > 0;
+  }
+
+  /**
+   * @return The number of steps that can be undone
+   */
+  public int getUndoCount() {
+    return undoCount;
+  }
+
+  /**
+   * @return The number of steps that can be redone
+   */
+  public int getRedoCount() {
+    return redoCount;
+  }
+
+  /**
+   * Restores the value a field had before the last step.
+   *
+   * @return False if there was nothing to undo
+   */
+  public boolean undo() {
+    if (undoCount == 0) {
+      return false;
+    }
+
+    int slot = slot(undoCount - 1);
+    restore(slot, oldPrimitives[slot], oldReferences[slot]);
+    undoCount--;
+    redoCount++;
+    return true;
+  }
+
+  /**
+   * Writes the value of the last undone step again.
+   *
+   * @return False if there was nothing to redo
+   */
+  public boolean redo() {
+    if (redoCount == 0) {
+      return false;
+    }
+
+    int slot = slot(undoCount);
+    restore(slot, newPrimitives[slot], newReferences[slot]);
+    undoCount++;
+    redoCount--;
+    return true;
+  }
+
+  /**
+   * Removes all steps.
+   */
+  public void clear() {
+    Arrays.fill(oldReferences, null);
+    Arrays.fill(newReferences, null);
+    start = 0;
+    undoCount = 0;
+    redoCount = 0;
+    mergeable = false;
+  }
+
+  /**
+   * @return False while a step is undone or redone, as the writes must not be recorded again
+   */
+  boolean isRecording() {
+    return !restoring;
+  }
+
+  /**
+   * Records a value written to a field of the bound object. Drops all steps that could be redone.
+   *
+   * @param fieldIndex The index of the field
+   * @param oldPrimitive The previous bits of a primitive field
+   * @param oldReference The previous value of a reference field
+   * @param newPrimitive The new bits of a primitive field
+   * @param newReference The new value of a reference field
+   */
+  void record(int fieldIndex, long oldPrimitive, Object oldReference, long newPrimitive,
+      Object newReference) {
+    long now = System.nanoTime();
+
+    if (mergeable && redoCount == 0) {
+      int top = slot(undoCount - 1);
+      if (fieldIndices[top] == fieldIndex
+          && now - recordTimes[top] < MERGE_WINDOW_MILLIS * 1_000_000) {
+        newPrimitives[top] = newPrimitive;
+        newReferences[top] = newReference;
+        recordTimes[top] = now;
+
+        if (isNoOp(top)) {
+          // the field was edited back to its old value
+          clearSlot(top);
+          undoCount--;
+          mergeable = false;
+        }
+        return;
+      }
+    }
+
+    if (oldPrimitive == newPrimitive && Objects.equals(oldReference, newReference)) {
+      return;
+    }
+
+    for (int i = 0; i < redoCount; i++) {
+      clearSlot(slot(undoCount + i));
+    }
+    redoCount = 0;
+
+    if (undoCount == fieldIndices.length) {
+      // drop the oldest step
+      clearSlot(start);
+      start = (start + 1) % fieldIndices.length;
+      undoCount--;
+    }
+
+    int slot = slot(undoCount);
+    fieldIndices[slot] = fieldIndex;
+    oldPrimitives[slot] = oldPrimitive;
+    oldReferences[slot] = oldReference;
+    newPrimitives[slot] = newPrimitive;
+    newReferences[slot] = newReference;
+    recordTimes[slot] = now;
+    undoCount++;
+    mergeable = true;
+  }
+
+  private void restore(int slot, long primitive, Object reference) {
+    mergeable = false;
+    restoring = true;
+    try {
+      grid.getBindings().get(fieldIndices[slot]).restore(primitive, reference);
+    } finally {
+      restoring = false;
+    }
+  }
+
+  private boolean isNoOp(int slot) {
+    return oldPrimitives[slot] == newPrimitives[slot]
+        && Objects.equals(oldReferences[slot], newReferences[slot]);
+  }
+
+  private void clearSlot(int slot) {
+    oldReferences[slot] = null;
+    newReferences[slot] = null;
+  }
+
+  private int slot(int position) {
+    return (start + position) % fieldIndices.length;
+  }
+}
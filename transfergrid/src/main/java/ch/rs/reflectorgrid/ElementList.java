@@ -0,0 +1,299 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.ValueKind;
+import ch.rs.reflectorgrid.core.typeconversion.ConversionException;
+import ch.rs.reflectorgrid.core.typeconversion.PrimitiveCodec;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.List;
+import javafx.util.StringConverter;
+
+/**
+ * Formats and writes single elements of a {@link List} or array, so large collections can be
+ * edited element by element.
+ *
+ * <p>Lists are modified in place. Arrays have a fixed length, so adding or removing an element
+ * creates a new array that is returned to the caller, while editing an element writes it into the
+ * existing array.
+ */
+abstract class ElementList {
+
+  /**
+   * @return The number of elements
+   */
+  abstract int size();
+
+  /**
+   * @param index The index of the element
+   * @param buffer The buffer to append the formatted element to
+   */
+  abstract void format(int index, StringBuilder buffer);
+
+  /**
+   * @param index The index of the element
+   * @param text The text to convert and write to the element
+   * @throws ConversionException if the text could not be converted
+   */
+  abstract void parse(int index, CharSequence text);
+
+  /**
+   * Inserts a default element (null, zero or false).
+   *
+   * @param index The index to insert the element at
+   * @return The new backing array or list
+   */
+  abstract Object insert(int index);
+
+  /**
+   * @param index The index of the element to remove
+   * @return The new backing array or list
+   */
+  abstract Object remove(int index);
+
+  /**
+   * @param backing The list or array
+   * @param elementType The type of the elements
+   * @param converter The converter for object elements or null if there is none
+   * @return The element list for the backing list or array
+   */
+  static ElementList create(Object backing, Class<?> elementType, StringConverter<?> converter) {
+    if (backing instanceof List) {
+      @SuppressWarnings("unchecked")
+      List<Object> list = (List<Object>) backing;
+      return new ListElements(list, elementType, converter);
+    }
+    if (backing.getClass().getComponentType().isPrimitive()) {
+      return new PrimitiveArrayElements(backing);
+    }
+    return new ObjectArrayElements((Object[]) backing, elementType, converter);
+  }
+
+  /**
+   * Converts object elements with a {@link StringConverter}.
+   */
+  private abstract static class ObjectElements extends ElementList {
+
+    private final Class<?> elementType;
+    private final StringConverter<Object> converter;
+
+    @SuppressWarnings("unchecked")
+    ObjectElements(Class<?> elementType, StringConverter<?> converter) {
+      this.elementType = elementType;
+      this.converter = (StringConverter<Object>) converter;
+    }
+
+    abstract Object get(int index);
+
+    abstract void set(int index, Object value);
+
+    @Override
+    void format(int index, StringBuilder buffer) {
+      Object value = get(index);
+
+      if (value == null) {
+        return;
+      }
+
+      buffer.append(converter == null ? value.toString() : converter.toString(value));
+    }
+
+    @Override
+    void parse(int index, CharSequence text) {
+      if (converter == null) {
+        throw new ConversionException("No converter registered for class " + elementType, null);
+      }
+
+      String string = text.toString();
+      Object value;
+      try {
+        value = converter.fromString(string);
+      } catch (RuntimeException e) {
+        throw new ConversionException("Could not convert '" + string + "' to " + elementType, e);
+      }
+
+      set(index, value);
+    }
+  }
+
+  private static final class ListElements extends ObjectElements {
+
+    private final List<Object> list;
+
+    ListElements(List<Object> list, Class<?> elementType, StringConverter<?> converter) {
+      super(elementType, converter);
+      this.list = list;
+    }
+
+    @Override
+    int size() {
+      return list.size();
+    }
+
+    @Override
+    Object get(int index) {
+      return list.get(index);
+    }
+
+    @Override
+    void set(int index, Object value) {
+      list.set(index, value);
+    }
+
+    @Override
+    Object insert(int index) {
+      list.add(index, null);
+      return list;
+    }
+
+    @Override
+    Object remove(int index) {
+      list.remove(index);
+      return list;
+    }
+  }
+
+  private static final class ObjectArrayElements extends ObjectElements {
+
+    private final Object[] array;
+
+    ObjectArrayElements(Object[] array, Class<?> elementType, StringConverter<?> converter) {
+      super(elementType, converter);
+      this.array = array;
+    }
+
+    @Override
+    int size() {
+      return array.length;
+    }
+
+    @Override
+    Object get(int index) {
+      return array[index];
+    }
+
+    @Override
+    void set(int index, Object value) {
+      array[index] = value;
+    }
+
+    @Override
+    Object insert(int index) {
+      Object[] newArray = Arrays.copyOf(array, array.length + 1);
+      System.arraycopy(array, index, newArray, index + 1, array.length - index);
+      newArray[index] = null;
+      return newArray;
+    }
+
+    @Override
+    Object remove(int index) {
+      Object[] newArray = Arrays.copyOf(array, array.length - 1);
+      System.arraycopy(array, index + 1, newArray, index, array.length - index - 1);
+      return newArray;
+    }
+  }
+
+  /**
+   * Reads and writes primitive arrays directly, without boxing the elements.
+   */
+  private static final class PrimitiveArrayElements extends ElementList {
+
+    private final Object array;
+    private final ValueKind valueKind;
+    private final int length;
+
+    PrimitiveArrayElements(Object array) {
+      this.array = array;
+      this.valueKind = ValueKind.forType(array.getClass().getComponentType());
+      this.length = Array.getLength(array);
+    }
+
+    @Override
+    int size() {
+      return length;
+    }
+
+    @Override
+    void format(int index, StringBuilder buffer) {
+      switch (valueKind) {
+        case INT:
+          buffer.append(((int[]) array)[index]);
+          break;
+        case LONG:
+          buffer.append(((long[]) array)[index]);
+          break;
+        case DOUBLE:
+          buffer.append(((double[]) array)[index]);
+          break;
+        case FLOAT:
+          buffer.append(((float[]) array)[index]);
+          break;
+        case SHORT:
+          buffer.append(((short[]) array)[index]);
+          break;
+        case BYTE:
+          buffer.append(((byte[]) array)[index]);
+          break;
+        case BOOLEAN:
+          buffer.append(((boolean[]) array)[index]);
+          break;
+        case CHAR:
+          buffer.append(((char[]) array)[index]);
+          break;
+        default:
+          throw new IllegalStateException("Not a primitive array: " + array.getClass());
+      }
+    }
+
+    @Override
+    void parse(int index, CharSequence text) {
+      switch (valueKind) {
+        case INT:
+          ((int[]) array)[index] = PrimitiveCodec.parseInt(text);
+          break;
+        case LONG:
+          ((long[]) array)[index] = PrimitiveCodec.parseLong(text);
+          break;
+        case DOUBLE:
+          ((double[]) array)[index] = PrimitiveCodec.parseDouble(text);
+          break;
+        case FLOAT:
+          ((float[]) array)[index] = PrimitiveCodec.parseFloat(text);
+          break;
+        case SHORT:
+          ((short[]) array)[index] = PrimitiveCodec.parseShort(text);
+          break;
+        case BYTE:
+          ((byte[]) array)[index] = PrimitiveCodec.parseByte(text);
+          break;
+        case BOOLEAN:
+          ((boolean[]) array)[index] = PrimitiveCodec.parseBoolean(text);
+          break;
+        case CHAR:
+          if (text.length() != 1) {
+            throw new ConversionException("Expected a single character: '" + text + "'", null);
+          }
+          ((char[]) array)[index] = text.charAt(0);
+          break;
+        default:
+          throw new IllegalStateException("Not a primitive array: " + array.getClass());
+      }
+    }
+
+    @Override
+    Object insert(int index) {
+      // new arrays are filled with zero / false
+      Object newArray = Array.newInstance(array.getClass().getComponentType(), length + 1);
+      System.arraycopy(array, 0, newArray, 0, index);
+      System.arraycopy(array, index, newArray, index + 1, length - index);
+      return newArray;
+    }
+
+    @Override
+    Object remove(int index) {
+      Object newArray = Array.newInstance(array.getClass().getComponentType(), length - 1);
+      System.arraycopy(array, 0, newArray, 0, index);
+      System.arraycopy(array, index + 1, newArray, index, length - index - 1);
+      return newArray;
+    }
+  }
+}
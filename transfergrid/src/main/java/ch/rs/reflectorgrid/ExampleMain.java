@@ -1,5 +1,6 @@
 package ch.rs.reflectorgrid;
 
+import ch.rs.reflectorgrid.core.DefaultFieldNamingStrategy;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.scene.layout.GridPane;
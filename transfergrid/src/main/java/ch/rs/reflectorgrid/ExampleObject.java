@@ -1,6 +1,7 @@
 package ch.rs.reflectorgrid;
 
-import ch.rs.reflectorgrid.TransferGrid.FieldType;
+import ch.rs.reflectorgrid.core.TransferGrid;
+import ch.rs.reflectorgrid.core.TransferGrid.FieldType;
 
 /**
  *
@@ -0,0 +1,454 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldChangeListener;
+import ch.rs.reflectorgrid.core.FieldDescriptor;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.FormSchema;
+import ch.rs.reflectorgrid.core.StripedLocks;
+import ch.rs.reflectorgrid.core.ValueKind;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+import javafx.css.PseudoClass;
+import javafx.scene.control.Control;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
+
+/**
+ * Connects the control of a single field to the object it is currently bound to.
+ *
+ * <p>The control is created once and can then be bound to any number of objects of the same
+ * class. While a new object is bound, the change listener is detached, so pushing the new value
+ * into the control is not written back. Detaching commits pending changes to the previous object.
+ */
+abstract class FieldBinding {
+
+  /**
+   * Set on the control while its value violates a validation rule.
+   */
+  static final PseudoClass INVALID = PseudoClass.getPseudoClass("invalid");
+
+  private final ReflectorGridV2 reflectorGrid;
+  private final FieldMetadata field;
+  private final FieldAccessor accessor;
+  private final Label label;
+
+  private Object handle;
+  private long primitiveSnapshot;
+  private Object referenceSnapshot;
+  private EditHistory history;
+  private GridValidation validation;
+  private Tooltip errorTooltip;
+
+  FieldBinding(ReflectorGridV2 reflectorGrid, FieldMetadata field, FieldAccessor accessor,
+      Label label) {
+    this.reflectorGrid = reflectorGrid;
+    this.field = field;
+    this.accessor = accessor;
+    this.label = label;
+  }
+
+  FieldMetadata getField() {
+    return field;
+  }
+
+  Label getLabel() {
+    return label;
+  }
+
+  FieldAccessor getAccessor() {
+    return accessor;
+  }
+
+  /**
+   * @return The control displaying the value
+   */
+  abstract Control getControl();
+
+  /**
+   * @param history The history recording the committed values or null to not record them
+   */
+  void setHistory(EditHistory history) {
+    this.history = history;
+  }
+
+  /**
+   * @param validation The validation checking the entered values or null if there are no rules
+   */
+  void setValidation(GridValidation validation) {
+    this.validation = validation;
+  }
+
+  /**
+   * Shows or hides the label and the control. Hidden nodes are not laid out, so they take no
+   * space in the grid.
+   *
+   * @param shown True to show the field
+   */
+  void setShown(boolean shown) {
+    Control control = getControl();
+    label.setVisible(shown);
+    label.setManaged(shown);
+    control.setVisible(shown);
+    control.setManaged(shown);
+  }
+
+  /**
+   * Shows a validation error on the control, using the {@code :invalid} pseudo class and a
+   * tooltip containing the message.
+   *
+   * @param message The message or null if the value is valid
+   */
+  void setValidationError(String message) {
+    Control control = getControl();
+    control.pseudoClassStateChanged(INVALID, message != null);
+
+    if (message != null) {
+      if (errorTooltip == null) {
+        errorTooltip = new Tooltip();
+      }
+      errorTooltip.setText(message);
+      control.setTooltip(errorTooltip);
+    } else if (errorTooltip != null && control.getTooltip() == errorTooltip) {
+      control.setTooltip(null);
+    }
+  }
+
+  /**
+   * Binds the control to a new object. The value is only pushed into the control if its string
+   * representation differs from the one that is currently displayed, so rebinding to an equal
+   * value does not allocate a new string.
+   *
+   * @param handle The object to bind to
+   */
+  void bind(Object handle) {
+    detachListener();
+
+    this.handle = handle;
+
+    takeSnapshot();
+    updateDisplayedText();
+    valueBound();
+    attachListener();
+  }
+
+  /**
+   * Binds the control to a new object using a value that was already read and formatted, e.g. on
+   * a worker thread.
+   *
+   * @param handle The object to bind to
+   * @param primitiveSnapshot The value read with {@link ValueKind#readBits(FieldAccessor, Object)}
+   *     for primitive fields
+   * @param referenceSnapshot The value of the field for reference fields
+   * @param text The formatted value or null if the control formats the value itself
+   */
+  void bind(Object handle, long primitiveSnapshot, Object referenceSnapshot, String text) {
+    detachListener();
+
+    this.handle = handle;
+    this.primitiveSnapshot = primitiveSnapshot;
+    this.referenceSnapshot = referenceSnapshot;
+
+    if (text == null) {
+      updateDisplayedText();
+    } else if (!text.equals(getDisplayedText())) {
+      setDisplayedText(text);
+    }
+    valueBound();
+    attachListener();
+  }
+
+  /**
+   * Pushes the value of the bound object into the control if it changed since it was last
+   * displayed or written. Values are compared without boxing for primitive fields and with {@link
+   * Object#equals(Object)} otherwise, so objects mutated in place are not detected. Bindings that
+   * work on the value itself compare it by identity, see {@link #isBoundToInstance()}.
+   *
+   * <p>Controls with an edit the user has not committed yet are left alone.
+   *
+   * @return True if the control was updated
+   */
+  boolean refresh() {
+    if (hasPendingEdit() || !takeSnapshot()) {
+      return false;
+    }
+
+    detachListener();
+    updateDisplayedText();
+    valueBound();
+    attachListener();
+    return true;
+  }
+
+  /**
+   * Remembers the current value of the field.
+   *
+   * @return True if the value differs from the previous snapshot
+   */
+  private boolean takeSnapshot() {
+    ValueKind valueKind = field.getValueKind();
+
+    if (valueKind.isPrimitive()) {
+      long bits = valueKind.readBits(accessor, handle);
+      if (bits == primitiveSnapshot) {
+        return false;
+      }
+      primitiveSnapshot = bits;
+      return true;
+    }
+
+    Object value = accessor.get(handle);
+    boolean unchanged = isBoundToInstance()
+        ? value == referenceSnapshot
+        : Objects.equals(value, referenceSnapshot);
+    if (unchanged) {
+      return false;
+    }
+    referenceSnapshot = value;
+    return true;
+  }
+
+  /**
+   * Formats the value of the bound object and displays it if it differs from the displayed text.
+   */
+  protected void updateDisplayedText() {
+    StringBuilder text = reflectorGrid.formatValue(field, accessor, handle);
+    String displayed = getDisplayedText();
+
+    if (displayed == null || !displayed.contentEquals(text)) {
+      setDisplayedText(text.toString());
+    }
+  }
+
+  /**
+   * Detaches the control, which commits pending changes, and returns it to the {@link
+   * ControlPool} of the grid if it has one. The binding must not be used afterwards.
+   */
+  void release() {
+    detachListener();
+
+    ControlPool controlPool = reflectorGrid.getControlPool();
+    if (controlPool != null) {
+      controlPool.release(getControl());
+    }
+  }
+
+  /**
+   * Converts the text and writes it to the bound object. Text that can not be converted is not
+   * written.
+   *
+   * @param text The text entered by the user
+   */
+  protected void commit(String text) {
+    ValueKind valueKind = field.getValueKind();
+    boolean record = history != null && history.isRecording();
+    FieldChangeListener changeListener = reflectorGrid.getFieldChangeListener();
+    boolean notify = changeListener != FieldChangeListener.NONE;
+    long oldPrimitive = 0;
+    Object oldReference = null;
+
+    if (record || notify) {
+      if (valueKind.isPrimitive()) {
+        oldPrimitive = valueKind.readBits(accessor, handle);
+      } else {
+        oldReference = accessor.get(handle);
+      }
+    }
+
+    boolean written = validation == null
+        ? reflectorGrid.writeValue(field, accessor, handle, text)
+        : validation.write(field, accessor, handle, text);
+
+    if (written) {
+      // the control already shows the written value, it must not be reformatted while typing
+      takeSnapshot();
+
+      if (validation != null) {
+        validation.fieldChanged(field.getIndex(), handle);
+      }
+
+      if (record) {
+        history.record(
+            field.getIndex(), oldPrimitive, oldReference,
+            valueKind.isPrimitive() ? primitiveSnapshot : 0, referenceSnapshot
+        );
+      }
+      if (notify) {
+        changeListener.fieldChanged(
+            handle, getDescriptor(),
+            valueKind.isPrimitive() ? valueKind.box(oldPrimitive) : oldReference,
+            valueKind.isPrimitive() ? valueKind.box(primitiveSnapshot) : referenceSnapshot
+        );
+      }
+    }
+  }
+
+  /**
+   * Called after the control changed the value of the bound object in place instead of writing a
+   * new one, e.g. by editing a {@link StringBuilder}. Checks the value and notifies the {@link
+   * FieldChangeListener}, with the changed object as old and new value.
+   */
+  protected void valueEdited() {
+    valueChanged(null, true);
+  }
+
+  /**
+   * Called after the control wrote a new value with {@link #setValue(Object)}. Checks the value
+   * and notifies the {@link FieldChangeListener}.
+   *
+   * @param oldValue The value that was replaced
+   */
+  protected void valueReplaced(Object oldValue) {
+    valueChanged(oldValue, false);
+  }
+
+  private void valueChanged(Object oldValue, boolean inPlace) {
+    if (validation != null) {
+      validation.valueChanged(field.getIndex(), handle);
+    }
+
+    FieldChangeListener changeListener = reflectorGrid.getFieldChangeListener();
+    if (changeListener != FieldChangeListener.NONE) {
+      Object value = accessor.get(handle);
+      changeListener.fieldChanged(handle, getDescriptor(), inPlace ? value : oldValue, value);
+    }
+  }
+
+  /**
+   * Changes the value of the bound object in place, holding the write lock of the object if the
+   * grid has {@link StripedLocks}. The lock is not reentrant, so the change must not write the
+   * field through the accessor.
+   *
+   * @param write The change
+   * @param <T> The type of the result of the change
+   * @return The result of the change
+   */
+  protected <T> T writeLocked(Supplier<T> write) {
+    StripedLocks stripedLocks = reflectorGrid.getStripedLocks();
+    if (stripedLocks == null) {
+      return write.get();
+    }
+
+    StampedLock lock = stripedLocks.get(handle);
+    long stamp = lock.writeLock();
+    try {
+      return write.get();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  private FieldDescriptor getDescriptor() {
+    return FormSchema.forClass(handle.getClass(), reflectorGrid.getFieldNamingStrategy())
+        .getFields().get(field.getIndex());
+  }
+
+  /**
+   * Writes a value from the {@link EditHistory} to the bound object, displays it and notifies the
+   * {@link FieldChangeListener}. The listener of the control is detached meanwhile, so the value
+   * is not written again.
+   *
+   * @param primitive The bits of a primitive field
+   * @param reference The value of a reference field
+   */
+  void restore(long primitive, Object reference) {
+    detachListener();
+
+    ValueKind valueKind = field.getValueKind();
+    FieldChangeListener changeListener = reflectorGrid.getFieldChangeListener();
+    Object oldValue = changeListener != FieldChangeListener.NONE ? accessor.get(handle) : null;
+
+    if (valueKind.isPrimitive()) {
+      valueKind.writeBits(accessor, handle, primitive);
+    } else {
+      accessor.set(handle, reference);
+    }
+
+    takeSnapshot();
+    updateDisplayedText();
+    valueBound();
+    attachListener();
+
+    if (validation != null) {
+      validation.valueChanged(field.getIndex(), handle);
+    }
+    if (changeListener != FieldChangeListener.NONE) {
+      changeListener.fieldChanged(handle, getDescriptor(), oldValue, accessor.get(handle));
+    }
+  }
+
+  /**
+   * @return The object the control is bound to
+   */
+  protected Object getHandle() {
+    return handle;
+  }
+
+  /**
+   * @return The current value of the field in the bound object
+   */
+  protected Object getValue() {
+    return accessor.get(handle);
+  }
+
+  /**
+   * Writes a new value to the field of the bound object, without updating the control.
+   *
+   * @param value The new value
+   */
+  protected void setValue(Object value) {
+    accessor.set(handle, value);
+    takeSnapshot();
+  }
+
+  /**
+   * Called after a (possibly) new value was pushed into the control, while the listeners are
+   * detached.
+   */
+  protected void valueBound() {
+  }
+
+  /**
+   * @return True if the control keeps working on the value of the field, e.g. a list it changes
+   *     in place, so an equal value in another object must be bound again
+   */
+  protected boolean isBoundToInstance() {
+    return false;
+  }
+
+  /**
+   * @return True if the user changed the value and it was not written to the object yet
+   */
+  protected boolean hasPendingEdit() {
+    return false;
+  }
+
+  /**
+   * Writes a value the user changed but that was not committed yet, e.g. because the field is
+   * only committed on enter.
+   */
+  void flushPendingEdit() {
+  }
+
+  /**
+   * Drops a value the user changed but that was not committed yet and displays the value of the
+   * bound object again.
+   */
+  void discardPendingEdit() {
+  }
+
+  /**
+   * @return The text currently displayed by the control
+   */
+  protected abstract String getDisplayedText();
+
+  /**
+   * @param text The new text to display in the control
+   */
+  protected abstract void setDisplayedText(String text);
+
+  protected abstract void attachListener();
+
+  protected abstract void detachListener();
+}
@@ -0,0 +1,76 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.LabelIndex;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Hides the fields of a {@link BoundGrid} whose label does not contain a query.
+ *
+ * <p>The matching fields are looked up in the {@link LabelIndex} of the class. Only the fields
+ * whose match state differs from the previous query are shown or hidden, the grid itself is not
+ * rebuilt. When the query extends the previous one, e.g. while typing, only the previous matches
+ * are checked.
+ */
+final class GridFilter {
+
+  private final LabelIndex index;
+  private final List<FieldBinding> bindings;
+  private final BitSet changed;
+  private BitSet shown;
+  private BitSet matches;
+  private String query;
+
+  /**
+   * @param index The index over the labels of the bound class
+   * @param bindings The bindings of the grid, all of them shown
+   */
+  GridFilter(LabelIndex index, List<FieldBinding> bindings) {
+    this.index = index;
+    this.bindings = bindings;
+    this.changed = new BitSet(bindings.size());
+    this.shown = new BitSet(bindings.size());
+    this.matches = new BitSet(bindings.size());
+    this.query = "";
+    shown.set(0, bindings.size());
+  }
+
+  /**
+   * @return The query as it is matched
+   */
+  String getQuery() {
+    return query;
+  }
+
+  /**
+   * @param query The text the labels have to contain
+   * @return The number of shown fields
+   */
+  int apply(String query) {
+    String normalized = LabelIndex.normalize(query);
+    if (normalized.equals(this.query)) {
+      return shown.cardinality();
+    }
+
+    if (!this.query.isEmpty() && normalized.contains(this.query)) {
+      matches.clear();
+      matches.or(shown);
+      index.narrow(normalized, matches);
+    } else {
+      index.search(normalized, matches);
+    }
+
+    changed.clear();
+    changed.or(matches);
+    changed.xor(shown);
+    for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+      bindings.get(i).setShown(matches.get(i));
+    }
+
+    BitSet previous = shown;
+    shown = matches;
+    matches = previous;
+    this.query = normalized;
+    return shown.cardinality();
+  }
+}
@@ -0,0 +1,68 @@
+package ch.rs.reflectorgrid;
+
+import java.lang.reflect.Field;
+
+/**
+ * Receives timings and failures of the grids, e.g. to find out where the time goes when a grid
+ * feels slow.
+ *
+ * <p>All methods are called on the thread doing the work, which is the FX application thread for
+ * everything but the preparation of asynchronously built grids. When the listener is {@link
+ * #NONE}, the grids do not measure anything.
+ */
+public interface GridMetricsListener {
+
+  /**
+   * A listener that ignores everything.
+   */
+  GridMetricsListener NONE = new GridMetricsListener() {
+  };
+
+  /**
+   * Called after the controls of a grid were created and bound.
+   *
+   * @param type The class of the object displayed by the grid
+   * @param fieldCount The number of fields in the grid
+   * @param durationNanos How long building the grid took
+   */
+  default void gridBuilt(Class<?> type, int fieldCount, long durationNanos) {
+  }
+
+  /**
+   * Called after the control of a single field was created, filled and added to the grid.
+   *
+   * @param field The field
+   * @param durationNanos How long it took
+   */
+  default void fieldBuilt(Field field, long durationNanos) {
+  }
+
+  /**
+   * Called after a value entered by the user was converted and written to the object.
+   *
+   * @param field The field
+   * @param durationNanos How long converting and writing took
+   */
+  default void fieldWritten(Field field, long durationNanos) {
+  }
+
+  /**
+   * Called when the text entered by the user could not be converted to the type of the field.
+   *
+   * @param field The field
+   * @param text The text that could not be converted
+   * @param error The reason
+   */
+  default void conversionFailed(Field field, CharSequence text, Exception error) {
+  }
+
+  /**
+   * Called when a field could not be displayed or written for another reason than a failed
+   * conversion.
+   *
+   * @param field The field
+   * @param error The reason
+   */
+  default void fieldFailed(Field field, Exception error) {
+  }
+}
@@ -0,0 +1,260 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.ValidationPlan;
+import ch.rs.reflectorgrid.core.ValueKind;
+import ch.rs.reflectorgrid.core.typeconversion.ConversionException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The validation state of a {@link BoundGrid}: the current error of every field and every cross
+ * field rule of its {@link ValidationPlan}.
+ *
+ * <p>Values entered by the user are converted into a {@link ValueCapture} first and only written
+ * to the object if they pass the rules of their field. Cross field rules are evaluated on the
+ * object afterwards, only the ones depending on the written field. A control shows the error of
+ * its field, or else the first failed cross field rule it is part of.
+ */
+final class GridValidation {
+
+  private final ReflectorGridV2 reflectorGrid;
+  private final ValidationPlan plan;
+  private final String[] fieldErrors;
+  private final String[] ruleErrors;
+  private final ValueCapture capture;
+
+  private List<FieldBinding> bindings;
+
+  GridValidation(ReflectorGridV2 reflectorGrid, ValidationPlan plan, int fieldCount) {
+    this.reflectorGrid = reflectorGrid;
+    this.plan = plan;
+    this.fieldErrors = new String[fieldCount];
+    this.ruleErrors = new String[plan.getCrossRuleCount()];
+    this.capture = new ValueCapture();
+  }
+
+  /**
+   * @param bindings The bindings of the grid, indexed like the fields
+   */
+  void setBindings(List<FieldBinding> bindings) {
+    this.bindings = bindings;
+  }
+
+  /**
+   * Converts the text, checks the value and writes it to the field if it is valid.
+   *
+   * @param field The field to write
+   * @param accessor The accessor of the field
+   * @param handle The object to write the field of
+   * @param text The text entered by the user
+   * @return True if the value was written
+   */
+  boolean write(FieldMetadata field, FieldAccessor accessor, Object handle, CharSequence text) {
+    int index = field.getIndex();
+
+    if (!plan.hasFieldRules(index)) {
+      ConversionException error = reflectorGrid.tryWriteValue(field, accessor, handle, text);
+      setFieldError(index, error == null ? null : error.getMessage());
+      return error == null;
+    }
+
+    ValueKind valueKind = field.getValueKind();
+    capture.reset(accessor, valueKind);
+    ConversionException error = reflectorGrid.tryWriteValue(field, capture, handle, text);
+    if (error != null) {
+      setFieldError(index, error.getMessage());
+      return false;
+    }
+
+    String violation = valueKind.isPrimitive()
+        ? plan.checkBits(index, valueKind, capture.bits)
+        : plan.check(index, capture.reference);
+    setFieldError(index, violation);
+    if (violation == null) {
+      capture.writeTo(handle);
+    }
+    capture.reset(null, null);
+    return violation == null;
+  }
+
+  /**
+   * Evaluates the cross field rules depending on a field that changed.
+   *
+   * @param index The index of the field
+   * @param handle The object the field belongs to
+   */
+  void fieldChanged(int index, Object handle) {
+    for (int rule : plan.getDependentRules(index)) {
+      String error = plan.evaluate(rule, handle);
+      if (!Objects.equals(error, ruleErrors[rule])) {
+        ruleErrors[rule] = error;
+        for (int field : plan.getRuleFields(rule)) {
+          updateDisplay(field);
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks a field whose value was changed without {@link #write(FieldMetadata, FieldAccessor,
+   * Object, CharSequence)}, e.g. by a refresh or undo, and the rules depending on it.
+   *
+   * @param index The index of the field
+   * @param handle The object the field belongs to
+   */
+  void valueChanged(int index, Object handle) {
+    setFieldError(index, checkField(index, handle));
+    fieldChanged(index, handle);
+  }
+
+  /**
+   * Checks all fields and rules of a newly bound object.
+   *
+   * @param handle The bound object
+   */
+  void validateAll(Object handle) {
+    for (int i = 0; i < fieldErrors.length; i++) {
+      fieldErrors[i] = checkField(i, handle);
+    }
+    for (int rule = 0; rule < ruleErrors.length; rule++) {
+      ruleErrors[rule] = plan.evaluate(rule, handle);
+    }
+    for (int i = 0; i < fieldErrors.length; i++) {
+      updateDisplay(i);
+    }
+  }
+
+  /**
+   * @return True if no field and no cross field rule has an error
+   */
+  boolean isValid() {
+    for (String error : fieldErrors) {
+      if (error != null) {
+        return false;
+      }
+    }
+    for (String error : ruleErrors) {
+      if (error != null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String checkField(int index, Object handle) {
+    if (!plan.hasFieldRules(index)) {
+      return null;
+    }
+
+    FieldBinding binding = bindings.get(index);
+    ValueKind valueKind = binding.getField().getValueKind();
+    if (valueKind.isPrimitive()) {
+      return plan.checkBits(index, valueKind, valueKind.readBits(binding.getAccessor(), handle));
+    }
+    return plan.check(index, binding.getAccessor().get(handle));
+  }
+
+  private void setFieldError(int index, String error) {
+    if (!Objects.equals(error, fieldErrors[index])) {
+      fieldErrors[index] = error;
+      updateDisplay(index);
+    }
+  }
+
+  private void updateDisplay(int index) {
+    String error = fieldErrors[index];
+
+    if (error == null) {
+      for (int rule : plan.getDependentRules(index)) {
+        if (ruleErrors[rule] != null) {
+          error = ruleErrors[rule];
+          break;
+        }
+      }
+    }
+
+    bindings.get(index).setValidationError(error);
+  }
+
+  /**
+   * Receives the value converted by a codec, so it can be checked before it is written.
+   */
+  private static final class ValueCapture implements FieldAccessor {
+
+    private FieldAccessor delegate;
+    private ValueKind valueKind;
+    private long bits;
+    private Object reference;
+
+    void reset(FieldAccessor delegate, ValueKind valueKind) {
+      this.delegate = delegate;
+      this.valueKind = valueKind;
+      this.bits = 0;
+      this.reference = null;
+    }
+
+    void writeTo(Object target) {
+      if (valueKind.isPrimitive()) {
+        valueKind.writeBits(delegate, target, bits);
+      } else {
+        delegate.set(target, reference);
+      }
+    }
+
+    @Override
+    public Object get(Object target) {
+      return delegate.get(target);
+    }
+
+    @Override
+    public void set(Object target, Object value) {
+      if (valueKind.isPrimitive()) {
+        bits = valueKind.unbox(value);
+      } else {
+        reference = value;
+      }
+    }
+
+    @Override
+    public void setInt(Object target, int value) {
+      bits = value;
+    }
+
+    @Override
+    public void setLong(Object target, long value) {
+      bits = value;
+    }
+
+    @Override
+    public void setDouble(Object target, double value) {
+      bits = Double.doubleToLongBits(value);
+    }
+
+    @Override
+    public void setFloat(Object target, float value) {
+      bits = Float.floatToIntBits(value);
+    }
+
+    @Override
+    public void setShort(Object target, short value) {
+      bits = value;
+    }
+
+    @Override
+    public void setByte(Object target, byte value) {
+      bits = value;
+    }
+
+    @Override
+    public void setBoolean(Object target, boolean value) {
+      bits = value ? 1 : 0;
+    }
+
+    @Override
+    public void setChar(Object target, char value) {
+      bits = value;
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package ch.rs.reflectorgrid;
+
+import java.lang.reflect.Field;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A {@link GridMetricsListener} that emits JDK Flight Recorder events, which show up in the
+ * "TransferGrid" category of a recording.
+ *
+ * <p>Needs a JVM with the {@code jdk.jfr} API (JDK 11 or 8u262 and newer). Events that are not
+ * enabled in the running recording are not created. Per field build events are disabled by
+ * default, as they are emitted for every field of every grid.
+ *
+ * <p>The text of a failed conversion is what the user typed, which may be personal data. It is not
+ * recorded, neither is the message of the error, which usually quotes it. Conversion error events
+ * only contain the length of the text and the type of the error.
+ */
+public class JfrGridMetricsListener implements GridMetricsListener {
+
+  @Override
+  public void gridBuilt(Class<?> type, int fieldCount, long durationNanos) {
+    GridBuildEvent event = new GridBuildEvent();
+    if (event.shouldCommit()) {
+      event.type = type;
+      event.fieldCount = fieldCount;
+      event.buildDuration = durationNanos;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void fieldBuilt(Field field, long durationNanos) {
+    FieldBuildEvent event = new FieldBuildEvent();
+    if (event.shouldCommit()) {
+      event.declaringClass = field.getDeclaringClass();
+      event.fieldName = field.getName();
+      event.buildDuration = durationNanos;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void fieldWritten(Field field, long durationNanos) {
+    FieldCommitEvent event = new FieldCommitEvent();
+    if (event.shouldCommit()) {
+      event.declaringClass = field.getDeclaringClass();
+      event.fieldName = field.getName();
+      event.writeDuration = durationNanos;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void conversionFailed(Field field, CharSequence text, Exception error) {
+    ConversionErrorEvent event = new ConversionErrorEvent();
+    if (event.shouldCommit()) {
+      event.declaringClass = field.getDeclaringClass();
+      event.fieldName = field.getName();
+      event.textLength = text == null ? -1 : text.length();
+      event.errorType = error.getClass();
+      event.commit();
+    }
+  }
+
+  @Override
+  public void fieldFailed(Field field, Exception error) {
+    FieldErrorEvent event = new FieldErrorEvent();
+    if (event.shouldCommit()) {
+      event.declaringClass = field.getDeclaringClass();
+      event.fieldName = field.getName();
+      event.message = error.toString();
+      event.commit();
+    }
+  }
+
+  @Name("ch.rs.reflectorgrid.GridBuild")
+  @Label("Grid Build")
+  @Description("The controls of a grid were created and bound")
+  @Category("TransferGrid")
+  @StackTrace(false)
+  static class GridBuildEvent extends Event {
+
+    @Label("Type")
+    Class<?> type;
+
+    @Label("Field Count")
+    int fieldCount;
+
+    @Label("Build Duration")
+    @Timespan
+    long buildDuration;
+  }
+
+  @Name("ch.rs.reflectorgrid.FieldBuild")
+  @Label("Field Build")
+  @Description("The control of a single field was created, filled and added to a grid")
+  @Category("TransferGrid")
+  @StackTrace(false)
+  @Enabled(false)
+  static class FieldBuildEvent extends Event {
+
+    @Label("Declaring Class")
+    Class<?> declaringClass;
+
+    @Label("Field Name")
+    String fieldName;
+
+    @Label("Build Duration")
+    @Timespan
+    long buildDuration;
+  }
+
+  @Name("ch.rs.reflectorgrid.FieldCommit")
+  @Label("Field Commit")
+  @Description("A value entered by the user was converted and written to the object")
+  @Category("TransferGrid")
+  @StackTrace(false)
+  static class FieldCommitEvent extends Event {
+
+    @Label("Declaring Class")
+    Class<?> declaringClass;
+
+    @Label("Field Name")
+    String fieldName;
+
+    @Label("Write Duration")
+    @Timespan
+    long writeDuration;
+  }
+
+  @Name("ch.rs.reflectorgrid.ConversionError")
+  @Label("Conversion Error")
+  @Description("The text entered by the user could not be converted")
+  @Category("TransferGrid")
+  static class ConversionErrorEvent extends Event {
+
+    @Label("Declaring Class")
+    Class<?> declaringClass;
+
+    @Label("Field Name")
+    String fieldName;
+
+    @Label("Text Length")
+    @Description("The length of the text that could not be converted or -1 for null")
+    int textLength;
+
+    @Label("Error Type")
+    Class<?> errorType;
+  }
+
+  @Name("ch.rs.reflectorgrid.FieldError")
+  @Label("Field Error")
+  @Description("A field could not be displayed or written")
+  @Category("TransferGrid")
+  static class FieldErrorEvent extends Event {
+
+    @Label("Declaring Class")
+    Class<?> declaringClass;
+
+    @Label("Field Name")
+    String fieldName;
+
+    @Label("Message")
+    String message;
+  }
+}
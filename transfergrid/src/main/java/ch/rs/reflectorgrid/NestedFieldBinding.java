@@ -0,0 +1,145 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import javafx.scene.control.Label;
+import javafx.scene.control.TitledPane;
+
+/**
+ * A {@link FieldBinding} for fields holding another object that has no converter. The object is
+ * displayed as a collapsed {@link TitledPane}, whose sub-grid is only built when it is expanded
+ * for the first time.
+ *
+ * <p>The sub-grid is kept while the field holds the same object. It writes the fields of the
+ * nested object directly, the reference in the parent object is never replaced. If edits are
+ * buffered, the change set of the sub-grid is committed together with the one of the parent.
+ */
+class NestedFieldBinding extends FieldBinding {
+
+  private final ReflectorGridV2 reflectorGrid;
+  private final TitledPane control;
+  private final ChangeSet parentChangeSet;
+
+  private Object nestedObject;
+  private BoundGrid nestedGrid;
+
+  NestedFieldBinding(ReflectorGridV2 reflectorGrid, FieldMetadata field, FieldAccessor accessor,
+      Label label, TitledPane control, ChangeSet parentChangeSet) {
+    super(reflectorGrid, field, accessor, label);
+    this.reflectorGrid = reflectorGrid;
+    this.control = control;
+    this.parentChangeSet = parentChangeSet;
+
+    control.expandedProperty().addListener((observable, wasExpanded, expanded) -> {
+      if (expanded) {
+        showNestedGrid();
+      }
+    });
+  }
+
+  @Override
+  TitledPane getControl() {
+    return control;
+  }
+
+  /**
+   * @return The grid of the nested object or null if it was not built yet
+   */
+  BoundGrid getNestedGrid() {
+    return nestedGrid;
+  }
+
+  @Override
+  boolean refresh() {
+    boolean updated = super.refresh();
+
+    if (nestedGrid != null && control.isExpanded()) {
+      updated |= nestedGrid.refresh() > 0;
+    }
+
+    return updated;
+  }
+
+  @Override
+  void release() {
+    if (nestedGrid != null) {
+      nestedGrid.releaseControls();
+    }
+    super.release();
+  }
+
+  /**
+   * The sub-grid edits the nested object itself, so an object replaced by an equal one is bound
+   * again.
+   */
+  @Override
+  protected boolean isBoundToInstance() {
+    return true;
+  }
+
+  @Override
+  protected void valueBound() {
+    Object value = getValue();
+
+    if (value == nestedObject) {
+      return;
+    }
+    nestedObject = value;
+
+    if (control.isExpanded()) {
+      showNestedGrid();
+    } else {
+      // built again when the pane is expanded the next time
+      dropNestedGrid();
+    }
+  }
+
+  private void showNestedGrid() {
+    if (nestedObject == null) {
+      dropNestedGrid();
+      return;
+    }
+
+    if (nestedGrid == null) {
+      nestedGrid = new BoundGrid(
+          reflectorGrid, reflectorGrid.createGridPane(), nestedObject, parentChangeSet
+      );
+      control.setContent(nestedGrid.getGridPane());
+    } else if (nestedGrid.getBoundObject() != nestedObject) {
+      nestedGrid.rebind(nestedObject);
+    }
+  }
+
+  private void dropNestedGrid() {
+    if (nestedGrid != null) {
+      // returns the controls to the pool, like release() does
+      nestedGrid.releaseControls();
+      if (nestedGrid.getChangeSet() != null) {
+        // the buffered edits belong to the object that is no longer displayed
+        nestedGrid.getChangeSet().detach();
+      }
+    }
+    nestedGrid = null;
+    control.setContent(null);
+  }
+
+  @Override
+  protected String getDisplayedText() {
+    return control.getText();
+  }
+
+  @Override
+  protected void setDisplayedText(String text) {
+    control.setText(text);
+  }
+
+  @Override
+  protected void attachListener() {
+    // the nested grid writes to the nested object itself
+  }
+
+  @Override
+  protected void detachListener() {
+    // the nested grid writes to the nested object itself
+  }
+}
@@ -0,0 +1,227 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.LabelDisplayOrder.InsertionPosition;
+import ch.rs.reflectorgrid.core.ClassMetadata;
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import java.util.Objects;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Control;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.text.Text;
+
+/**
+ * A virtualized alternative to {@link BoundGrid}, created by {@link
+ * ReflectorGridV2#bindObjectToPropertySheet(Object)}.
+ *
+ * <p>Every field is a row in a {@link ListView}, so only the rows that are visible have a label
+ * and a control. Scrolling reuses the cells and their controls for other fields.
+ */
+public class PropertySheet {
+
+  private final ReflectorGridV2 reflectorGrid;
+  private final ListView<FieldMetadata> listView;
+  private final DoubleProperty labelColumnWidth;
+
+  private ClassMetadata metadata;
+  private Object boundObject;
+
+  PropertySheet(ReflectorGridV2 reflectorGrid, Object object) {
+    this.reflectorGrid = reflectorGrid;
+    this.labelColumnWidth = new SimpleDoubleProperty();
+    this.listView = new ListView<>();
+
+    listView.getStyleClass().add("property-sheet");
+    listView.setCellFactory(view -> new PropertySheetCell());
+
+    rebind(object);
+  }
+
+  /**
+   * @return The {@link ListView} displaying the bound object
+   */
+  public ListView<?> getNode() {
+    return listView;
+  }
+
+  /**
+   * @return The object the sheet is currently bound to
+   */
+  public Object getBoundObject() {
+    return boundObject;
+  }
+
+  /**
+   * Binds the sheet to another object. The visible cells are updated, all other rows are only
+   * built once they are scrolled into view.
+   *
+   * @param object The new value object
+   */
+  public void rebind(Object object) {
+    Objects.requireNonNull(object, "object can not be null!");
+
+    boundObject = object;
+
+    if (metadata != null && object.getClass() == metadata.getType()) {
+      listView.refresh();
+      return;
+    }
+
+    metadata = ClassMetadata.forClass(object.getClass());
+    labelColumnWidth.set(computeLabelColumnWidth());
+    listView.setItems(FXCollections.observableArrayList(metadata.getFields()));
+  }
+
+  private double computeLabelColumnWidth() {
+    Text text = new Text();
+    double width = 0;
+
+    for (FieldMetadata field : metadata.getFields()) {
+      text.setText(field.getLabel(reflectorGrid.getFieldNamingStrategy()));
+      width = Math.max(width, text.getLayoutBounds().getWidth());
+    }
+
+    // leave some room for the label padding
+    return Math.ceil(width) + 10;
+  }
+
+  /**
+   * A row of the sheet. It keeps one control of each kind and swaps them in depending on the field
+   * it displays.
+   */
+  private class PropertySheetCell extends ListCell<FieldMetadata> {
+
+    private final GridPane pane;
+    private final Label label;
+    private final ChangeListener<String> changeListener;
+
+    private TextField textField;
+    private TextArea textArea;
+    private ComboBox<String> comboBox;
+
+    private TextCommitter textFieldCommitter;
+    private TextCommitter textAreaCommitter;
+
+    private Control currentControl;
+    private ObservableValue<String> listenedProperty;
+    private TextCommitter attachedCommitter;
+    private FieldMetadata field;
+    private Object handle;
+
+    PropertySheetCell() {
+      this.pane = new GridPane();
+      this.label = new Label();
+      this.changeListener = (obs, ov, newValue) -> commit(newValue);
+
+      if (reflectorGrid.getLabelDisplayOrder() == LabelDisplayOrder.SIDE_BY_SIDE) {
+        ColumnConstraints labelColumn = new ColumnConstraints();
+        labelColumn.minWidthProperty().bind(labelColumnWidth);
+        pane.getColumnConstraints().add(labelColumn);
+      }
+    }
+
+    @Override
+    protected void updateItem(FieldMetadata item, boolean empty) {
+      super.updateItem(item, empty);
+
+      detachListener();
+      field = item;
+      handle = boundObject;
+      setText(null);
+
+      if (empty || item == null) {
+        setGraphic(null);
+        return;
+      }
+
+      label.setText(item.getLabel(reflectorGrid.getFieldNamingStrategy()));
+      Control control = getControl(item);
+
+      if (control != currentControl) {
+        pane.getChildren().clear();
+        reflectorGrid.getLabelDisplayOrder()
+            .addNode(new InsertionPosition(0, 0), label, control, pane);
+        currentControl = control;
+      }
+      reflectorGrid.adjustNodeProperties(item, control);
+
+      FieldAccessor accessor = item.getAccessor(reflectorGrid.getFieldAccessorFactory());
+      StringBuilder text = reflectorGrid.formatValue(item, accessor, handle);
+
+      if (control == comboBox) {
+        comboBox.getItems().setAll(item.getOptions());
+        comboBox.getSelectionModel().select(text.toString());
+        listenedProperty = comboBox.getSelectionModel().selectedItemProperty();
+        listenedProperty.addListener(changeListener);
+      } else {
+        TextInputControl textInput = (TextInputControl) control;
+        String displayed = textInput.getText();
+        if (displayed == null || !displayed.contentEquals(text)) {
+          textInput.setText(text.toString());
+        }
+        attachedCommitter = control == textField ? textFieldCommitter : textAreaCommitter;
+        attachedCommitter.setCommitPolicy(
+            item.getCommitPolicy(reflectorGrid.getCommitPolicy()), reflectorGrid.getDebounceDelay()
+        );
+        attachedCommitter.attach();
+      }
+
+      setGraphic(pane);
+    }
+
+    private Control getControl(FieldMetadata item) {
+      if (item.hasOptions()) {
+        if (comboBox == null) {
+          comboBox = reflectorGrid.createComboBox(new String[0]);
+        }
+        return comboBox;
+      }
+
+      switch (item.getFieldType()) {
+        case TEXT_FIELD:
+          if (textField == null) {
+            textField = reflectorGrid.createTextField();
+            textFieldCommitter = new TextCommitter(textField, this::commit);
+          }
+          return textField;
+        case TEXT_AREA:
+          if (textArea == null) {
+            textArea = reflectorGrid.createTextArea();
+            textAreaCommitter = new TextCommitter(textArea, this::commit);
+          }
+          return textArea;
+        default:
+          throw new IllegalArgumentException("Unknown field type: " + item.getFieldType());
+      }
+    }
+
+    private void detachListener() {
+      if (listenedProperty != null) {
+        listenedProperty.removeListener(changeListener);
+        listenedProperty = null;
+      }
+      if (attachedCommitter != null) {
+        // commits pending changes to the field and object this cell displayed before
+        attachedCommitter.detach();
+        attachedCommitter = null;
+      }
+    }
+
+    private void commit(String text) {
+      FieldAccessor accessor = field.getAccessor(reflectorGrid.getFieldAccessorFactory());
+      reflectorGrid.writeValue(field, reflectorGrid.lockWrites(accessor), handle, text);
+    }
+  }
+}
@@ -21,12 +21,13 @@
 
 package ch.rs.reflectorgrid;
 
-import ch.rs.reflectorgrid.TransferGrid.FieldType;
+import ch.rs.reflectorgrid.core.ClassMetadata;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.TransferGrid.FieldType;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 import javafx.geometry.HPos;
 import javafx.scene.Node;
 import javafx.scene.control.ComboBox;
@@ -88,27 +89,28 @@ public class ReflectorGrid {
   //Set to 300.
   private double NODE_WIDTH_LIMIT = 300;
 
+  //Receives the errors that happen while creating the grid or writing fields.
+  private GridMetricsListener metricsListener = GridMetricsListener.NONE;
+
   public GridPane turnObjectIntoGrid(Object object) {
     gridObject = object;
     List<Label> labels = new ArrayList<>();
     List<Node> nodes = new ArrayList<>();
-    List<Field> fields = getAllFieldsForClassHierarchy(object).stream()
-        .filter(field -> field.isAnnotationPresent(TransferGrid.class))
-        .collect(Collectors.toList());
+    ClassMetadata metadata = ClassMetadata.forClass(object.getClass());
 
     //Iterates trough all the found fields.
-    for (Field field : fields) {
-      TransferGrid annotation = field.getAnnotation(TransferGrid.class);
+    for (FieldMetadata fieldMetadata : metadata.getFields()) {
+      Field field = fieldMetadata.getField();
 
-      labels.add(new Label(field.getName()));
+      labels.add(new Label(fieldMetadata.getName()));
 
       try {
         field.setAccessible(true);
         //First option is for ComboBox
-        if (hasOptions(annotation)) {
+        if (fieldMetadata.hasOptions()) {
           ComboBox<String> valueNode = new ComboBox<>();
-          valueNode.getItems().addAll(annotation.options());
-          valueNode.setEditable(annotation.editable());
+          valueNode.getItems().addAll(fieldMetadata.getOptions());
+          valueNode.setEditable(fieldMetadata.isEditable());
 
           if (valueNode.isEditable()) {
             setValueChangerFunction(field, valueNode);
@@ -122,9 +124,9 @@ public class ReflectorGrid {
           nodes.add(valueNode);
 
           //second option for TextField
-        } else if (isTextField(annotation)) {
+        } else if (isTextField(fieldMetadata)) {
           TextField valueNode = new TextField(getText(field));
-          valueNode.setEditable(annotation.editable());
+          valueNode.setEditable(fieldMetadata.isEditable());
 
           if (valueNode.isEditable()) {
             setValueChangerFunction(field, valueNode);
@@ -137,9 +139,9 @@ public class ReflectorGrid {
 
           //last option for TextArea. This was made as else if in case
           //of future additions
-        } else if (isTextArea(annotation)) {
+        } else if (isTextArea(fieldMetadata)) {
           TextArea valueNode = new TextArea(getText(field));
-          valueNode.setEditable(annotation.editable());
+          valueNode.setEditable(fieldMetadata.isEditable());
 
           if (valueNode.isEditable()) {
             setValueChangerFunction(field, valueNode);
@@ -158,8 +160,7 @@ public class ReflectorGrid {
         }
 
       } catch (Exception e) {
-        System.err.println("Error whilst constructing the getting"
-            + "the fields and annotations for the Grid!" + e.getMessage());
+        metricsListener.fieldFailed(field, e);
       }
     }
 
@@ -167,42 +168,26 @@ public class ReflectorGrid {
     return generateGrid(labels, nodes);
   }
 
-  private List<Field> getAllFieldsForClassHierarchy(Object object) {
-    List<Field> fields = new ArrayList<>();
-
-    Class objClass = object.getClass();
-    while (hasSuperClass(objClass)) {
-      Collections.addAll(fields, objClass.getDeclaredFields());
-      objClass = objClass.getSuperclass();
-    }
-
-    return fields;
-  }
-
   private void setMaxWidth(TextInputControl field) {
     field.setMaxWidth(NODE_WIDTH_LIMIT);
   }
 
-  private boolean isTextField(TransferGrid anot) {
-    return ((anot).fieldtype() == FieldType.TEXT_FIELD);
+  private boolean isTextField(FieldMetadata fieldMetadata) {
+    return fieldMetadata.getFieldType() == FieldType.TEXT_FIELD;
   }
 
-  private boolean isTextArea(TransferGrid anot) {
-    return ((anot).fieldtype() == FieldType.TEXT_AREA);
+  private boolean isTextArea(FieldMetadata fieldMetadata) {
+    return fieldMetadata.getFieldType() == FieldType.TEXT_AREA;
   }
 
   private void selectCurrentValue(Field field, ComboBox<String> combo) {
     try {
       combo.getSelectionModel().select((String) field.get(gridObject));
     } catch (Exception e) {
-      System.err.println("Couldn't set the value of the ComboBox " + e.getMessage());
+      metricsListener.fieldFailed(field, e);
     }
   }
 
-  private boolean hasOptions(TransferGrid anot) {
-    return !((anot).options().length == 0);
-  }
-
   private String getText(Field field) throws IllegalArgumentException, IllegalAccessException {
     if (field.get(gridObject) == null) {
       return "";
@@ -210,10 +195,6 @@ public class ReflectorGrid {
     return String.valueOf(field.get(gridObject));
   }
 
-  private boolean hasSuperClass(Class object) {
-    return (object.getSuperclass() != null);
-  }
-
   private GridPane generateGrid(List<Label> labels, List<Node> nodes) {
     grid.getChildren().clear();
     int row = 0;
@@ -272,15 +253,16 @@ public class ReflectorGrid {
           field.set(gridObject, Double.parseDouble(text));
           break;
         default:
-          System.err.println("no case for " + field.getType().getName());
+          metricsListener.conversionFailed(
+              field, text, new IllegalArgumentException("no case for " + field.getType().getName())
+          );
       }
     } catch (ReflectiveOperationException e) {
+      metricsListener.fieldFailed(field, e);
       try {
-        System.err.println("Couldn't cast the value to the desired field. " + e.getMessage());
         tempfield.setText(String.valueOf(field.get(gridObject)));
       } catch (ReflectiveOperationException ee) {
-        System.err.println("Couldn't reset the value of the field to the"
-            + " GUI TextField. " + e.getMessage());
+        metricsListener.fieldFailed(field, ee);
       }
 
     }
@@ -290,7 +272,7 @@ public class ReflectorGrid {
     try {
       field.set(gridObject, option);
     } catch (ReflectiveOperationException e) {
-      System.err.println("Couldn't set the option to the field." + e.getMessage());
+      metricsListener.fieldFailed(field, e);
     }
   }
 
@@ -302,6 +284,17 @@ public class ReflectorGrid {
     setFieldValue(field, area.getText());
   }
 
+  /**
+   * Sets the listener that is informed about fields that could not be displayed or written.
+   *
+   * @param metricsListener The listener, {@link GridMetricsListener#NONE} by default
+   */
+  public void setMetricsListener(GridMetricsListener metricsListener) {
+    this.metricsListener = Objects.requireNonNull(
+        metricsListener, "metricsListener can not be null!"
+    );
+  }
+
   /**
    * Changes the generation method of the Grid to Side by Side. Example: Label | Field Label |
    * Field
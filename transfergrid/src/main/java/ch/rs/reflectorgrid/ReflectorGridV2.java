@@ -0,0 +1,567 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.ClassMetadata;
+import ch.rs.reflectorgrid.core.DefaultFieldAccessorFactory;
+import ch.rs.reflectorgrid.core.DefaultFieldNamingStrategy;
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldAccessorFactory;
+import ch.rs.reflectorgrid.core.FieldChangeListener;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.FieldNamingStrategy;
+import ch.rs.reflectorgrid.core.FieldSnapshot;
+import ch.rs.reflectorgrid.core.LockingFieldAccessor;
+import ch.rs.reflectorgrid.core.StripedLocks;
+import ch.rs.reflectorgrid.core.TransferGrid;
+import ch.rs.reflectorgrid.core.TransferGrid.CommitPolicy;
+import ch.rs.reflectorgrid.core.TransferGrid.FieldType;
+import ch.rs.reflectorgrid.core.typeconversion.ConversionException;
+import ch.rs.reflectorgrid.typeconversion.TypeConverterCollection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import javafx.collections.FXCollections;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.ComboBoxBase;
+import javafx.scene.control.Control;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.control.TitledPane;
+import javafx.scene.layout.GridPane;
+import javafx.util.Duration;
+
+/**
+ * A small rewrite of the reflector grid.
+ */
+public class ReflectorGridV2 {
+
+  private LabelDisplayOrder labelDisplayOrder;
+  private double nodeWidthLimit;
+  private FieldNamingStrategy fieldNamingStrategy;
+  private TypeConverterCollection typeConverterCollection;
+  private FieldAccessorFactory fieldAccessorFactory;
+  private CommitPolicy commitPolicy;
+  private Duration debounceDelay;
+  private Executor workerExecutor;
+  private GridMetricsListener metricsListener;
+  private FieldChangeListener fieldChangeListener;
+  private boolean bufferedEdits;
+  private StripedLocks stripedLocks;
+  private int historySize;
+  private ControlPool controlPool;
+  private final StringBuilder formatBuffer = new StringBuilder();
+
+  public ReflectorGridV2(LabelDisplayOrder labelDisplayOrder, double nodeWidthLimit) {
+    this.labelDisplayOrder = labelDisplayOrder;
+    this.nodeWidthLimit = nodeWidthLimit;
+
+    this.fieldNamingStrategy = DefaultFieldNamingStrategy.VERBATIM;
+    this.typeConverterCollection = new TypeConverterCollection();
+    this.fieldAccessorFactory = DefaultFieldAccessorFactory.METHOD_HANDLES;
+    this.commitPolicy = CommitPolicy.ON_CHANGE;
+    this.debounceDelay = Duration.millis(300);
+    this.workerExecutor = WorkerExecutors.getDefault();
+    this.metricsListener = GridMetricsListener.NONE;
+    this.fieldChangeListener = FieldChangeListener.NONE;
+  }
+
+  /**
+   * @param fieldNamingStrategy The {@link FieldNamingStrategy} to use
+   * @return This object
+   */
+  public ReflectorGridV2 setFieldNamingStrategy(FieldNamingStrategy fieldNamingStrategy) {
+    this.fieldNamingStrategy = fieldNamingStrategy;
+
+    return this;
+  }
+
+  /**
+   * @param fieldAccessorFactory The {@link FieldAccessorFactory} used to read and write fields
+   * @return This object
+   */
+  public ReflectorGridV2 setFieldAccessorFactory(FieldAccessorFactory fieldAccessorFactory) {
+    this.fieldAccessorFactory = fieldAccessorFactory;
+
+    return this;
+  }
+
+  /**
+   * Sets when the text entered by the user is written to the object. Fields can override this
+   * with {@link TransferGrid#commitPolicy()}. Only affects grids created afterwards.
+   *
+   * @param commitPolicy The {@link CommitPolicy} to use, {@link CommitPolicy#ON_CHANGE} by default
+   * @return This object
+   */
+  public ReflectorGridV2 setCommitPolicy(CommitPolicy commitPolicy) {
+    if (commitPolicy == CommitPolicy.GRID_DEFAULT) {
+      throw new IllegalArgumentException("The grid needs a concrete commit policy");
+    }
+    this.commitPolicy = commitPolicy;
+
+    return this;
+  }
+
+  /**
+   * @param debounceDelay How long the user has to stop typing before a {@link
+   *     CommitPolicy#DEBOUNCED} field is written. 300ms by default.
+   * @return This object
+   */
+  public ReflectorGridV2 setDebounceDelay(Duration debounceDelay) {
+    this.debounceDelay = debounceDelay;
+
+    return this;
+  }
+
+  /**
+   * @param workerExecutor The executor that prepares grids created by {@link
+   *     #bindObjectToGridAsync(Object)}. Uses virtual threads if available and a pool of daemon
+   *     threads otherwise by default.
+   * @return This object
+   */
+  public ReflectorGridV2 setWorkerExecutor(Executor workerExecutor) {
+    this.workerExecutor = Objects.requireNonNull(workerExecutor, "workerExecutor can not be null!");
+
+    return this;
+  }
+
+  /**
+   * @param metricsListener The listener receiving build timings, writes and conversion failures.
+   *     {@link GridMetricsListener#NONE} by default, which disables all measurements.
+   * @return This object
+   */
+  public ReflectorGridV2 setMetricsListener(GridMetricsListener metricsListener) {
+    this.metricsListener = Objects.requireNonNull(
+        metricsListener, "metricsListener can not be null!"
+    );
+
+    return this;
+  }
+
+  /**
+   * @param fieldChangeListener The listener receiving the values the user writes to the bound
+   *     objects. {@link FieldChangeListener#NONE} by default.
+   * @return This object
+   */
+  public ReflectorGridV2 setFieldChangeListener(FieldChangeListener fieldChangeListener) {
+    this.fieldChangeListener = Objects.requireNonNull(
+        fieldChangeListener, "fieldChangeListener can not be null!"
+    );
+
+    return this;
+  }
+
+  /**
+   * Sets whether edits are collected in the {@link ChangeSet} of the grid instead of being written
+   * to the object right away. They are then written all at once by {@link ChangeSet#commit()}.
+   * Lists and arrays are read only in such grids, as their elements are edited in place. Only
+   * affects grids created by {@link #bindObjectToGrid(Object)} afterwards.
+   *
+   * @param bufferedEdits True to buffer edits, false by default
+   * @return This object
+   */
+  public ReflectorGridV2 setBufferedEdits(boolean bufferedEdits) {
+    this.bufferedEdits = bufferedEdits;
+
+    return this;
+  }
+
+  /**
+   * Makes every write of the grid hold the write lock of the written object, so threads reading
+   * several fields with {@link FieldSnapshot#read(Object, StripedLocks)} see them consistently.
+   * Buffered edits are committed holding the locks of all objects they change, including nested
+   * ones. Only affects grids created afterwards.
+   *
+   * @param stripedLocks The locks to use or null to write without locking, the default
+   * @return This object
+   */
+  public ReflectorGridV2 setStripedLocks(StripedLocks stripedLocks) {
+    this.stripedLocks = stripedLocks;
+
+    return this;
+  }
+
+  /**
+   * Sets how many steps the {@link EditHistory} of a grid keeps for undo and redo. Only affects
+   * grids created afterwards.
+   *
+   * @param historySize The number of steps or 0 to disable undo, the default
+   * @return This object
+   */
+  public ReflectorGridV2 setHistorySize(int historySize) {
+    if (historySize < 0) {
+      throw new IllegalArgumentException("The history size can not be negative: " + historySize);
+    }
+    this.historySize = historySize;
+
+    return this;
+  }
+
+  /**
+   * Makes grids take their text fields, text areas and combo boxes from a pool and return them
+   * when they are rebound to another class or disposed. The same pool can be set on several
+   * grids. Only affects grids created afterwards.
+   *
+   * @param controlPool The pool to use or null to always create new controls, the default
+   * @return This object
+   */
+  public ReflectorGridV2 setControlPool(ControlPool controlPool) {
+    this.controlPool = controlPool;
+
+    return this;
+  }
+
+  public TypeConverterCollection getTypeConverterCollection() {
+    return typeConverterCollection;
+  }
+
+  /**
+   * @param object The value object
+   * @return The resulting {@link GridPane}
+   */
+  public GridPane transformObjectToGrid(Object object) {
+    return bindObjectToGrid(object).getGridPane();
+  }
+
+  /**
+   * Creates a grid for the object that can later be rebound to other objects without recreating
+   * its controls.
+   *
+   * @param object The value object
+   * @return The resulting {@link BoundGrid}
+   */
+  public BoundGrid bindObjectToGrid(Object object) {
+    Objects.requireNonNull(object, "object can not be null!");
+
+    return new BoundGrid(this, createGridPane(), object);
+  }
+
+  /**
+   * Creates a grid for the object without blocking the calling thread.
+   *
+   * <p>The metadata of the class is resolved and the values are read and formatted on the worker
+   * executor. The controls are then created and added to the grid on the FX application thread,
+   * a few at a time, so the UI keeps rendering while a large object is built. The returned future
+   * is completed on the FX application thread.
+   *
+   * @param object The value object
+   * @return A future for the resulting {@link BoundGrid}
+   */
+  public CompletableFuture<BoundGrid> bindObjectToGridAsync(Object object) {
+    Objects.requireNonNull(object, "object can not be null!");
+
+    return BoundGrid.bindAsync(this, object, workerExecutor);
+  }
+
+  /**
+   * Creates a grid for the object without blocking the calling thread. See {@link
+   * #bindObjectToGridAsync(Object)} for details.
+   *
+   * @param object The value object
+   * @return A future for the resulting {@link GridPane}
+   */
+  public CompletableFuture<GridPane> transformObjectToGridAsync(Object object) {
+    return bindObjectToGridAsync(object).thenApply(BoundGrid::getGridPane);
+  }
+
+  /**
+   * Creates a virtualized property sheet for the object. Only the rows that are currently visible
+   * have controls, which makes it suitable for classes with thousands of fields.
+   *
+   * @param object The value object
+   * @return The resulting {@link PropertySheet}
+   */
+  public PropertySheet bindObjectToPropertySheet(Object object) {
+    Objects.requireNonNull(object, "object can not be null!");
+
+    return new PropertySheet(this, object);
+  }
+
+  /**
+   * Creates a read-only grid for the object that draws all fields onto a single canvas instead of
+   * creating a control per field. Meant for large objects that are only displayed.
+   *
+   * @param object The value object
+   * @return The resulting {@link CanvasGrid}
+   */
+  public CanvasGrid bindObjectToCanvas(Object object) {
+    Objects.requireNonNull(object, "object can not be null!");
+
+    return new CanvasGrid(this, object);
+  }
+
+  LabelDisplayOrder getLabelDisplayOrder() {
+    return labelDisplayOrder;
+  }
+
+  FieldNamingStrategy getFieldNamingStrategy() {
+    return fieldNamingStrategy;
+  }
+
+  FieldAccessorFactory getFieldAccessorFactory() {
+    return fieldAccessorFactory;
+  }
+
+  CommitPolicy getCommitPolicy() {
+    return commitPolicy;
+  }
+
+  GridMetricsListener getMetricsListener() {
+    return metricsListener;
+  }
+
+  FieldChangeListener getFieldChangeListener() {
+    return fieldChangeListener;
+  }
+
+  boolean isBufferedEdits() {
+    return bufferedEdits;
+  }
+
+  StripedLocks getStripedLocks() {
+    return stripedLocks;
+  }
+
+  int getHistorySize() {
+    return historySize;
+  }
+
+  ControlPool getControlPool() {
+    return controlPool;
+  }
+
+  Duration getDebounceDelay() {
+    return debounceDelay;
+  }
+
+  /**
+   * Formats the value of a field into a buffer that is shared by the whole grid. The returned
+   * buffer is only valid until the next call, so it must be consumed right away on the FX thread.
+   *
+   * @param field The field to format
+   * @param accessor The accessor of the field
+   * @param handle The object to read the field of
+   * @return The buffer containing the formatted value
+   */
+  StringBuilder formatValue(FieldMetadata field, FieldAccessor accessor, Object handle) {
+    formatBuffer.setLength(0);
+    field.getCodec(typeConverterCollection).format(handle, accessor, formatBuffer);
+    return formatBuffer;
+  }
+
+  /**
+   * Converts the text and writes it to the field. If the text can not be converted (yet), the
+   * field is left unchanged.
+   *
+   * @param field The field to write
+   * @param accessor The accessor of the field
+   * @param handle The object to write the field of
+   * @param text The text entered by the user
+   * @return True if the value was written
+   */
+  boolean writeValue(FieldMetadata field, FieldAccessor accessor, Object handle,
+      CharSequence text) {
+    return tryWriteValue(field, accessor, handle, text) == null;
+  }
+
+  /**
+   * Like {@link #writeValue(FieldMetadata, FieldAccessor, Object, CharSequence)}, but returns
+   * why the text could not be written.
+   *
+   * @param field The field to write
+   * @param accessor The accessor of the field
+   * @param handle The object to write the field of
+   * @param text The text entered by the user
+   * @return The conversion error or null if the value was written
+   */
+  ConversionException tryWriteValue(FieldMetadata field, FieldAccessor accessor, Object handle,
+      CharSequence text) {
+    if (text == null) {
+      if (field.getType().isPrimitive()) {
+        return new ConversionException("Can not assign null to " + field.getType(), null);
+      }
+      accessor.set(handle, null);
+      return null;
+    }
+
+    boolean measure = metricsListener != GridMetricsListener.NONE;
+    long start = measure ? System.nanoTime() : 0;
+
+    try {
+      field.getCodec(typeConverterCollection).parse(text, handle, accessor);
+    } catch (ConversionException e) {
+      if (measure) {
+        metricsListener.conversionFailed(field.getField(), text, e);
+      }
+      return e;
+    }
+
+    if (measure) {
+      metricsListener.fieldWritten(field.getField(), System.nanoTime() - start);
+    }
+    return null;
+  }
+
+  GridPane createGridPane() {
+    return new GridPane();
+  }
+
+  /**
+   * Creates the label and control for a field. The binding is not bound to an object yet.
+   *
+   * @param field The field to create the binding for
+   * @param index The index of the field in the {@link ClassMetadata}
+   * @param changeSet The change set buffering the edits or null to write them directly
+   * @return The created binding
+   */
+  FieldBinding createBinding(FieldMetadata field, int index, ChangeSet changeSet) {
+    Label label = new Label(field.getLabel(fieldNamingStrategy));
+    FieldAccessor accessor = field.getAccessor(fieldAccessorFactory);
+    FieldBinding binding;
+
+    if (field.hasOptions()) {
+      binding = new ComboBoxFieldBinding(
+          this, field, buffer(field, index, accessor, changeSet), label,
+          controlPool != null
+              ? controlPool.acquireComboBox(field.getOptions())
+              : createComboBox(field.getOptions())
+      );
+    } else if (isCollection(field)) {
+      ListView<Integer> listView = new ListView<>();
+      listView.setMaxWidth(nodeWidthLimit);
+      // not mouse transparent when read only, so the list can still be scrolled
+      return new CollectionFieldBinding(
+          this, field, lockWrites(accessor), label, listView,
+          // elements are changed in place, which would bypass the change set
+          field.isEditable() && changeSet == null
+      );
+    } else if (isNested(field)) {
+      TitledPane titledPane = createTitledPane();
+      titledPane.setMaxWidth(nodeWidthLimit);
+      // the fields of the nested object decide themselves whether they are editable
+      return new NestedFieldBinding(this, field, accessor, label, titledPane, changeSet);
+    } else {
+      accessor = buffer(field, index, accessor, changeSet);
+
+      switch (field.getFieldType()) {
+        case TEXT_FIELD:
+          binding = new TextInputFieldBinding(
+              this, field, accessor, label,
+              controlPool != null ? controlPool.acquireTextField() : createTextField()
+          );
+          break;
+        case TEXT_AREA:
+          TextArea textArea = controlPool != null
+              ? controlPool.acquireTextArea()
+              : createTextArea();
+          // buffered edits need a new value per edit, so they can not change a builder in place
+          binding = changeSet == null && isTextBuffer(field)
+              ? new TextBufferFieldBinding(this, field, accessor, label, textArea)
+              : new TextInputFieldBinding(this, field, accessor, label, textArea);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown field type: " + field.getFieldType());
+      }
+    }
+
+    adjustNodeProperties(field, binding.getControl());
+
+    return binding;
+  }
+
+  private FieldAccessor buffer(FieldMetadata field, int index, FieldAccessor accessor,
+      ChangeSet changeSet) {
+    if (changeSet == null) {
+      return lockWrites(accessor);
+    }
+    // the change set locks when it is committed
+    return changeSet.buffer(index, accessor, field.getValueKind());
+  }
+
+  /**
+   * @param accessor The accessor of a field
+   * @return An accessor holding the write lock of the object while writing if the grid has
+   *     {@link StripedLocks}, the accessor itself otherwise
+   */
+  FieldAccessor lockWrites(FieldAccessor accessor) {
+    if (stripedLocks == null) {
+      return accessor;
+    }
+    return new LockingFieldAccessor(accessor, stripedLocks);
+  }
+
+  /**
+   * @param field The field to check
+   * @return True if the field is an array or {@link List} whose elements are edited one by one
+   */
+  boolean isCollection(FieldMetadata field) {
+    Class<?> type = field.getType();
+
+    return !field.hasOptions() && (type.isArray() || List.class.isAssignableFrom(type));
+  }
+
+  /**
+   * @param field The field to check
+   * @return True if the field is a text area editing a {@link StringBuilder} in place, see {@link
+   *     TextBufferFieldBinding}
+   */
+  boolean isTextBuffer(FieldMetadata field) {
+    Class<?> type = field.getType();
+
+    return !field.hasOptions() && field.getFieldType() == FieldType.TEXT_AREA
+        && type == StringBuilder.class;
+  }
+
+  /**
+   * Fields holding an object without a converter are displayed as a nested grid. Their type is
+   * only reflected when the nested grid is expanded.
+   *
+   * @param field The field to check
+   * @return True if the field should be displayed as a nested grid
+   */
+  private boolean isNested(FieldMetadata field) {
+    Class<?> type = field.getType();
+
+    return !type.isPrimitive() && !isCollection(field)
+        && typeConverterCollection.getValueConverter(type) == null;
+  }
+
+  TitledPane createTitledPane() {
+    TitledPane titledPane = new TitledPane();
+    titledPane.setExpanded(false);
+    titledPane.setAnimated(false);
+    return titledPane;
+  }
+
+  ComboBox<String> createComboBox(String[] options) {
+    return new ComboBox<>(FXCollections.observableArrayList(options));
+  }
+
+  TextField createTextField() {
+    return new TextField();
+  }
+
+  TextArea createTextArea() {
+    return new TextArea();
+  }
+
+  void adjustNodeProperties(FieldMetadata field, Control node) {
+    setEditable(node, field.isEditable());
+    node.setMouseTransparent(!field.isEditable());
+    node.setFocusTraversable(field.isEditable());
+
+    node.setMaxWidth(nodeWidthLimit);
+  }
+
+  private void setEditable(Control node, boolean editable) {
+    if (node instanceof TextInputControl) {
+      ((TextInputControl) node).setEditable(editable);
+    } else if (node instanceof ComboBoxBase) {
+      ((ComboBoxBase) node).setEditable(false);
+    } else {
+      throw new IllegalArgumentException("Can't make node uneditable: " + node);
+    }
+  }
+}
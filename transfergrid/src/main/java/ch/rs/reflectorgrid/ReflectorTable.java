@@ -0,0 +1,120 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.ClassMetadata;
+import ch.rs.reflectorgrid.core.DefaultFieldAccessorFactory;
+import ch.rs.reflectorgrid.core.DefaultFieldNamingStrategy;
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldAccessorFactory;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.FieldNamingStrategy;
+import ch.rs.reflectorgrid.core.TransferGrid;
+import ch.rs.reflectorgrid.core.typeconversion.ConversionException;
+import ch.rs.reflectorgrid.typeconversion.TypeConverterCollection;
+import java.util.Objects;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.ComboBoxTableCell;
+import javafx.scene.control.cell.TextFieldTableCell;
+
+/**
+ * Creates a {@link TableView} for a list of objects of the same class. Every {@link TransferGrid}
+ * field becomes a column.
+ *
+ * <p>The rows are virtualized by the {@link TableView}, and the cell values are read through the
+ * cached field accessors, so large lists can be displayed without reflecting per cell.
+ */
+public class ReflectorTable {
+
+  private FieldNamingStrategy fieldNamingStrategy;
+  private TypeConverterCollection typeConverterCollection;
+  private FieldAccessorFactory fieldAccessorFactory;
+
+  public ReflectorTable() {
+    this.fieldNamingStrategy = DefaultFieldNamingStrategy.VERBATIM;
+    this.typeConverterCollection = new TypeConverterCollection();
+    this.fieldAccessorFactory = DefaultFieldAccessorFactory.METHOD_HANDLES;
+  }
+
+  /**
+   * @param fieldNamingStrategy The {@link FieldNamingStrategy} used for the column headers
+   * @return This object
+   */
+  public ReflectorTable setFieldNamingStrategy(FieldNamingStrategy fieldNamingStrategy) {
+    this.fieldNamingStrategy = fieldNamingStrategy;
+
+    return this;
+  }
+
+  /**
+   * @param fieldAccessorFactory The {@link FieldAccessorFactory} used to read and write fields
+   * @return This object
+   */
+  public ReflectorTable setFieldAccessorFactory(FieldAccessorFactory fieldAccessorFactory) {
+    this.fieldAccessorFactory = fieldAccessorFactory;
+
+    return this;
+  }
+
+  public TypeConverterCollection getTypeConverterCollection() {
+    return typeConverterCollection;
+  }
+
+  /**
+   * Creates a table for the objects.
+   *
+   * <p>Fields with {@link TransferGrid#options()} are edited with a ComboBox, all others with a
+   * TextField. Fields that are not {@link TransferGrid#editable()} get read only columns.
+   *
+   * @param type The class of the objects, which determines the columns
+   * @param items The objects to display
+   * @param <T> The type of the objects
+   * @return The resulting {@link TableView}
+   */
+  public <T> TableView<T> transformListToTable(Class<T> type, ObservableList<T> items) {
+    Objects.requireNonNull(type, "type can not be null!");
+    Objects.requireNonNull(items, "items can not be null!");
+
+    TableView<T> tableView = new TableView<>(items);
+    tableView.setEditable(true);
+
+    for (FieldMetadata field : ClassMetadata.forClass(type).getFields()) {
+      tableView.getColumns().add(createColumn(field));
+    }
+
+    return tableView;
+  }
+
+  private <T> TableColumn<T, String> createColumn(FieldMetadata field) {
+    FieldAccessor accessor = field.getAccessor(fieldAccessorFactory);
+    TableColumn<T, String> column = new TableColumn<>(field.getLabel(fieldNamingStrategy));
+
+    // cell values are only requested on the FX thread, so the column can reuse one buffer
+    StringBuilder buffer = new StringBuilder();
+    column.setCellValueFactory(features -> {
+      buffer.setLength(0);
+      field.getCodec(typeConverterCollection).format(features.getValue(), accessor, buffer);
+      return new ReadOnlyObjectWrapper<>(buffer.toString());
+    });
+
+    if (field.hasOptions()) {
+      column.setCellFactory(ComboBoxTableCell.forTableColumn(field.getOptions()));
+    } else {
+      column.setCellFactory(TextFieldTableCell.forTableColumn());
+    }
+
+    column.setEditable(field.isEditable());
+    column.setOnEditCommit(event -> {
+      try {
+        field.getCodec(typeConverterCollection)
+            .parse(event.getNewValue(), event.getRowValue(), accessor);
+      } catch (ConversionException e) {
+        // show the old value again
+        event.getTableView().refresh();
+      }
+    });
+
+    return column;
+  }
+}
@@ -0,0 +1,207 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.StripedLocks;
+import ch.rs.reflectorgrid.core.TransferGrid;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextFormatter;
+import javafx.scene.control.TextFormatter.Change;
+
+/**
+ * A {@link FieldBinding} for {@link TransferGrid.FieldType#TEXT_AREA} fields declared as {@link
+ * StringBuilder}, meant for large texts like notes or logs. Fields declared as {@link
+ * CharSequence} may hold immutable strings, so they are bound like any other text.
+ *
+ * <p>Instead of converting the whole text on every change, the {@link TextFormatter} of the text
+ * area passes every edit on as the range it replaces, which is then replaced in the {@link
+ * StringBuilder} of the field. A field holding null gets a new builder on the first edit. Changes
+ * the text area makes without its formatter, like its own undo, or that leave the builder with
+ * another length than the text area, e.g. because the text area dropped a carriage return, are
+ * written by copying the whole text instead.
+ *
+ * <p>Edits are written immediately, regardless of the commit policy, while holding the write
+ * lock of the bound object if the grid has {@link StripedLocks}. They are not recorded in the
+ * {@link EditHistory}, the text area has its own undo.
+ *
+ * <p>Texts longer than {@value #CHUNK_SIZE} characters are loaded into the text area a chunk per
+ * FX event, so binding a large text does not block the FX thread. The text area is read only
+ * until it is complete. A builder changed from outside the grid is the same object, so a refresh
+ * only reloads it if its length differs from the displayed text.
+ */
+class TextBufferFieldBinding extends FieldBinding {
+
+  /**
+   * The number of characters loaded into the text area per FX event.
+   */
+  static final int CHUNK_SIZE = 64 * 1024;
+
+  private final ReflectorGridV2 reflectorGrid;
+  private final TextArea control;
+  private final InvalidationListener textListener;
+
+  private boolean attached;
+  private boolean loading;
+  private boolean deltaWritten;
+  private int loadGeneration;
+
+  TextBufferFieldBinding(ReflectorGridV2 reflectorGrid, FieldMetadata field,
+      FieldAccessor accessor, Label label, TextArea control) {
+    super(reflectorGrid, field, accessor, label);
+    this.reflectorGrid = reflectorGrid;
+    this.control = control;
+    this.textListener = observable -> textChanged();
+
+    control.setTextFormatter(new TextFormatter<>(this::filter));
+  }
+
+  @Override
+  TextArea getControl() {
+    return control;
+  }
+
+  @Override
+  boolean refresh() {
+    if (super.refresh()) {
+      return true;
+    }
+
+    CharSequence value = (CharSequence) getValue();
+    if (loading || value == null || value.length() == control.getLength()) {
+      return false;
+    }
+
+    detachListener();
+    updateDisplayedText();
+    attachListener();
+    return true;
+  }
+
+  @Override
+  void release() {
+    // stops loading into a control that is about to be reused
+    loadGeneration++;
+    loading = false;
+    super.release();
+  }
+
+  @Override
+  protected void updateDisplayedText() {
+    load((CharSequence) getValue());
+  }
+
+  @Override
+  protected String getDisplayedText() {
+    return control.getText();
+  }
+
+  @Override
+  protected void setDisplayedText(String text) {
+    load(text);
+  }
+
+  @Override
+  protected void attachListener() {
+    control.textProperty().addListener(textListener);
+    attached = true;
+  }
+
+  @Override
+  protected void detachListener() {
+    attached = false;
+    control.textProperty().removeListener(textListener);
+  }
+
+  /**
+   * Displays the first chunk of a text and schedules loading the rest.
+   *
+   * @param value The text or null to clear the text area
+   */
+  private void load(CharSequence value) {
+    int length = value == null ? 0 : value.length();
+    int generation = ++loadGeneration;
+
+    loading = length > CHUNK_SIZE;
+    control.setEditable(!loading && getField().isEditable());
+    control.setText(value == null ? "" : value.subSequence(0, Math.min(length, CHUNK_SIZE))
+        .toString());
+
+    if (loading) {
+      Platform.runLater(() -> loadChunk(value, CHUNK_SIZE, generation));
+    }
+  }
+
+  private void loadChunk(CharSequence value, int start, int generation) {
+    if (generation != loadGeneration) {
+      // another value was bound meanwhile
+      return;
+    }
+
+    int end = Math.min(start + CHUNK_SIZE, value.length());
+    control.appendText(value.subSequence(start, end).toString());
+
+    if (end < value.length()) {
+      Platform.runLater(() -> loadChunk(value, end, generation));
+    } else {
+      loading = false;
+      control.setEditable(getField().isEditable());
+    }
+  }
+
+  private Change filter(Change change) {
+    if (!attached || loading || !change.isContentChange()) {
+      return change;
+    }
+
+    GridMetricsListener metricsListener = reflectorGrid.getMetricsListener();
+    boolean measure = metricsListener != GridMetricsListener.NONE;
+    long start = measure ? System.nanoTime() : 0;
+
+    replace(getBuilder(), change.getRangeStart(), change.getRangeEnd(), change.getText());
+    deltaWritten = true;
+
+    if (measure) {
+      metricsListener.fieldWritten(getField().getField(), System.nanoTime() - start);
+    }
+    valueEdited();
+    return change;
+  }
+
+  /**
+   * Called after the text of the text area changed. Copies the whole text if the change did not
+   * pass the formatter or the builder does not match the text area.
+   */
+  private void textChanged() {
+    if (loading) {
+      return;
+    }
+
+    boolean expected = deltaWritten;
+    deltaWritten = false;
+
+    StringBuilder builder = getBuilder();
+    if (!expected || builder.length() != control.getLength()) {
+      replace(builder, 0, builder.length(), control.getText());
+      valueEdited();
+    }
+  }
+
+  /**
+   * @return The builder of the field, writing a new one to the field if it is null
+   */
+  private StringBuilder getBuilder() {
+    StringBuilder builder = (StringBuilder) getValue();
+    if (builder == null) {
+      builder = new StringBuilder();
+      setValue(builder);
+    }
+    return builder;
+  }
+
+  private void replace(StringBuilder builder, int start, int end, String text) {
+    writeLocked(() -> builder.replace(start, end, text));
+  }
+}
@@ -0,0 +1,154 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.TransferGrid.CommitPolicy;
+import java.util.function.Consumer;
+import javafx.animation.PauseTransition;
+import javafx.beans.value.ChangeListener;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.util.Duration;
+
+/**
+ * Decides when the text of a {@link TextInputControl} is committed, according to a {@link
+ * CommitPolicy}.
+ *
+ * <p>Except for {@link CommitPolicy#ON_CHANGE}, changes only mark the text as dirty and are
+ * committed later. The debounce timer runs on the FX pulse, so a burst of typing results in a
+ * single commit on the FX thread.
+ */
+final class TextCommitter {
+
+  private final TextInputControl control;
+  private final Consumer<String> commitAction;
+  private final PauseTransition debounceTimer;
+
+  private final ChangeListener<String> textListener;
+  private final ChangeListener<Boolean> focusListener;
+  private final EventHandler<ActionEvent> actionHandler;
+  private final EventHandler<KeyEvent> keyHandler;
+
+  private CommitPolicy commitPolicy;
+  private boolean dirty;
+
+  /**
+   * @param control The control to watch
+   * @param commitAction The action receiving the text to commit
+   */
+  TextCommitter(TextInputControl control, Consumer<String> commitAction) {
+    this.control = control;
+    this.commitAction = commitAction;
+    this.debounceTimer = new PauseTransition();
+    this.commitPolicy = CommitPolicy.ON_CHANGE;
+
+    this.textListener = (obs, ov, newValue) -> textChanged(newValue);
+    this.focusListener = (obs, ov, focused) -> {
+      if (!focused) {
+        flush();
+      }
+    };
+    this.actionHandler = event -> flush();
+    this.keyHandler = event -> {
+      if (event.getCode() == KeyCode.ENTER && event.isShortcutDown()) {
+        flush();
+      }
+    };
+
+    debounceTimer.setOnFinished(event -> flush());
+  }
+
+  /**
+   * Sets the commit policy. Must only be called while the committer is detached.
+   *
+   * @param commitPolicy The new commit policy
+   * @param debounceDelay The delay used for {@link CommitPolicy#DEBOUNCED}
+   */
+  void setCommitPolicy(CommitPolicy commitPolicy, Duration debounceDelay) {
+    if (commitPolicy == CommitPolicy.GRID_DEFAULT) {
+      throw new IllegalArgumentException("The commit policy needs to be resolved first");
+    }
+
+    this.commitPolicy = commitPolicy;
+    this.debounceTimer.setDuration(debounceDelay);
+  }
+
+  /**
+   * Starts listening for changes.
+   */
+  void attach() {
+    control.textProperty().addListener(textListener);
+
+    switch (commitPolicy) {
+      case ON_ENTER:
+        if (control instanceof TextField) {
+          control.addEventHandler(ActionEvent.ACTION, actionHandler);
+        } else {
+          control.addEventHandler(KeyEvent.KEY_PRESSED, keyHandler);
+        }
+        break;
+      case ON_FOCUS_LOST:
+      case DEBOUNCED:
+        control.focusedProperty().addListener(focusListener);
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Commits pending changes and stops listening for changes.
+   */
+  void detach() {
+    flush();
+
+    control.textProperty().removeListener(textListener);
+    control.focusedProperty().removeListener(focusListener);
+    control.removeEventHandler(ActionEvent.ACTION, actionHandler);
+    control.removeEventHandler(KeyEvent.KEY_PRESSED, keyHandler);
+  }
+
+  /**
+   * @return True if the user changed the text and it was not committed yet
+   */
+  boolean isDirty() {
+    return dirty;
+  }
+
+  /**
+   * Commits the text if it changed since the last commit.
+   */
+  void flush() {
+    debounceTimer.stop();
+
+    if (dirty) {
+      dirty = false;
+      commitAction.accept(control.getText());
+    }
+  }
+
+  /**
+   * Forgets the changes that were not committed yet, without committing them.
+   */
+  void discard() {
+    debounceTimer.stop();
+    dirty = false;
+  }
+
+  private void textChanged(String newValue) {
+    switch (commitPolicy) {
+      case ON_CHANGE:
+        commitAction.accept(newValue);
+        break;
+      case DEBOUNCED:
+        dirty = true;
+        debounceTimer.playFromStart();
+        break;
+      default:
+        dirty = true;
+        break;
+    }
+  }
+}
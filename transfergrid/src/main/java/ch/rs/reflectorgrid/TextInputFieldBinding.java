@@ -0,0 +1,75 @@
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.core.FieldAccessor;
+import ch.rs.reflectorgrid.core.FieldMetadata;
+import ch.rs.reflectorgrid.core.TransferGrid;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextInputControl;
+
+/**
+ * A {@link FieldBinding} for {@link javafx.scene.control.TextField}s and {@link
+ * javafx.scene.control.TextArea}s. When the text is committed is decided by the {@link
+ * TransferGrid.CommitPolicy} of the field.
+ */
+class TextInputFieldBinding extends FieldBinding {
+
+  private final TextInputControl control;
+  private final TextCommitter committer;
+
+  TextInputFieldBinding(ReflectorGridV2 reflectorGrid, FieldMetadata field, FieldAccessor accessor,
+      Label label, TextInputControl control) {
+    super(reflectorGrid, field, accessor, label);
+    this.control = control;
+    this.committer = new TextCommitter(control, this::commit);
+
+    committer.setCommitPolicy(
+        field.getCommitPolicy(reflectorGrid.getCommitPolicy()), reflectorGrid.getDebounceDelay()
+    );
+  }
+
+  @Override
+  TextInputControl getControl() {
+    return control;
+  }
+
+  @Override
+  protected String getDisplayedText() {
+    return control.getText();
+  }
+
+  @Override
+  protected void setDisplayedText(String text) {
+    control.setText(text);
+  }
+
+  @Override
+  protected boolean hasPendingEdit() {
+    return committer.isDirty();
+  }
+
+  @Override
+  void flushPendingEdit() {
+    committer.flush();
+  }
+
+  @Override
+  void discardPendingEdit() {
+    if (committer.isDirty()) {
+      committer.discard();
+
+      detachListener();
+      updateDisplayedText();
+      attachListener();
+    }
+  }
+
+  @Override
+  protected void attachListener() {
+    committer.attach();
+  }
+
+  @Override
+  protected void detachListener() {
+    committer.detach();
+  }
+}
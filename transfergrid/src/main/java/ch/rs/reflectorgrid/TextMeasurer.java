@@ -0,0 +1,97 @@
+package ch.rs.reflectorgrid;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * Measures strings in a font and caches the results, so labels that are drawn again, e.g. after
+ * rebinding, are not laid out a second time. Must only be used on the FX application thread.
+ */
+final class TextMeasurer {
+
+  /**
+   * The number of cached widths per font. The least recently used ones are dropped first.
+   */
+  private static final int MAX_CACHED_WIDTHS = 4096;
+
+  /**
+   * The number of fonts that keep their measurer. The least recently used ones are dropped first.
+   */
+  private static final int MAX_CACHED_FONTS = 16;
+
+  private static final Map<Font, TextMeasurer> MEASURERS =
+      new LinkedHashMap<Font, TextMeasurer>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Font, TextMeasurer> eldest) {
+          return size() > MAX_CACHED_FONTS;
+        }
+      };
+
+  private final Text text;
+  private final Map<String, Double> widths;
+  private double lineHeight = -1;
+  private double baselineOffset;
+
+  private TextMeasurer(Font font) {
+    this.text = new Text();
+    this.text.setFont(font);
+    this.widths = new LinkedHashMap<String, Double>(64, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Double> eldest) {
+        return size() > MAX_CACHED_WIDTHS;
+      }
+    };
+  }
+
+  /**
+   * @param font The font to measure in
+   * @return The shared measurer of the font
+   */
+  static TextMeasurer forFont(Font font) {
+    return MEASURERS.computeIfAbsent(font, TextMeasurer::new);
+  }
+
+  /**
+   * @param string The string to measure
+   * @return The width of the string
+   */
+  double getWidth(String string) {
+    Double width = widths.get(string);
+    if (width == null) {
+      text.setText(string);
+      width = text.getLayoutBounds().getWidth();
+      widths.put(string, width);
+    }
+    return width;
+  }
+
+  /**
+   * @return The height of a line of text
+   */
+  double getLineHeight() {
+    measureLine();
+    return lineHeight;
+  }
+
+  /**
+   * @return The distance from the top of a line to its baseline
+   */
+  double getBaselineOffset() {
+    measureLine();
+    return baselineOffset;
+  }
+
+  private void measureLine() {
+    if (lineHeight < 0) {
+      text.setText("Ag");
+      lineHeight = text.getLayoutBounds().getHeight();
+      baselineOffset = text.getBaselineOffset();
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package ch.rs.reflectorgrid;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the executor used to prepare grids off the FX application thread.
+ *
+ * <p>Virtual threads are used when the running JVM has them. As the library targets Java 8, they
+ * are looked up reflectively. Otherwise a cached pool of daemon threads is used.
+ */
+final class WorkerExecutors {
+
+  /**
+   * @return The shared default executor
+   */
+  static Executor getDefault() {
+    return Holder.DEFAULT;
+  }
+
+  private static Executor createDefault() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return Executors.newCachedThreadPool(new DaemonThreadFactory());
+    }
+  }
+
+  private static final class Holder {
+
+    private static final Executor DEFAULT = createDefault();
+  }
+
+  private static final class DaemonThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "TransferGrid-worker-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
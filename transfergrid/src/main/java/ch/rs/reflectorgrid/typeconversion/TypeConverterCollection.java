@@ -0,0 +1,115 @@
+package ch.rs.reflectorgrid.typeconversion;
+
+import ch.rs.reflectorgrid.core.typeconversion.ConverterRegistry;
+import ch.rs.reflectorgrid.core.typeconversion.ValueConverter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javafx.util.StringConverter;
+
+/**
+ * Contains all Type converters that will be used.
+ *
+ * <p>The JavaFX view of a {@link ConverterRegistry}: converters can be added and retrieved as
+ * {@link StringConverter}s, which are adapted to {@link ValueConverter}s and back.
+ */
+public class TypeConverterCollection extends ConverterRegistry {
+
+  /**
+   * The {@link StringConverter}s adapting resolved {@link ValueConverter}s, by the converter they
+   * adapt. Replaced whenever a converter is added, like the resolved converters.
+   */
+  private volatile Map<ValueConverter<?>, StringConverter<?>> stringConverters =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Adds a converter for a class. It is also used for subclasses and implementations of the class
+   * that have no converter of their own.
+   *
+   * <p>Converters must be added before the collection is used from multiple threads.
+   *
+   * @param clazz The class to add the converter for
+   * @param converter The converter
+   * @param <T> The type of the class
+   */
+  public <T> void addConverter(Class<T> clazz, StringConverter<T> converter) {
+    addConverter(clazz, new StringConverterAdapter<>(converter));
+  }
+
+  @Override
+  public <T> void addConverter(Class<T> clazz, ValueConverter<T> converter) {
+    super.addConverter(clazz, converter);
+    stringConverters = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Returns the converter for a class, see {@link #getValueConverter(Class)}. Use {@link
+   * #getValueConverter(Class)} to only check whether a class has a converter.
+   *
+   * @param clazz The class to get the converter for
+   * @param <T> The type of the class
+   * @return The converter used for the class or null if none is registered
+   */
+  public <T> StringConverter<T> getConverter(Class<T> clazz) {
+    ValueConverter<T> converter = getValueConverter(clazz);
+
+    if (converter == null) {
+      return null;
+    }
+    if (converter instanceof StringConverterAdapter) {
+      return ((StringConverterAdapter<T>) converter).delegate;
+    }
+
+    Map<ValueConverter<?>, StringConverter<?>> cache = stringConverters;
+    @SuppressWarnings("unchecked")
+    StringConverter<T> stringConverter = (StringConverter<T>) cache.get(converter);
+    if (stringConverter == null) {
+      stringConverter = new ValueConverterAdapter<>(converter);
+      cache.put(converter, stringConverter);
+    }
+    return stringConverter;
+  }
+
+  /**
+   * A {@link StringConverter} delegating to a {@link ValueConverter}.
+   */
+  private static final class ValueConverterAdapter<T> extends StringConverter<T> {
+
+    private final ValueConverter<T> delegate;
+
+    private ValueConverterAdapter(ValueConverter<T> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public String toString(T object) {
+      return delegate.toString(object);
+    }
+
+    @Override
+    public T fromString(String string) {
+      return delegate.fromString(string);
+    }
+  }
+
+  /**
+   * A {@link ValueConverter} delegating to a {@link StringConverter}.
+   */
+  private static final class StringConverterAdapter<T> implements ValueConverter<T> {
+
+    private final StringConverter<T> delegate;
+
+    private StringConverterAdapter(StringConverter<T> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public String toString(T value) {
+      return delegate.toString(value);
+    }
+
+    @Override
+    public T fromString(String string) {
+      return delegate.fromString(string);
+    }
+  }
+}
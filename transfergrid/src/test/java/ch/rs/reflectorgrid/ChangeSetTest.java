@@ -0,0 +1,91 @@
+package ch.rs.reflectorgrid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.rs.reflectorgrid.core.StripedLocks;
+import ch.rs.reflectorgrid.core.TransferGrid;
+import ch.rs.reflectorgrid.core.TransferGrid.CommitPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.scene.control.ListView;
+import java.util.concurrent.locks.StampedLock;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TitledPane;
+import org.junit.jupiter.api.Test;
+
+class ChangeSetTest {
+
+  public static class Address {
+
+    @TransferGrid
+    public String city = "Bern";
+  }
+
+  public static class Model {
+
+    @TransferGrid
+    public String name = "old";
+    @TransferGrid
+    public List<String> items = new ArrayList<>();
+    @TransferGrid
+    public Address address = new Address();
+  }
+
+  @Test
+  void rollbackDiscardsUncommittedText() throws InterruptedException {
+    FxToolkit.runAndWait(() -> {
+      Model model = new Model();
+      BoundGrid boundGrid = new ReflectorGridV2(LabelDisplayOrder.SIDE_BY_SIDE, 300)
+          .setBufferedEdits(true)
+          .setCommitPolicy(CommitPolicy.ON_ENTER)
+          .bindObjectToGrid(model);
+      TextField textField = (TextField) boundGrid.getControl("name");
+
+      textField.setText("typed");
+      boundGrid.getChangeSet().rollback();
+
+      assertEquals("old", textField.getText());
+      boundGrid.getChangeSet().commit();
+      assertEquals("old", model.name);
+    });
+  }
+
+  @Test
+  void collectionsAreReadOnlyWhileBuffering() throws InterruptedException {
+    FxToolkit.runAndWait(() -> {
+      BoundGrid boundGrid = new ReflectorGridV2(LabelDisplayOrder.SIDE_BY_SIDE, 300)
+          .setBufferedEdits(true)
+          .bindObjectToGrid(new Model());
+      ListView<?> listView = (ListView<?>) boundGrid.getControl("items");
+
+      assertFalse(listView.isEditable());
+      assertNull(listView.getContextMenu());
+    });
+  }
+
+  @Test
+  void commitLocksNestedObjects() throws InterruptedException {
+    FxToolkit.runAndWait(() -> {
+      Model model = new Model();
+      StripedLocks stripedLocks = new StripedLocks(1 << 16);
+      BoundGrid boundGrid = new ReflectorGridV2(LabelDisplayOrder.SIDE_BY_SIDE, 300)
+          .setBufferedEdits(true)
+          .setStripedLocks(stripedLocks)
+          .bindObjectToGrid(model);
+      ((TitledPane) boundGrid.getControl("address")).setExpanded(true);
+      NestedFieldBinding binding = (NestedFieldBinding) boundGrid.getBindings().get(2);
+      ((TextField) binding.getNestedGrid().getControl("city")).setText("Basel");
+
+      StampedLock lock = stripedLocks.get(model.address);
+      long stamp = lock.tryOptimisticRead();
+      boundGrid.getChangeSet().commit();
+
+      assertEquals("Basel", model.address.city);
+      assertFalse(lock.validate(stamp));
+      assertTrue(lock.validate(lock.tryOptimisticRead()));
+    });
+  }
+}
@@ -0,0 +1,40 @@
+package ch.rs.reflectorgrid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.rs.reflectorgrid.core.TransferGrid;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javafx.scene.control.ListView;
+import org.junit.jupiter.api.Test;
+
+class CollectionFieldBindingTest {
+
+  public static class Model {
+
+    @TransferGrid
+    public List<String> items = new ArrayList<>(Arrays.asList("a", "b"));
+  }
+
+  @Test
+  void addsToAListReplacedByAnEqualList() throws InterruptedException {
+    FxToolkit.runAndWait(() -> {
+      Model model = new Model();
+      BoundGrid boundGrid = new ReflectorGridV2(LabelDisplayOrder.SIDE_BY_SIDE, 300)
+          .bindObjectToGrid(model);
+
+      List<String> replaced = model.items;
+      model.items = new ArrayList<>(replaced);
+      boundGrid.refresh();
+
+      ListView<?> listView = (ListView<?>) boundGrid.getControl("items");
+      // appends an element, as no element is selected
+      listView.getContextMenu().getItems().get(0).fire();
+
+      assertEquals(Arrays.asList("a", "b", null), model.items);
+      assertEquals(Arrays.asList("a", "b"), replaced);
+      assertEquals(3, listView.getItems().size());
+    });
+  }
+}
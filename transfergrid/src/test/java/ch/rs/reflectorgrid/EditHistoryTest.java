@@ -0,0 +1,41 @@
+package ch.rs.reflectorgrid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.rs.reflectorgrid.core.TransferGrid;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javafx.scene.control.TextField;
+import org.junit.jupiter.api.Test;
+
+class EditHistoryTest {
+
+  public static class Model {
+
+    @TransferGrid
+    public String name = "old";
+  }
+
+  @Test
+  void undoAndRedoNotifyTheFieldChangeListener() throws InterruptedException {
+    FxToolkit.runAndWait(() -> {
+      Model model = new Model();
+      List<String> changes = new ArrayList<>();
+      BoundGrid boundGrid = new ReflectorGridV2(LabelDisplayOrder.SIDE_BY_SIDE, 300)
+          .setHistorySize(10)
+          .setFieldChangeListener((target, field, oldValue, newValue) ->
+              changes.add(field.getName() + ": " + oldValue + " -> " + newValue))
+          .bindObjectToGrid(model);
+
+      ((TextField) boundGrid.getControl("name")).setText("new");
+      assertTrue(boundGrid.getHistory().undo());
+      assertTrue(boundGrid.getHistory().redo());
+
+      assertEquals(
+          Arrays.asList("name: old -> new", "name: new -> old", "name: old -> new"), changes
+      );
+    });
+  }
+}
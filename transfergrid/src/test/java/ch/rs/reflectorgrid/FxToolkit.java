@@ -0,0 +1,71 @@
+package ch.rs.reflectorgrid;
+
+import com.sun.javafx.application.PlatformImpl;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Starts the JavaFX toolkit on the headless Monocle platform and runs test code on the FX
+ * application thread.
+ */
+final class FxToolkit {
+
+  private static boolean started;
+
+  private FxToolkit() {
+  }
+
+  /**
+   * Runs the code on the FX application thread and waits for it, rethrowing its failures.
+   *
+   * @param code The code to run
+   */
+  static void runAndWait(Runnable code) throws InterruptedException {
+    start();
+
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    CountDownLatch latch = new CountDownLatch(1);
+    PlatformImpl.runLater(() -> {
+      try {
+        code.run();
+      } catch (Throwable e) {
+        failure.set(e);
+      } finally {
+        latch.countDown();
+      }
+    });
+    latch.await();
+
+    Throwable e = failure.get();
+    if (e instanceof RuntimeException) {
+      throw (RuntimeException) e;
+    }
+    if (e instanceof Error) {
+      throw (Error) e;
+    }
+    if (e != null) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static synchronized void start() throws InterruptedException {
+    if (started) {
+      return;
+    }
+
+    setIfAbsent("glass.platform", "Monocle");
+    setIfAbsent("monocle.platform", "Headless");
+    setIfAbsent("prism.order", "sw");
+
+    CountDownLatch latch = new CountDownLatch(1);
+    PlatformImpl.startup(latch::countDown);
+    latch.await();
+    started = true;
+  }
+
+  private static void setIfAbsent(String key, String value) {
+    if (System.getProperty(key) == null) {
+      System.setProperty(key, value);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package ch.rs.reflectorgrid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.rs.reflectorgrid.core.TransferGrid;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TitledPane;
+import org.junit.jupiter.api.Test;
+
+class NestedFieldBindingTest {
+
+  public static class Address {
+
+    @TransferGrid
+    public String city;
+
+    public Address(String city) {
+      this.city = city;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Address && ((Address) other).city.equals(city);
+    }
+
+    @Override
+    public int hashCode() {
+      return city.hashCode();
+    }
+  }
+
+  public static class Model {
+
+    @TransferGrid
+    public Address address = new Address("Bern");
+  }
+
+  @Test
+  void editsAnObjectReplacedByAnEqualObject() throws InterruptedException {
+    FxToolkit.runAndWait(() -> {
+      Model model = new Model();
+      BoundGrid boundGrid = new ReflectorGridV2(LabelDisplayOrder.SIDE_BY_SIDE, 300)
+          .bindObjectToGrid(model);
+      TitledPane titledPane = (TitledPane) boundGrid.getControl("address");
+      titledPane.setExpanded(true);
+
+      Address replaced = model.address;
+      model.address = new Address("Bern");
+      boundGrid.refresh();
+
+      NestedFieldBinding binding = (NestedFieldBinding) boundGrid.getBindings().get(0);
+      ((TextField) binding.getNestedGrid().getControl("city")).setText("Basel");
+
+      assertEquals("Basel", model.address.city);
+      assertEquals("Bern", replaced.city);
+    });
+  }
+}